@@ -0,0 +1,120 @@
+package datastructures;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.Graph;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import mazes.entities.EuclideanHeuristic;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import mazes.generators.base.BaseMazeGenerator;
+import mazes.generators.base.GridGenerator;
+import mazes.generators.base.VoronoiGenerator;
+import mazes.generators.maze.RandomMazeCarver;
+import misc.exceptions.NoPathExistsException;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares plain Dijkstra against A* with the EuclideanHeuristic on grid and
+ * Voronoi mazes, solving from the top-left to the bottom-right corner like
+ * OptionsPanel does.
+ *
+ * Besides the time per search, the 'expanded' counter reports how many vertices
+ * each search settled.
+ *
+ * The mazes keep only 30% of their walls, so there are many alternative routes between
+ * the corners.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class AStarBenchmark {
+    private static final Rectangle BOUND = new Rectangle(0, 0, 2000, 2000);
+
+    @Param({"grid", "voronoi"})
+    public String generator;
+
+    private Graph<Room, Wall> graph;
+    private Room start;
+    private Room end;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Expansions {
+        public long expanded;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.expanded = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        BaseMazeGenerator base;
+        if (this.generator.equals("grid")) {
+            base = new GridGenerator(200, 200);
+        } else {
+            base = new VoronoiGenerator(5000, 10, 5, 5);
+        }
+        Maze original = base.generateBaseMaze(BOUND);
+        this.start = original.getRoom(new Point(BOUND.x + 5, BOUND.y + 5));
+        this.end = original.getRoom(new Point(BOUND.x + BOUND.width - 5, BOUND.y + BOUND.height - 5));
+
+        // Random carving occasionally walls off a corner, so retry until the maze is solvable.
+        do {
+            Maze carved = new RandomMazeCarver(0.3).generateMaze(original);
+            ISet<Wall> passages = new ChainedHashSet<>();
+            for (Wall wall : original.getWalls()) {
+                if (!carved.getWalls().contains(wall)) {
+                    passages.add(wall);
+                }
+            }
+            this.graph = new Graph<>(original.getRooms(), passages);
+        } while (!this.isSolvable());
+    }
+
+    private boolean isSolvable() {
+        try {
+            this.graph.findShortestPathBetween(this.start, this.end);
+            return true;
+        } catch (NoPathExistsException ex) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public IList<Wall> dijkstra(Expansions counters) {
+        Graph.SearchResult<Wall> result = this.graph.searchShortestPathBetween(this.start, this.end);
+        counters.expanded += result.getNumVerticesExpanded();
+        return result.getPath();
+    }
+
+    @Benchmark
+    public IList<Wall> aStar(Expansions counters) {
+        Graph.SearchResult<Wall> result =
+                this.graph.searchShortestPathBetween(this.start, this.end, new EuclideanHeuristic());
+        counters.expanded += result.getNumVerticesExpanded();
+        return result.getPath();
+    }
+}
@@ -0,0 +1,87 @@
+package datastructures;
+
+import datastructures.concrete.ArrayDisjointSet;
+import datastructures.interfaces.IDisjointSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ArrayDisjointSet at sizes ranging from 10 to 10^7 items, for each
+ * KeyDistribution of the items.
+ *
+ * The forest is built by joining each item to a random earlier one, so it ends up
+ * as a single set, much like the forest KruskalMazeCarver builds.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class ArrayDisjointSetBenchmark {
+    private static final int NUM_PROBES = 1 << 16;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "ADVERSARIAL"})
+    public KeyDistribution distribution;
+
+    private Integer[] items;
+    private int[] partners;
+    private IDisjointSet<Integer> forest;
+    private Integer[] probes;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(373);
+        this.items = this.distribution.boxedKeys(this.size, rand);
+        this.partners = new int[this.size];
+        for (int i = 1; i < this.size; i++) {
+            this.partners[i] = rand.nextInt(i);
+        }
+        this.forest = this.buildForest();
+
+        this.probes = new Integer[NUM_PROBES];
+        for (int i = 0; i < NUM_PROBES; i++) {
+            this.probes[i] = this.items[rand.nextInt(this.size)];
+        }
+        this.next = 0;
+    }
+
+    @Benchmark
+    public int findSet() {
+        this.next = (this.next + 1) & (NUM_PROBES - 1);
+        return this.forest.findSet(this.probes[this.next]);
+    }
+
+    /**
+     * Makes a set for every item and then unions them all together.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public IDisjointSet<Integer> buildForest() {
+        IDisjointSet<Integer> output = new ArrayDisjointSet<>();
+        for (Integer item : this.items) {
+            output.makeSet(item);
+        }
+        for (int i = 1; i < this.size; i++) {
+            output.union(this.items[i], this.items[this.partners[i]]);
+        }
+        return output;
+    }
+}
@@ -0,0 +1,94 @@
+package datastructures;
+
+import datastructures.concrete.ArrayHeap;
+import datastructures.interfaces.IPriorityQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ArrayHeap at sizes ranging from 10 to 10^7 elements.
+ *
+ * 'addAndRemoveMin' keeps the heap at a constant size, and the distribution decides
+ * where each new item lands: SEQUENTIAL items are larger than everything in the heap
+ * and stay at the bottom, RANDOM ones land anywhere, and ADVERSARIAL items are
+ * smaller than everything and percolate all the way up to the root.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class ArrayHeapBenchmark {
+    private static final int NUM_PROBES = 1 << 16;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "ADVERSARIAL"})
+    public KeyDistribution distribution;
+
+    private IPriorityQueue<Integer> heap;
+    private int counter;
+    private Integer[] probes;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(373);
+        this.heap = new ArrayHeap<>();
+        Integer[] items = new Integer[this.size];
+        this.counter = 0;
+        for (int i = 0; i < this.size; i++) {
+            items[i] = this.nextItem();
+            this.heap.add(items[i]);
+        }
+
+        this.probes = new Integer[NUM_PROBES];
+        for (int i = 0; i < NUM_PROBES; i++) {
+            this.probes[i] = items[rand.nextInt(this.size)];
+        }
+        this.next = 0;
+    }
+
+    /**
+     * Returns an item that's never been in the heap before.
+     */
+    private Integer nextItem() {
+        this.counter++;
+        if (this.distribution == KeyDistribution.SEQUENTIAL) {
+            return this.counter;
+        } else if (this.distribution == KeyDistribution.RANDOM) {
+            // A bijection on ints, so every item is distinct but their order is scrambled.
+            return this.counter * 0x9E3779B1;
+        } else {
+            return -this.counter;
+        }
+    }
+
+    @Benchmark
+    public Integer addAndRemoveMin() {
+        this.heap.add(this.nextItem());
+        return this.heap.removeMin();
+    }
+
+    @Benchmark
+    public void removeAndAdd() {
+        this.next = (this.next + 1) & (NUM_PROBES - 1);
+        Integer item = this.probes[this.next];
+        this.heap.remove(item);
+        this.heap.add(item);
+    }
+}
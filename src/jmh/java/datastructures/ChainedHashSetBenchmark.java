@@ -0,0 +1,87 @@
+package datastructures;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.interfaces.ISet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ChainedHashSet at sizes ranging from 10 to 10^7 elements, for each
+ * KeyDistribution.
+ *
+ * Like DictionaryBenchmark, every operation probes an element already in the set,
+ * so the size stays constant across invocations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class ChainedHashSetBenchmark {
+    private static final int NUM_PROBES = 1 << 16;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "ADVERSARIAL"})
+    public KeyDistribution distribution;
+
+    private ISet<Integer> set;
+    private Integer[] probes;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(373);
+        this.set = new ChainedHashSet<>();
+        Integer[] items = this.distribution.boxedKeys(this.size, rand);
+        for (Integer item : items) {
+            this.set.add(item);
+        }
+
+        this.probes = new Integer[NUM_PROBES];
+        for (int i = 0; i < NUM_PROBES; i++) {
+            this.probes[i] = items[rand.nextInt(this.size)];
+        }
+        this.next = 0;
+    }
+
+    private Integer nextProbe() {
+        this.next = (this.next + 1) & (NUM_PROBES - 1);
+        return this.probes[this.next];
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return this.set.contains(this.nextProbe());
+    }
+
+    @Benchmark
+    public void removeAndAdd() {
+        Integer item = this.nextProbe();
+        this.set.remove(item);
+        this.set.add(item);
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Integer item : this.set) {
+            sum += item;
+        }
+        return sum;
+    }
+}
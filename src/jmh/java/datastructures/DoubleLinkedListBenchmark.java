@@ -0,0 +1,96 @@
+package datastructures;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures DoubleLinkedList at sizes ranging from 10 to 10^7 elements.
+ *
+ * The operations at either end should cost the same at every size. For 'get', the
+ * distribution picks the indices: SEQUENTIAL walks through every index in order,
+ * RANDOM picks them uniformly, and ADVERSARIAL always asks for the middle element,
+ * which is the furthest from both ends.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class DoubleLinkedListBenchmark {
+    private static final int NUM_PROBES = 1 << 16;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "ADVERSARIAL"})
+    public KeyDistribution distribution;
+
+    private IList<Integer> list;
+    private int[] indices;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(373);
+        this.list = new DoubleLinkedList<>();
+        for (Integer item : this.distribution.boxedKeys(this.size, rand)) {
+            this.list.add(item);
+        }
+
+        this.indices = new int[NUM_PROBES];
+        for (int i = 0; i < NUM_PROBES; i++) {
+            if (this.distribution == KeyDistribution.SEQUENTIAL) {
+                this.indices[i] = i % this.size;
+            } else if (this.distribution == KeyDistribution.RANDOM) {
+                this.indices[i] = rand.nextInt(this.size);
+            } else {
+                this.indices[i] = this.size / 2;
+            }
+        }
+        this.next = 0;
+    }
+
+    @Benchmark
+    public Integer get() {
+        this.next = (this.next + 1) & (NUM_PROBES - 1);
+        return this.list.get(this.indices[this.next]);
+    }
+
+    @Benchmark
+    public Integer addAndRemoveBack() {
+        Integer item = this.list.remove();
+        this.list.add(item);
+        return item;
+    }
+
+    @Benchmark
+    public Integer insertAndDeleteFront() {
+        Integer item = this.list.delete(0);
+        this.list.insert(0, item);
+        return item;
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Integer item : this.list) {
+            sum += item;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,89 @@
+package datastructures;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.CompactGraph;
+import datastructures.concrete.Graph;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import mazes.generators.base.GridGenerator;
+import mazes.generators.maze.KruskalMazeCarver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building and solving a carved grid maze using the object-based Graph
+ * against the CompactGraph snapshot.
+ *
+ * Like OptionsPanel, the graph contains an edge for every wall the carver removed,
+ * and we search for a path between two opposite corners.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g"})
+public class GraphBenchmark {
+    @Param({"100", "500", "2000"})
+    public int gridSize;
+
+    private ISet<Room> rooms;
+    private ISet<Wall> passages;
+    private Room start;
+    private Room end;
+
+    @Setup
+    public void setup() {
+        Rectangle bound = new Rectangle(0, 0, this.gridSize * 4, this.gridSize * 4);
+        Maze original = new GridGenerator(this.gridSize, this.gridSize).generateBaseMaze(bound);
+        Maze carved = new KruskalMazeCarver().generateMaze(original);
+
+        this.rooms = original.getRooms();
+        this.passages = new ChainedHashSet<>();
+        for (Wall wall : original.getWalls()) {
+            if (!carved.getWalls().contains(wall)) {
+                this.passages.add(wall);
+            }
+        }
+        this.start = original.getRoom(new Point(1, 1));
+        this.end = original.getRoom(new Point(bound.width - 1, bound.height - 1));
+    }
+
+    @Benchmark
+    public IList<Wall> objectGraph() {
+        Graph<Room, Wall> graph = new Graph<>(this.rooms, this.passages);
+        return graph.findShortestPathBetween(this.start, this.end);
+    }
+
+    @Benchmark
+    public IList<Wall> compactGraph() {
+        CompactGraph<Room, Wall> graph = new CompactGraph<>(this.rooms, this.passages);
+        return graph.findShortestPathBetween(this.start, this.end);
+    }
+
+    @Benchmark
+    public ISet<Wall> objectGraphMst() {
+        return new Graph<>(this.rooms, this.passages).findMinimumSpanningTree();
+    }
+
+    @Benchmark
+    public ISet<Wall> compactGraphMst() {
+        return new CompactGraph<>(this.rooms, this.passages).findMinimumSpanningTree();
+    }
+}
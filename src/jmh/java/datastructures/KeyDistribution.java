@@ -0,0 +1,72 @@
+package datastructures;
+
+import java.util.Random;
+
+/**
+ * The patterns of int keys the data structure benchmarks feed in.
+ *
+ * Every distribution returns 'size' distinct keys, in the order they should be
+ * inserted.
+ */
+public enum KeyDistribution {
+    /**
+     * 0, 1, 2, ... in increasing order: the friendliest case for every structure.
+     */
+    SEQUENTIAL,
+    /**
+     * Distinct keys scattered over the whole int range, in random order.
+     */
+    RANDOM,
+    /**
+     * Multiples of 16 in decreasing order.
+     *
+     * Their low four bits are all zero, so a power-of-two table that picks a slot
+     * from the low bits of the raw hash code would only ever use one slot out of every
+     * 16. ChainedHashDictionary and OpenAddressingDictionary both have power-of-two
+     * tables and scramble hash codes before picking a slot, so this shows what the
+     * scrambling buys them. Decreasing keys are also the worst case for ArrayHeap, since
+     * every new key has to percolate all the way up to the root.
+     */
+    ADVERSARIAL;
+
+    public int[] keys(int size, Random rand) {
+        int[] keys = new int[size];
+        for (int i = 0; i < size; i++) {
+            switch (this) {
+                case SEQUENTIAL:
+                    keys[i] = i;
+                    break;
+                case RANDOM:
+                    // Multiplying by an odd constant is a bijection on ints, so the
+                    // keys stay distinct; the shuffle below randomizes the order.
+                    keys[i] = i * 0x9E3779B1;
+                    break;
+                default:
+                    keys[i] = (size - i) * 16;
+                    break;
+            }
+        }
+        if (this == RANDOM) {
+            for (int i = size - 1; i > 0; i--) {
+                int j = rand.nextInt(i + 1);
+                int temp = keys[i];
+                keys[i] = keys[j];
+                keys[j] = temp;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the keys boxed ahead of time, so benchmarks measure the data structure
+     * rather than Integer.valueOf.
+     */
+    public Integer[] boxedKeys(int size, Random rand) {
+        int[] keys = this.keys(size, rand);
+        Integer[] output = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            output[i] = keys[i];
+        }
+        return output;
+    }
+}
@@ -0,0 +1,69 @@
+package datastructures;
+
+import datastructures.interfaces.ISet;
+import mazes.entities.Maze;
+import mazes.entities.Wall;
+import mazes.generators.base.BaseMazeGenerator;
+import mazes.generators.base.GridGenerator;
+import mazes.generators.base.VoronoiGenerator;
+import mazes.generators.maze.MazeCarver;
+import mazes.headless.MazePresets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Rectangle;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the carvers that produce perfect mazes on the same base mazes as
+ * MazeMstBenchmark: the randomly weighted MST carvers against the random-walk
+ * carvers that pick a uniformly random spanning tree.
+ *
+ * Unlike MazeMstBenchmark, this times the whole of returnWallsToRemove, including
+ * building the graph and (for Kruskal) drawing the random weights or edge order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class MazeCarverBenchmark {
+    private static final Rectangle BOUND = new Rectangle(0, 0, 4000, 4000);
+
+    @Param({"grid", "voronoi"})
+    public String generator;
+
+    @Param({"kruskal", "filter-kruskal", "wilson", "aldous-broder"})
+    public String carver;
+
+    private Maze maze;
+    private MazeCarver mazeCarver;
+
+    @Setup
+    public void setup() {
+        BaseMazeGenerator base;
+        if (this.generator.equals("grid")) {
+            base = new GridGenerator(100, 100);
+        } else {
+            base = new VoronoiGenerator(10000, 10, 5, 5);
+        }
+        this.maze = base.generateBaseMaze(BOUND);
+        this.mazeCarver = MazePresets.carver(this.carver, new Random(373));
+    }
+
+    @Benchmark
+    public ISet<Wall> returnWallsToRemove() {
+        return this.mazeCarver.returnWallsToRemove(this.maze);
+    }
+}
@@ -0,0 +1,80 @@
+package datastructures;
+
+import datastructures.concrete.Graph;
+import datastructures.interfaces.ISet;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import mazes.generators.base.BaseMazeGenerator;
+import mazes.generators.base.GridGenerator;
+import mazes.generators.base.VoronoiGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Rectangle;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the MST algorithms Graph offers on the same kind of graph
+ * KruskalMazeCarver builds: every wall of a base maze, with random weights.
+ *
+ * Both generators are set up to produce roughly the same number of rooms, but the
+ * Voronoi rooms have more neighbours each, so there are more edges to discard.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class MazeMstBenchmark {
+    private static final Rectangle BOUND = new Rectangle(0, 0, 4000, 4000);
+
+    @Param({"grid", "voronoi"})
+    public String generator;
+
+    @Param({"KRUSKAL", "FILTER_KRUSKAL", "BORUVKA"})
+    public Graph.MstAlgorithm algorithm;
+
+    private Maze maze;
+    private Graph<Room, Wall> graph;
+
+    @Setup
+    public void setup() {
+        BaseMazeGenerator base;
+        if (this.generator.equals("grid")) {
+            base = new GridGenerator(100, 100);
+        } else {
+            base = new VoronoiGenerator(10000, 10, 5, 5);
+        }
+        this.maze = base.generateBaseMaze(BOUND);
+        Random rand = new Random(373);
+        for (Wall wall : this.maze.getWalls()) {
+            wall.setDistance(rand.nextDouble());
+        }
+        this.graph = new Graph<>(this.maze.getRooms(), this.maze.getWalls());
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (Wall wall : this.maze.getWalls()) {
+            wall.resetDistanceToOriginal();
+        }
+    }
+
+    @Benchmark
+    public ISet<Wall> findMinimumSpanningTree() {
+        return this.graph.findMinimumSpanningTree(this.algorithm);
+    }
+}
@@ -0,0 +1,123 @@
+package datastructures;
+
+import datastructures.concrete.CompactGraph;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IEdge;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the parallel Boruvka MST scales with the number of threads, against
+ * the sequential Kruskal and Filter-Kruskal on the same CompactGraph.
+ *
+ * The graph is the wall graph of a square grid maze with random weights, which is
+ * what KruskalMazeCarver builds. A 2237 x 2237 grid has about 10 million walls. The
+ * vertices are plain ints rather than Rooms so that the setup fits in memory.
+ *
+ * 'threads' only affects the 'boruvka' benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx12g"})
+public class MstBenchmark {
+    @Param({"500", "2237"})
+    public int gridSize;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private CompactGraph<Integer, IntEdge> graph;
+    private ForkJoinPool pool;
+
+    public static class IntEdge implements IEdge<Integer>, Comparable<IntEdge> {
+        private final Integer vertex1;
+        private final Integer vertex2;
+        private final double weight;
+
+        public IntEdge(Integer vertex1, Integer vertex2, double weight) {
+            this.vertex1 = vertex1;
+            this.vertex2 = vertex2;
+            this.weight = weight;
+        }
+
+        @Override
+        public Integer getVertex1() {
+            return this.vertex1;
+        }
+
+        @Override
+        public Integer getVertex2() {
+            return this.vertex2;
+        }
+
+        @Override
+        public double getWeight() {
+            return this.weight;
+        }
+
+        @Override
+        public int compareTo(IntEdge other) {
+            return Double.compare(this.weight, other.weight);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(373);
+        IList<Integer> vertices = new DoubleLinkedList<>();
+        IList<IntEdge> edges = new DoubleLinkedList<>();
+        for (int row = 0; row < this.gridSize; row++) {
+            for (int col = 0; col < this.gridSize; col++) {
+                Integer id = row * this.gridSize + col;
+                vertices.add(id);
+                if (col > 0) {
+                    edges.add(new IntEdge(id - 1, id, rand.nextDouble()));
+                }
+                if (row > 0) {
+                    edges.add(new IntEdge(id - this.gridSize, id, rand.nextDouble()));
+                }
+            }
+        }
+        this.graph = new CompactGraph<>(vertices, edges);
+        this.pool = new ForkJoinPool(this.threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public ISet<IntEdge> kruskal() {
+        return this.graph.findMinimumSpanningTree();
+    }
+
+    @Benchmark
+    public ISet<IntEdge> filterKruskal() {
+        return this.graph.findMinimumSpanningTreeFilterKruskal();
+    }
+
+    @Benchmark
+    public ISet<IntEdge> boruvka() {
+        return this.graph.findMinimumSpanningTreeParallel(this.pool);
+    }
+}
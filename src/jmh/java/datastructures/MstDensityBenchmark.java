@@ -0,0 +1,71 @@
+package datastructures;
+
+import datastructures.MstBenchmark.IntEdge;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.Graph;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the MST algorithms Graph offers as the graph gets denser.
+ *
+ * Every graph has the same number of vertices and a random spanning path to keep
+ * it connected, plus random extra edges until the average degree reaches 'degree'.
+ * A degree of 4 is about as dense as a GridGenerator maze gets; the larger degrees
+ * stand in for denser graphs, where Kruskal has far more edges to sort while Prim
+ * still only keeps one heap entry per vertex.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class MstDensityBenchmark {
+    private static final int NUM_VERTICES = 20000;
+
+    @Param({"4", "16", "64", "256"})
+    public int degree;
+
+    @Param({"KRUSKAL", "FILTER_KRUSKAL", "PRIM", "BORUVKA"})
+    public Graph.MstAlgorithm algorithm;
+
+    private Graph<Integer, IntEdge> graph;
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(373);
+        IList<Integer> vertices = new DoubleLinkedList<>();
+        IList<IntEdge> edges = new DoubleLinkedList<>();
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            vertices.add(i);
+            if (i > 0) {
+                edges.add(new IntEdge(rand.nextInt(i), i, rand.nextDouble()));
+            }
+        }
+        int numEdges = NUM_VERTICES * this.degree / 2;
+        while (edges.size() < numEdges) {
+            edges.add(new IntEdge(rand.nextInt(NUM_VERTICES), rand.nextInt(NUM_VERTICES), rand.nextDouble()));
+        }
+        this.graph = new Graph<>(vertices, edges);
+    }
+
+    @Benchmark
+    public ISet<IntEdge> findMinimumSpanningTree() {
+        return this.graph.findMinimumSpanningTree(this.algorithm);
+    }
+}
@@ -0,0 +1,68 @@
+package datastructures;
+
+import datastructures.concrete.Graph;
+import datastructures.interfaces.IList;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import mazes.generators.base.GridGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how Graph.findShortestPathBetween scales with the distance between the
+ * start and end rooms, across grids of very different sizes.
+ *
+ * The grid is left uncarved, so the end room sits exactly 'distance' rooms right
+ * and 'distance' rooms down from the start. Since the search only ever touches
+ * the rooms it reaches, latency should depend on 'distance' and stay flat as
+ * 'gridSize' grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class ShortestPathBenchmark {
+    private static final int ROOM_SIZE = 4;
+
+    @Param({"100", "400", "1000"})
+    public int gridSize;
+
+    @Param({"4", "16", "64"})
+    public int distance;
+
+    private Graph<Room, Wall> graph;
+    private Room start;
+    private Room end;
+
+    @Setup
+    public void setup() {
+        Rectangle bound = new Rectangle(0, 0, this.gridSize * ROOM_SIZE, this.gridSize * ROOM_SIZE);
+        Maze maze = new GridGenerator(this.gridSize, this.gridSize).generateBaseMaze(bound);
+        this.graph = new Graph<>(maze.getRooms(), maze.getWalls());
+
+        int offset = this.distance * ROOM_SIZE;
+        this.start = maze.getRoom(new Point(ROOM_SIZE / 2, ROOM_SIZE / 2));
+        this.end = maze.getRoom(new Point(ROOM_SIZE / 2 + offset, ROOM_SIZE / 2 + offset));
+    }
+
+    @Benchmark
+    public IList<Wall> findShortestPath() {
+        return this.graph.findShortestPathBetween(this.start, this.end);
+    }
+}
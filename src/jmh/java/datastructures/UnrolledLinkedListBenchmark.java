@@ -0,0 +1,88 @@
+package datastructures;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.UnrolledLinkedList;
+import datastructures.interfaces.IList;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares iterating over a DoubleLinkedList against an UnrolledLinkedList holding
+ * 10^6 to 10^8 elements.
+ *
+ * Besides the time per full pass over the list, the 'bytesPerElement' counter reports
+ * how much heap the list itself takes up per element. Every element is one of the
+ * cached Integers from -128 to 127, so the count only includes the list's own nodes
+ * and arrays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class UnrolledLinkedListBenchmark {
+    @Param({"1000000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"DoubleLinkedList", "UnrolledLinkedList"})
+    public String implementation;
+
+    private IList<Integer> list;
+    private double bytesPerElement;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public double bytesPerElement;
+
+        @Setup(Level.Iteration)
+        public void copy(UnrolledLinkedListBenchmark benchmark) {
+            this.bytesPerElement = benchmark.bytesPerElement;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        long before = usedMemory();
+        if (this.implementation.equals("DoubleLinkedList")) {
+            this.list = new DoubleLinkedList<>();
+        } else {
+            this.list = new UnrolledLinkedList<>();
+        }
+        for (int i = 0; i < this.size; i++) {
+            this.list.add((i & 0xFF) - 128);
+        }
+        this.bytesPerElement = (double) (usedMemory() - before) / this.size;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Benchmark
+    public long iterate(Footprint footprint) {
+        long sum = 0;
+        for (Integer item : this.list) {
+            sum += item;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,87 @@
+package datastructures.dictionaries;
+
+import datastructures.KeyDistribution;
+import datastructures.concrete.dictionaries.ArrayDictionary;
+import datastructures.interfaces.IDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures get/put/remove throughput of ArrayDictionary.
+ *
+ * Every operation on an ArrayDictionary scans the pairs linearly, so the sizes
+ * stop at 10^4; at 10^7 entries even filling the dictionary would take hours.
+ * Since ArrayDictionary never hashes, the key distribution only changes where in
+ * the array each probed key sits.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayDictionaryBenchmark {
+    private static final int NUM_PROBES = 1 << 16;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "ADVERSARIAL"})
+    public KeyDistribution distribution;
+
+    private IDictionary<Integer, Integer> dict;
+    private Integer[] probes;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(373);
+        this.dict = new ArrayDictionary<>();
+        Integer[] keys = this.distribution.boxedKeys(this.size, rand);
+        for (Integer key : keys) {
+            this.dict.put(key, key);
+        }
+
+        this.probes = new Integer[NUM_PROBES];
+        for (int i = 0; i < NUM_PROBES; i++) {
+            this.probes[i] = keys[rand.nextInt(this.size)];
+        }
+        this.next = 0;
+    }
+
+    private Integer nextProbe() {
+        this.next = (this.next + 1) & (NUM_PROBES - 1);
+        return this.probes[this.next];
+    }
+
+    @Benchmark
+    public Integer get() {
+        return this.dict.get(this.nextProbe());
+    }
+
+    @Benchmark
+    public void putExisting() {
+        Integer key = this.nextProbe();
+        this.dict.put(key, key);
+    }
+
+    @Benchmark
+    public Integer removeAndPut() {
+        Integer key = this.nextProbe();
+        Integer value = this.dict.remove(key);
+        this.dict.put(key, value);
+        return value;
+    }
+}
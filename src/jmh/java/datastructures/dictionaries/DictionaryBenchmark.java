@@ -0,0 +1,123 @@
+package datastructures.dictionaries;
+
+import datastructures.KeyDistribution;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.KVPair;
+import datastructures.concrete.dictionaries.OpenAddressingDictionary;
+import datastructures.interfaces.IDictionary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares get/put/remove throughput of ChainedHashDictionary against
+ * OpenAddressingDictionary at sizes ranging from 10 to 10^7 entries, for each
+ * KeyDistribution.
+ *
+ * Every operation touches a key chosen at random from the keys already
+ * present, so the dictionary size stays constant across invocations.
+ *
+ * The 'iterate' and 'forEachEntry' benchmarks each make one full pass over the
+ * dictionary; with the GC profiler, their gc.alloc.rate.norm rows show what the
+ * KVPair created per entry by the iterator costs.
+ *
+ * @see ArrayDictionaryBenchmark for ArrayDictionary, which is too slow for the larger sizes
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class DictionaryBenchmark {
+    private static final int NUM_PROBES = 1 << 16;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "ADVERSARIAL"})
+    public KeyDistribution distribution;
+
+    @Param({"chained", "openAddressing"})
+    public String implementation;
+
+    private IDictionary<Integer, Integer> dict;
+    private Integer[] keys;
+    private Integer[] probes;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(373);
+        this.dict = this.newDictionary();
+        this.keys = this.distribution.boxedKeys(this.size, rand);
+        for (Integer key : this.keys) {
+            this.dict.put(key, key);
+        }
+
+        this.probes = new Integer[NUM_PROBES];
+        for (int i = 0; i < NUM_PROBES; i++) {
+            this.probes[i] = this.keys[rand.nextInt(this.size)];
+        }
+        this.next = 0;
+    }
+
+    private IDictionary<Integer, Integer> newDictionary() {
+        if (this.implementation.equals("chained")) {
+            return new ChainedHashDictionary<>();
+        } else {
+            return new OpenAddressingDictionary<>();
+        }
+    }
+
+    private Integer nextProbe() {
+        this.next = (this.next + 1) & (NUM_PROBES - 1);
+        return this.probes[this.next];
+    }
+
+    @Benchmark
+    public Integer get() {
+        return this.dict.get(this.nextProbe());
+    }
+
+    @Benchmark
+    public void putExisting() {
+        Integer key = this.nextProbe();
+        this.dict.put(key, key);
+    }
+
+    @Benchmark
+    public Integer removeAndPut() {
+        Integer key = this.nextProbe();
+        Integer value = this.dict.remove(key);
+        this.dict.put(key, value);
+        return value;
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (KVPair<Integer, Integer> pair : this.dict) {
+            sum += pair.getValue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long forEachEntry() {
+        long[] sum = {0};
+        this.dict.forEachEntry((key, value) -> sum[0] += value);
+        return sum[0];
+    }
+}
@@ -0,0 +1,112 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the latency of individual puts into a ChainedHashDictionary that resizes all
+ * at once against one that resizes incrementally, while filling it with 10^6 or 10^7
+ * entries.
+ *
+ * Each invocation fills a new dictionary, timing every put. Besides the total time, the
+ * 'p50Nanos', 'p99Nanos' and 'maxNanos' counters report percentiles of the time per put.
+ * A stop-the-world resize shows up in maxNanos, as does any garbage collection pause
+ * that lands in the middle of a put: the incremental mode keeps both sets of chains
+ * alive for longer, so with a stop-the-world collector its maxNanos can be a GC pause
+ * instead. Running on a concurrent collector such as ZGC keeps those out of the way.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class ResizeLatencyBenchmark {
+    // Latencies are counted in one-nanosecond buckets up to about a millisecond; anything
+    // slower only counts towards maxNanos and the last bucket.
+    private static final int NUM_BUCKETS = 1 << 20;
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    @Param({"stopTheWorld", "incremental"})
+    public String resize;
+
+    private Integer[] keys;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Latencies {
+        public long p50Nanos;
+        public long p99Nanos;
+        public long maxNanos;
+
+        private long[] counts = new long[NUM_BUCKETS];
+        private long total;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.p50Nanos = 0;
+            this.p99Nanos = 0;
+            this.maxNanos = 0;
+            this.counts = new long[NUM_BUCKETS];
+            this.total = 0;
+        }
+
+        private void record(long nanos) {
+            this.counts[(int) Math.min(nanos, NUM_BUCKETS - 1)]++;
+            this.maxNanos = Math.max(this.maxNanos, nanos);
+            this.total++;
+        }
+
+        private void computePercentiles() {
+            long seen = 0;
+            this.p50Nanos = -1;
+            for (int nanos = 0; nanos < NUM_BUCKETS; nanos++) {
+                seen += this.counts[nanos];
+                if (this.p50Nanos < 0 && 2 * seen >= this.total) {
+                    this.p50Nanos = nanos;
+                }
+                if (100 * seen >= 99 * this.total) {
+                    this.p99Nanos = nanos;
+                    break;
+                }
+            }
+        }
+    }
+
+    @Setup
+    public void setup() {
+        this.keys = new Integer[this.size];
+        for (int i = 0; i < this.size; i++) {
+            this.keys[i] = i;
+        }
+    }
+
+    @Benchmark
+    public IDictionary<Integer, Integer> fill(Latencies latencies) {
+        IDictionary<Integer, Integer> dict = new ChainedHashDictionary<>(3.5, this.resize.equals("incremental"));
+        for (Integer key : this.keys) {
+            long start = System.nanoTime();
+            dict.put(key, key);
+            latencies.record(System.nanoTime() - start);
+        }
+        latencies.computePercentiles();
+        return dict;
+    }
+}
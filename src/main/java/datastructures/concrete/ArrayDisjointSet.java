@@ -1,7 +1,6 @@
 package datastructures.concrete;
 
-import datastructures.concrete.dictionaries.ChainedHashDictionary;
-import datastructures.interfaces.IDictionary;
+import datastructures.concrete.dictionaries.ObjectToIntDictionary;
 import datastructures.interfaces.IDisjointSet;
 
 
@@ -12,15 +11,15 @@ public class ArrayDisjointSet<T> implements IDisjointSet<T> {
     // Note: do NOT rename or delete this field. We will be inspecting it
     // directly within our private tests.
     private int[] pointers;
-    private IDictionary<T, Integer> indices;
-    private IDictionary<Integer, T> items;
+    // Maps each item to its slot in 'pointers'. Everything past this lookup
+    // works purely on int slots, so find and union never box or allocate.
+    private ObjectToIntDictionary<T> indices;
     // However, feel free to add more fields and private helper methods.
     // You will probably need to add one or two more fields in order to
     // successfully implement this class.
 
     public ArrayDisjointSet() {
-        indices = new ChainedHashDictionary<>();
-        items = new ChainedHashDictionary<>();
+        indices = new ObjectToIntDictionary<>();
         pointers = new int[100];
     }
 
@@ -34,31 +33,40 @@ public class ArrayDisjointSet<T> implements IDisjointSet<T> {
             System.arraycopy(pointers, 0, temp, 0, pointers.length);
             pointers = temp;
         }
-        items.put(indices.size(), item);
         indices.put(item, indices.size());
         pointers[indices.size() - 1] = -1;
     }
 
     @Override
     public int findSet(T item) {
-        if (!indices.containsKey(item)) {
+        int index = indices.getOrDefault(item, -1);
+        if (index < 0) {
             throw new IllegalArgumentException();
         }
-        int index = indices.get(item);
+        return findRoot(index);
+    }
+
+    /**
+     * Returns the root of the tree containing the given slot, compressing the
+     * path along the way.
+     */
+    private int findRoot(int index) {
         if (pointers[index] < 0) {
             return index;
         }
-        pointers[index] = findSet(items.get(pointers[index]));
+        pointers[index] = findRoot(pointers[index]);
         return pointers[index];
     }
 
     @Override
     public void union(T item1, T item2) {
-        if (!indices.containsKey(item1) || !indices.containsKey(item2)) {
+        int index1 = indices.getOrDefault(item1, -1);
+        int index2 = indices.getOrDefault(item2, -1);
+        if (index1 < 0 || index2 < 0) {
             throw new IllegalArgumentException();
         }
-        int item1Parent = findSet(item1);
-        int item2Parent = findSet(item2);
+        int item1Parent = findRoot(index1);
+        int item2Parent = findRoot(index2);
         if (item1Parent != item2Parent) {
             if (pointers[item1Parent] == pointers[item2Parent]) {
                 pointers[item1Parent] = item2Parent;
@@ -1,7 +1,6 @@
 package datastructures.concrete;
 
-import datastructures.concrete.dictionaries.ChainedHashDictionary;
-import datastructures.interfaces.IDictionary;
+import datastructures.concrete.dictionaries.ObjectToIntDictionary;
 import datastructures.interfaces.IPriorityQueue;
 import misc.exceptions.EmptyContainerException;
 import misc.exceptions.InvalidElementException;
@@ -18,13 +17,15 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
     // our private tests.
     private T[] heap;
     private int size;
-    private IDictionary<T, Integer> indices;
+    // Maps each item to its position in 'heap'. Positions are stored unboxed, so
+    // moving an item around while percolating never allocates.
+    private ObjectToIntDictionary<T> indices;
     // Feel free to add more fields and constants.
 
     public ArrayHeap() {
         this.heap = makeArrayOfT(256);
         this.size = 0;
-        this.indices = new ChainedHashDictionary<>();
+        this.indices = new ObjectToIntDictionary<>();
     }
 
     /**
@@ -102,8 +103,12 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
         }
         T output = heap[0];
         heap[0] = heap[--size];
-        percolateDown(0);
+        heap[size] = null;
         indices.remove(output);
+        if (size > 0) {
+            indices.put(heap[0], 0);
+            percolateDown(0);
+        }
         return output;
     }
 
@@ -153,8 +158,11 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
         }
         int index = indices.get(item);
         swap(index, --size);
+        heap[size] = null;
         indices.remove(item);
-        percolate(index);
+        if (index < size) {
+            percolate(index);
+        }
     }
 
     @Override
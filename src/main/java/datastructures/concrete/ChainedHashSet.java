@@ -7,6 +7,7 @@ import datastructures.interfaces.ISet;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 /**
  * @see ISet for more details on what each method is supposed to do.
@@ -47,6 +48,17 @@ public class ChainedHashSet<T> implements ISet<T> {
         return new SetIterator<>(this.map.iterator());
     }
 
+    /**
+     * Calls 'action' on every item, in the same order as the iterator.
+     *
+     * Unlike a for-each loop, this goes through the map's forEachEntry, so it doesn't
+     * create a KVPair for every item.
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        map.forEachEntry((item, present) -> action.accept(item));
+    }
+
     private static class SetIterator<T> implements Iterator<T> {
         // This should be the only field you need
         private Iterator<KVPair<T, Boolean>> iter;
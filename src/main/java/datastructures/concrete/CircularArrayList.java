@@ -0,0 +1,200 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IList;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An IList backed by a growable array used as a ring buffer.
+ *
+ * The list starts at position 'head' of the array and wraps around past the end,
+ * so adding or removing at either end takes amortized O(1) time, and get and set
+ * take O(1) time. Inserting or deleting in the middle shifts whichever side of the
+ * list is shorter, so it takes O(min(index, size - index)) time.
+ *
+ * The capacity is always a power of two, so wrapping around is a bitmask rather
+ * than a division.
+ *
+ * @see datastructures.interfaces.IList for details on what each method must do.
+ */
+public class CircularArrayList<T> implements IList<T> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private T[] array;
+    private int head;
+    private int size;
+
+    public CircularArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with room for at least 'initialCapacity' items before
+     * it has to grow.
+     *
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public CircularArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException();
+        }
+        int capacity = 1;
+        while (capacity < initialCapacity) {
+            capacity *= 2;
+        }
+        this.array = makeArrayOfT(capacity);
+        this.head = 0;
+        this.size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] makeArrayOfT(int arraySize) {
+        return (T[]) new Object[arraySize];
+    }
+
+    @Override
+    public void add(T item) {
+        this.ensureRoomForOneMore();
+        this.array[this.slot(this.size)] = item;
+        this.size++;
+    }
+
+    @Override
+    public T remove() {
+        if (this.size == 0) {
+            throw new EmptyContainerException();
+        }
+        int last = this.slot(this.size - 1);
+        T output = this.array[last];
+        this.array[last] = null;
+        this.size--;
+        return output;
+    }
+
+    @Override
+    public T get(int index) {
+        this.checkIndex(index, this.size);
+        return this.array[this.slot(index)];
+    }
+
+    @Override
+    public void set(int index, T item) {
+        this.checkIndex(index, this.size);
+        this.array[this.slot(index)] = item;
+    }
+
+    @Override
+    public void insert(int index, T item) {
+        this.checkIndex(index, this.size + 1);
+        this.ensureRoomForOneMore();
+        if (index < this.size / 2) {
+            // Move the head back one slot, and shift the items before 'index' down.
+            this.head = (this.head - 1) & (this.array.length - 1);
+            for (int i = 0; i < index; i++) {
+                this.array[this.slot(i)] = this.array[this.slot(i + 1)];
+            }
+        } else {
+            for (int i = this.size; i > index; i--) {
+                this.array[this.slot(i)] = this.array[this.slot(i - 1)];
+            }
+        }
+        this.array[this.slot(index)] = item;
+        this.size++;
+    }
+
+    @Override
+    public T delete(int index) {
+        this.checkIndex(index, this.size);
+        T output = this.array[this.slot(index)];
+        if (index < this.size / 2) {
+            for (int i = index; i > 0; i--) {
+                this.array[this.slot(i)] = this.array[this.slot(i - 1)];
+            }
+            this.array[this.head] = null;
+            this.head = (this.head + 1) & (this.array.length - 1);
+        } else {
+            for (int i = index; i < this.size - 1; i++) {
+                this.array[this.slot(i)] = this.array[this.slot(i + 1)];
+            }
+            this.array[this.slot(this.size - 1)] = null;
+        }
+        this.size--;
+        return output;
+    }
+
+    @Override
+    public int indexOf(T item) {
+        for (int i = 0; i < this.size; i++) {
+            if (Objects.equals(this.array[this.slot(i)], item)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean contains(T other) {
+        return this.indexOf(other) != -1;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new CircularArrayListIterator();
+    }
+
+    /**
+     * Returns the position in 'array' of the item at the given index of the list.
+     */
+    private int slot(int index) {
+        return (this.head + index) & (this.array.length - 1);
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Doubles the capacity if the array is full, unwrapping the items so the list
+     * starts at position 0 of the new array.
+     */
+    private void ensureRoomForOneMore() {
+        if (this.size < this.array.length) {
+            return;
+        }
+        T[] bigger = makeArrayOfT(Math.max(1, 2 * this.array.length));
+        int firstPart = Math.min(this.size, this.array.length - this.head);
+        System.arraycopy(this.array, this.head, bigger, 0, firstPart);
+        System.arraycopy(this.array, 0, bigger, firstPart, this.size - firstPart);
+        this.array = bigger;
+        this.head = 0;
+    }
+
+    private class CircularArrayListIterator implements Iterator<T> {
+        private int index = 0;
+
+        @Override
+        public boolean hasNext() {
+            return this.index < CircularArrayList.this.size;
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T output = CircularArrayList.this.array[CircularArrayList.this.slot(this.index)];
+            this.index++;
+            return output;
+        }
+    }
+}
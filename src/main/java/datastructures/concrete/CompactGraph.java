@@ -0,0 +1,967 @@
+package datastructures.concrete;
+
+import datastructures.concrete.dictionaries.ObjectToIntDictionary;
+import datastructures.interfaces.IEdge;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import misc.exceptions.NoPathExistsException;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * An immutable, compressed-sparse-row snapshot of an undirected, weighted graph.
+ *
+ * Every vertex is mapped to a dense integer id in [0, numVertices()), and every edge
+ * to an id in [0, numEdges()) following the order the edges were given in. Edge
+ * endpoints and weights live in primitive arrays, and the edges touching vertex 'v'
+ * occupy the slots [offsets[v], offsets[v + 1]) of the adjacency arrays. This means
+ * the algorithms below never hash a vertex or chase a list node once the snapshot
+ * has been built.
+ *
+ * Edge weights are read once, when the snapshot is built. If an edge's weight changes
+ * afterwards, build a new snapshot.
+ *
+ * @see Graph for the mutable-object representation this mirrors
+ */
+public class CompactGraph<V, E extends IEdge<V> & Comparable<E>> {
+    // Below this many edges, Filter-Kruskal just sorts them instead of partitioning.
+    private static final int FILTER_KRUSKAL_CUTOFF = 1024;
+
+    private final Object[] vertices;
+    private final ObjectToIntDictionary<V> ids;
+
+    private final Object[] edges;
+    private final int[] edgeVertex1;
+    private final int[] edgeVertex2;
+    private final double[] weights;
+
+    private final int[] offsets;
+    private final int[] adjacentVertices;
+    private final int[] adjacentEdges;
+
+    /**
+     * Constructs a new graph based on the given vertices and edges.
+     *
+     * @throws IllegalArgumentException if any edges have a negative weight
+     * @throws IllegalArgumentException if any edges connect to a vertex not present in 'vertices'
+     * @throws IllegalArgumentException if 'vertices' or 'edges' are null or contain null
+     * @throws IllegalArgumentException if 'vertices' contains duplicates
+     */
+    public CompactGraph(IList<V> vertices, IList<E> edges) {
+        this(vertices, vertices == null ? 0 : vertices.size(), edges, edges == null ? 0 : edges.size());
+    }
+
+    /**
+     * @see #CompactGraph(IList, IList)
+     */
+    public CompactGraph(ISet<V> vertices, ISet<E> edges) {
+        this(vertices, vertices == null ? 0 : vertices.size(), edges, edges == null ? 0 : edges.size());
+    }
+
+    CompactGraph(Iterable<V> vertices, int numVertices, Iterable<E> edges, int numEdges) {
+        if (vertices == null || edges == null) {
+            throw new IllegalArgumentException();
+        }
+        this.vertices = new Object[numVertices];
+        this.ids = new ObjectToIntDictionary<>(numVertices);
+        // forEach rather than for-each loops: when the vertices and edges come from an
+        // ISet, that saves creating a KVPair for every one of them.
+        vertices.forEach(vertex -> {
+            if (vertex == null || this.ids.containsKey(vertex)) {
+                throw new IllegalArgumentException();
+            }
+            this.vertices[this.ids.size()] = vertex;
+            this.ids.put(vertex, this.ids.size());
+        });
+
+        this.edges = new Object[numEdges];
+        this.edgeVertex1 = new int[numEdges];
+        this.edgeVertex2 = new int[numEdges];
+        this.weights = new double[numEdges];
+        int[] degrees = new int[numVertices];
+        int[] numAdded = {0};
+        edges.forEach(edge -> {
+            if (edge == null || edge.getWeight() < 0) {
+                throw new IllegalArgumentException();
+            }
+            int vertex1 = this.ids.getOrDefault(edge.getVertex1(), -1);
+            int vertex2 = this.ids.getOrDefault(edge.getVertex2(), -1);
+            if (vertex1 < 0 || vertex2 < 0) {
+                throw new IllegalArgumentException();
+            }
+            int e = numAdded[0];
+            this.edges[e] = edge;
+            this.edgeVertex1[e] = vertex1;
+            this.edgeVertex2[e] = vertex2;
+            this.weights[e] = edge.getWeight();
+            degrees[vertex1]++;
+            degrees[vertex2]++;
+            numAdded[0]++;
+        });
+
+        // Lay out each vertex's incident edges contiguously. Like Graph, a self-loop
+        // shows up twice in its vertex's adjacency.
+        this.offsets = new int[numVertices + 1];
+        for (int v = 0; v < numVertices; v++) {
+            this.offsets[v + 1] = this.offsets[v] + degrees[v];
+        }
+        this.adjacentVertices = new int[2 * numEdges];
+        this.adjacentEdges = new int[2 * numEdges];
+        int[] next = new int[numVertices];
+        System.arraycopy(this.offsets, 0, next, 0, numVertices);
+        for (int e = 0; e < numEdges; e++) {
+            int slot1 = next[this.edgeVertex1[e]]++;
+            this.adjacentVertices[slot1] = this.edgeVertex2[e];
+            this.adjacentEdges[slot1] = e;
+            int slot2 = next[this.edgeVertex2[e]]++;
+            this.adjacentVertices[slot2] = this.edgeVertex1[e];
+            this.adjacentEdges[slot2] = e;
+        }
+    }
+
+    /**
+     * Creates a graph with the same vertices and edges as 'other', but the given
+     * edge weights. Everything but the weights is shared, since neither graph ever
+     * changes it.
+     */
+    private CompactGraph(CompactGraph<V, E> other, double[] weights) {
+        this.vertices = other.vertices;
+        this.ids = other.ids;
+        this.edges = other.edges;
+        this.edgeVertex1 = other.edgeVertex1;
+        this.edgeVertex2 = other.edgeVertex2;
+        this.weights = weights;
+        this.offsets = other.offsets;
+        this.adjacentVertices = other.adjacentVertices;
+        this.adjacentEdges = other.adjacentEdges;
+    }
+
+    /**
+     * Returns a graph with the same vertices and edges as this one, where edge 'e'
+     * weighs weights[e] instead of getEdge(e).getWeight(). The edges themselves are
+     * left untouched, so several threads can each search the same graph under their
+     * own weights.
+     *
+     * This takes O(numEdges()) time, to copy the weights: the rest of the graph is
+     * shared.
+     *
+     * @throws IllegalArgumentException if weights is null, doesn't have one weight per
+     *                                  edge, or contains a negative weight or NaN
+     */
+    public CompactGraph<V, E> withWeights(double[] weights) {
+        if (weights == null || weights.length != this.numEdges()) {
+            throw new IllegalArgumentException();
+        }
+        for (double weight : weights) {
+            if (!(weight >= 0)) {
+                throw new IllegalArgumentException();
+            }
+        }
+        return new CompactGraph<>(this, weights.clone());
+    }
+
+    /**
+     * Returns the number of vertices contained within this graph.
+     */
+    public int numVertices() {
+        return this.vertices.length;
+    }
+
+    /**
+     * Returns the number of edges contained within this graph.
+     */
+    public int numEdges() {
+        return this.edges.length;
+    }
+
+    /**
+     * Returns the dense id assigned to the given vertex.
+     *
+     * @throws IllegalArgumentException if the vertex is null or not in the graph
+     */
+    public int vertexId(V vertex) {
+        int id = vertex == null ? -1 : this.ids.getOrDefault(vertex, -1);
+        if (id < 0) {
+            throw new IllegalArgumentException();
+        }
+        return id;
+    }
+
+    /**
+     * Returns the vertex with the given id.
+     */
+    @SuppressWarnings("unchecked")
+    public V getVertex(int id) {
+        return (V) this.vertices[id];
+    }
+
+    /**
+     * Returns the edge with the given id.
+     */
+    @SuppressWarnings("unchecked")
+    public E getEdge(int id) {
+        return (E) this.edges[id];
+    }
+
+    /**
+     * Returns the set of all edges that make up the minimum spanning tree of
+     * this graph.
+     *
+     * If there exists multiple valid MSTs, return any one of them.
+     *
+     * Precondition: the graph does not contain any unconnected components.
+     */
+    public ISet<E> findMinimumSpanningTree() {
+        int[] order = new int[this.numEdges()];
+        for (int e = 0; e < order.length; e++) {
+            order[e] = e;
+        }
+        sortByWeight(order, this.weights, 0, order.length);
+
+        int[] forest = newForest(this.numVertices());
+        ISet<E> output = new ChainedHashSet<>();
+        for (int e : order) {
+            if (union(forest, this.edgeVertex1[e], this.edgeVertex2[e])) {
+                output.add(this.getEdge(e));
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Returns the set of all edges that make up the minimum spanning tree of this
+     * graph, found with the given algorithm. Graph.MstAlgorithm.BORUVKA runs on the
+     * common ForkJoinPool.
+     *
+     * Precondition: the graph does not contain any unconnected components.
+     *
+     * @throws IllegalArgumentException if algorithm is null
+     */
+    public ISet<E> findMinimumSpanningTree(Graph.MstAlgorithm algorithm) {
+        if (algorithm == null) {
+            throw new IllegalArgumentException();
+        }
+        switch (algorithm) {
+            case FILTER_KRUSKAL:
+                return this.findMinimumSpanningTreeFilterKruskal();
+            case PRIM:
+                return this.findMinimumSpanningTreePrim();
+            case BORUVKA:
+                return this.findMinimumSpanningTreeParallel(ForkJoinPool.commonPool());
+            default:
+                return this.findMinimumSpanningTree();
+        }
+    }
+
+    /**
+     * Returns the spanning tree Kruskal's algorithm would find if the edges were
+     * sorted into the given order: that is, the minimum spanning tree if order[i]
+     * were the i'th lightest edge.
+     *
+     * Since no sorting is needed, this takes O(numEdges()) time. Passing in a random
+     * permutation of the edge ids gives the same trees as randomly weighting every
+     * edge and finding the MST, without touching the weights at all.
+     *
+     * @throws IllegalArgumentException if order is null or contains an invalid edge id
+     */
+    public ISet<E> findSpanningTreeInOrder(int[] order) {
+        if (order == null) {
+            throw new IllegalArgumentException();
+        }
+        int[] forest = newForest(this.numVertices());
+        ISet<E> output = new ChainedHashSet<>();
+        for (int e : order) {
+            if (e < 0 || e >= this.numEdges()) {
+                throw new IllegalArgumentException();
+            }
+            if (union(forest, this.edgeVertex1[e], this.edgeVertex2[e])) {
+                output.add(this.getEdge(e));
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Returns the set of all edges that make up the minimum spanning tree of this
+     * graph, found with Filter-Kruskal.
+     *
+     * Rather than sorting every edge up front, this partitions the edges around a
+     * pivot weight and runs Kruskal on the lighter half first. By then most of the
+     * heavier edges usually connect vertices that are already in the same tree, so
+     * they are thrown away before anyone pays to sort them.
+     *
+     * Precondition: the graph does not contain any unconnected components.
+     */
+    public ISet<E> findMinimumSpanningTreeFilterKruskal() {
+        int[] order = new int[this.numEdges()];
+        for (int e = 0; e < order.length; e++) {
+            order[e] = e;
+        }
+        int[] forest = newForest(this.numVertices());
+        boolean[] inTree = new boolean[this.numEdges()];
+        this.filterKruskal(order, 0, order.length, forest, inTree, Math.max(0, this.numVertices() - 1));
+
+        ISet<E> output = new ChainedHashSet<>();
+        for (int e = 0; e < inTree.length; e++) {
+            if (inTree[e]) {
+                output.add(this.getEdge(e));
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Runs Filter-Kruskal on the edge ids in order[lo, hi), marking the tree edges it
+     * picks, and returns how many more tree edges are still needed afterwards.
+     */
+    private int filterKruskal(int[] order, int lo, int hi, int[] forest, boolean[] inTree, int needed) {
+        while (needed > 0) {
+            if (hi - lo <= FILTER_KRUSKAL_CUTOFF) {
+                return this.kruskal(order, lo, hi, forest, inTree, needed);
+            }
+            int mid = (lo + hi) >>> 1;
+            double pivot = median(this.weights[order[lo]], this.weights[order[mid]], this.weights[order[hi - 1]]);
+            int split = lo;
+            for (int i = lo; i < hi; i++) {
+                if (this.weights[order[i]] < pivot) {
+                    int temp = order[i];
+                    order[i] = order[split];
+                    order[split] = temp;
+                    split++;
+                }
+            }
+            if (split == lo) {
+                // The pivot is the lightest weight, so partitioning wouldn't make progress.
+                return this.kruskal(order, lo, hi, forest, inTree, needed);
+            }
+            needed = this.filterKruskal(order, lo, split, forest, inTree, needed);
+
+            // Drop the heavy edges that would only close a cycle, then loop on the
+            // rest rather than recursing, so the stack only grows with the light halves.
+            int kept = split;
+            for (int i = split; i < hi && needed > 0; i++) {
+                int e = order[i];
+                if (find(forest, this.edgeVertex1[e]) != find(forest, this.edgeVertex2[e])) {
+                    order[kept] = e;
+                    kept++;
+                }
+            }
+            lo = split;
+            hi = kept;
+        }
+        return 0;
+    }
+
+    /**
+     * Sorts order[lo, hi) and runs a plain Kruskal pass over it.
+     */
+    private int kruskal(int[] order, int lo, int hi, int[] forest, boolean[] inTree, int needed) {
+        sortByWeight(order, this.weights, lo, hi);
+        for (int i = lo; i < hi && needed > 0; i++) {
+            int e = order[i];
+            if (union(forest, this.edgeVertex1[e], this.edgeVertex2[e])) {
+                inTree[e] = true;
+                needed--;
+            }
+        }
+        return needed;
+    }
+
+    /**
+     * Returns the set of all edges that make up a minimum spanning tree of this graph,
+     * found with Boruvka's algorithm running on the given pool.
+     *
+     * Each round, every component picks the cheapest edge leading out of it, scanning
+     * the edges in parallel, and then all of the picked edges are merged at once
+     * through a ConcurrentIntDisjointSet. Ties between equal weights are broken by edge
+     * id, so the picked edges never form a cycle. Every round at least halves the
+     * number of components, and edges that end up inside a component are dropped
+     * before the next one.
+     *
+     * If the graph has unconnected components, this returns a spanning forest.
+     *
+     * @throws IllegalArgumentException if pool is null
+     */
+    public ISet<E> findMinimumSpanningTreeParallel(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException();
+        }
+        int numVertices = this.numVertices();
+        ConcurrentIntDisjointSet components = new ConcurrentIntDisjointSet(numVertices);
+        // For each component root, the id of the cheapest edge leaving it, or -1.
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(numVertices);
+        boolean[] inTree = new boolean[this.numEdges()];
+        pool.invoke(new ParallelRange(0, numVertices, ParallelRange.GRAIN, (lo, hi) -> {
+            for (int v = lo; v < hi; v++) {
+                cheapest.set(v, -1);
+            }
+        }));
+
+        int[] active = new int[this.numEdges()];
+        for (int e = 0; e < active.length; e++) {
+            active[e] = e;
+        }
+        active = this.crossingEdges(pool, components, active);
+        while (active.length > 0) {
+            int[] edgeIds = active;
+            pool.invoke(new ParallelRange(0, edgeIds.length, ParallelRange.GRAIN, (lo, hi) -> {
+                for (int i = lo; i < hi; i++) {
+                    int e = edgeIds[i];
+                    int root1 = components.find(this.edgeVertex1[e]);
+                    int root2 = components.find(this.edgeVertex2[e]);
+                    if (root1 != root2) {
+                        this.offerCheapest(cheapest, root1, e);
+                        this.offerCheapest(cheapest, root2, e);
+                    }
+                }
+            }));
+            // Two components may have picked the same edge, but only one union of
+            // its endpoints succeeds, so it is only added once.
+            pool.invoke(new ParallelRange(0, numVertices, ParallelRange.GRAIN, (lo, hi) -> {
+                for (int v = lo; v < hi; v++) {
+                    int e = cheapest.get(v);
+                    if (e >= 0) {
+                        cheapest.set(v, -1);
+                        if (components.union(this.edgeVertex1[e], this.edgeVertex2[e])) {
+                            inTree[e] = true;
+                        }
+                    }
+                }
+            }));
+            active = this.crossingEdges(pool, components, edgeIds);
+        }
+
+        ISet<E> output = new ChainedHashSet<>();
+        for (int e = 0; e < inTree.length; e++) {
+            if (inTree[e]) {
+                output.add(this.getEdge(e));
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Lowers the cheapest edge recorded for the given root to 'e', if 'e' is lighter.
+     */
+    private void offerCheapest(AtomicIntegerArray cheapest, int root, int e) {
+        while (true) {
+            int current = cheapest.get(root);
+            if (current >= 0 && !this.isLighter(e, current)) {
+                return;
+            }
+            if (cheapest.compareAndSet(root, current, e)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Orders edges by weight, and then by id so that no two edges are tied.
+     */
+    private boolean isLighter(int e1, int e2) {
+        return this.weights[e1] < this.weights[e2] || (this.weights[e1] == this.weights[e2] && e1 < e2);
+    }
+
+    /**
+     * Returns the ids in 'edgeIds' whose endpoints are still in different components,
+     * in their original order.
+     */
+    private int[] crossingEdges(ForkJoinPool pool, ConcurrentIntDisjointSet components, int[] edgeIds) {
+        // Each chunk first counts its survivors, so that after a prefix sum every chunk
+        // knows where to copy them to without coordinating with the others.
+        int chunkSize = ParallelRange.GRAIN;
+        int numChunks = (edgeIds.length + chunkSize - 1) / chunkSize;
+        boolean[] keep = new boolean[edgeIds.length];
+        int[] starts = new int[numChunks + 1];
+        pool.invoke(new ParallelRange(0, numChunks, 1, (lo, hi) -> {
+            for (int chunk = lo; chunk < hi; chunk++) {
+                int count = 0;
+                for (int i = chunk * chunkSize; i < Math.min(edgeIds.length, (chunk + 1) * chunkSize); i++) {
+                    int e = edgeIds[i];
+                    keep[i] = components.find(this.edgeVertex1[e]) != components.find(this.edgeVertex2[e]);
+                    if (keep[i]) {
+                        count++;
+                    }
+                }
+                starts[chunk + 1] = count;
+            }
+        }));
+        for (int chunk = 0; chunk < numChunks; chunk++) {
+            starts[chunk + 1] += starts[chunk];
+        }
+        int[] output = new int[starts[numChunks]];
+        pool.invoke(new ParallelRange(0, numChunks, 1, (lo, hi) -> {
+            for (int chunk = lo; chunk < hi; chunk++) {
+                int next = starts[chunk];
+                for (int i = chunk * chunkSize; i < Math.min(edgeIds.length, (chunk + 1) * chunkSize); i++) {
+                    if (keep[i]) {
+                        output[next] = edgeIds[i];
+                        next++;
+                    }
+                }
+            }
+        }));
+        return output;
+    }
+
+    /**
+     * Returns the set of all edges that make up the minimum spanning tree of this
+     * graph, found with Prim's algorithm.
+     *
+     * Like runDijkstra, but a vertex's priority is the weight of the cheapest edge
+     * joining it to the tree, rather than the length of a path. If the graph is
+     * disconnected, this returns a minimum spanning forest.
+     */
+    public ISet<E> findMinimumSpanningTreePrim() {
+        boolean[] inTree = new boolean[this.numVertices()];
+        int[] cheapest = new int[this.numVertices()];
+        IndexedMinHeap queue = new IndexedMinHeap(this.numVertices());
+        ISet<E> output = new ChainedHashSet<>();
+        for (int root = 0; root < inTree.length; root++) {
+            if (inTree[root]) {
+                continue;
+            }
+            cheapest[root] = -1;
+            queue.addOrDecrease(root, 0.0);
+            while (!queue.isEmpty()) {
+                int v = queue.removeMin();
+                inTree[v] = true;
+                if (cheapest[v] >= 0) {
+                    output.add(this.getEdge(cheapest[v]));
+                }
+                for (int slot = this.offsets[v]; slot < this.offsets[v + 1]; slot++) {
+                    int other = this.adjacentVertices[slot];
+                    int e = this.adjacentEdges[slot];
+                    if (!inTree[other] && queue.addOrDecrease(other, this.weights[e])) {
+                        cheapest[other] = e;
+                    }
+                }
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Returns a spanning tree of this graph chosen uniformly at random from every
+     * possible spanning tree, ignoring the edge weights, using Wilson's algorithm.
+     *
+     * Wilson's algorithm grows the tree from a root by random walks: each walk starts
+     * at a vertex not yet in the tree and wanders until it hits the tree, and the
+     * path it took, with every loop erased, joins the tree. A walk only remembers the
+     * last edge it left each vertex by, so erasing loops costs nothing extra.
+     *
+     * If the graph is disconnected, this returns a spanning forest made of a uniformly
+     * random spanning tree of each component.
+     */
+    public ISet<E> findRandomSpanningTreeWilson(Random rand) {
+        int[] components = this.components();
+        boolean[] inTree = new boolean[this.numVertices()];
+        for (int v = 0; v < inTree.length; v++) {
+            inTree[v] = components[v] < 0;
+        }
+
+        // The adjacency slot each walk last left each vertex through.
+        int[] exits = new int[this.numVertices()];
+        ISet<E> output = new ChainedHashSet<>();
+        for (int start = 0; start < inTree.length; start++) {
+            int v = start;
+            while (!inTree[v]) {
+                exits[v] = this.offsets[v] + rand.nextInt(this.offsets[v + 1] - this.offsets[v]);
+                v = this.adjacentVertices[exits[v]];
+            }
+            v = start;
+            while (!inTree[v]) {
+                inTree[v] = true;
+                output.add(this.getEdge(this.adjacentEdges[exits[v]]));
+                v = this.adjacentVertices[exits[v]];
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Returns a spanning tree of this graph chosen uniformly at random from every
+     * possible spanning tree, ignoring the edge weights, using the Aldous-Broder
+     * algorithm.
+     *
+     * Aldous-Broder takes a single random walk until it has visited every vertex,
+     * keeping the edge it first reached each vertex by. It's simpler than Wilson's
+     * algorithm, but the walk can take much longer on large graphs, since it keeps
+     * revisiting parts of the graph it has already covered.
+     *
+     * If the graph is disconnected, this returns a spanning forest made of a uniformly
+     * random spanning tree of each component.
+     */
+    public ISet<E> findRandomSpanningTreeAldousBroder(Random rand) {
+        int[] components = this.components();
+        int[] sizes = new int[this.numVertices()];
+        for (int v = 0; v < sizes.length; v++) {
+            sizes[find(components, v)]++;
+        }
+        boolean[] visited = new boolean[this.numVertices()];
+        ISet<E> output = new ChainedHashSet<>();
+        for (int root = 0; root < visited.length; root++) {
+            if (components[root] >= 0) {
+                continue;
+            }
+            int v = root;
+            visited[v] = true;
+            int unvisited = sizes[root] - 1;
+            while (unvisited > 0) {
+                int slot = this.offsets[v] + rand.nextInt(this.offsets[v + 1] - this.offsets[v]);
+                v = this.adjacentVertices[slot];
+                if (!visited[v]) {
+                    visited[v] = true;
+                    unvisited--;
+                    output.add(this.getEdge(this.adjacentEdges[slot]));
+                }
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Returns a union-find forest with one tree per connected component.
+     */
+    private int[] components() {
+        int[] forest = newForest(this.numVertices());
+        for (int e = 0; e < this.numEdges(); e++) {
+            union(forest, this.edgeVertex1[e], this.edgeVertex2[e]);
+        }
+        return forest;
+    }
+
+    /**
+     * Returns the edges that make up the shortest path from the start
+     * to the end.
+     *
+     * The first edge in the output list should be the edge leading out
+     * of the starting node; the last edge in the output list should be
+     * the edge connecting to the end node.
+     *
+     * Return an empty list if the start and end vertices are the same.
+     *
+     * @throws NoPathExistsException  if there does not exist a path from the start to the end
+     * @throws IllegalArgumentException if start or end is null or not in the graph
+     */
+    public IList<E> findShortestPathBetween(V start, V end) {
+        int source = this.vertexId(start);
+        int target = this.vertexId(end);
+        double[] distances = new double[this.numVertices()];
+        int[] predecessors = new int[this.numVertices()];
+        this.runDijkstra(source, target, distances, predecessors);
+        if (distances[target] == Double.POSITIVE_INFINITY) {
+            throw new NoPathExistsException();
+        }
+        return this.buildPath(predecessors, target);
+    }
+
+    /**
+     * Returns the tree of shortest paths from the given source to every vertex in
+     * this graph. Once it's built, the tree answers path and distance queries for
+     * any target without searching again.
+     *
+     * @throws IllegalArgumentException if source is null or not in the graph
+     */
+    public ShortestPathTree<V, E> shortestPathTreeFrom(V source) {
+        int id = this.vertexId(source);
+        double[] distances = new double[this.numVertices()];
+        int[] predecessors = new int[this.numVertices()];
+        this.runDijkstra(id, -1, distances, predecessors);
+        return new ShortestPathTree<>(this, id, distances, predecessors);
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from the source, filling in the distance to and the
+     * last edge id on the shortest path to each vertex. Unreached vertices are left at
+     * infinity with no predecessor.
+     *
+     * The search stops as soon as the target is settled, so only the target's entries
+     * are guaranteed to be final; pass -1 to settle the whole graph.
+     */
+    private void runDijkstra(int source, int target, double[] distances, int[] predecessors) {
+        for (int v = 0; v < distances.length; v++) {
+            distances[v] = Double.POSITIVE_INFINITY;
+            predecessors[v] = -1;
+        }
+        boolean[] settled = new boolean[this.numVertices()];
+        IndexedMinHeap queue = new IndexedMinHeap(this.numVertices());
+        queue.addOrDecrease(source, 0.0);
+        distances[source] = 0.0;
+
+        while (!queue.isEmpty()) {
+            int v = queue.removeMin();
+            if (v == target) {
+                return;
+            }
+            settled[v] = true;
+            for (int slot = this.offsets[v]; slot < this.offsets[v + 1]; slot++) {
+                int other = this.adjacentVertices[slot];
+                int e = this.adjacentEdges[slot];
+                double distance = distances[v] + this.weights[e];
+                if (!settled[other] && queue.addOrDecrease(other, distance)) {
+                    distances[other] = distance;
+                    predecessors[other] = e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Follows the predecessor edges back from the target, building the path in
+     * start-to-end order.
+     */
+    private IList<E> buildPath(int[] predecessors, int target) {
+        IList<E> output = new CircularArrayList<>();
+        int current = target;
+        while (predecessors[current] >= 0) {
+            int e = predecessors[current];
+            output.insert(0, this.getEdge(e));
+            current = this.otherEndpoint(e, current);
+        }
+        return output;
+    }
+
+    /**
+     * Returns the id of the endpoint of edge 'e' that isn't 'vertex'.
+     */
+    int otherEndpoint(int e, int vertex) {
+        return this.edgeVertex1[e] == vertex ? this.edgeVertex2[e] : this.edgeVertex1[e];
+    }
+
+    /**
+     * Returns a new union-find forest where every vertex is its own root. Like
+     * ArrayDisjointSet, roots store their negated rank.
+     */
+    private static int[] newForest(int size) {
+        int[] forest = new int[size];
+        for (int i = 0; i < size; i++) {
+            forest[i] = -1;
+        }
+        return forest;
+    }
+
+    private static int find(int[] forest, int index) {
+        while (forest[index] >= 0) {
+            // Path halving: point every other node at its grandparent.
+            if (forest[forest[index]] >= 0) {
+                forest[index] = forest[forest[index]];
+            }
+            index = forest[index];
+        }
+        return index;
+    }
+
+    /**
+     * Merges the sets containing the two ids, returning false if they were already
+     * in the same set.
+     */
+    private static boolean union(int[] forest, int index1, int index2) {
+        int root1 = find(forest, index1);
+        int root2 = find(forest, index2);
+        if (root1 == root2) {
+            return false;
+        }
+        if (forest[root1] == forest[root2]) {
+            forest[root1] = root2;
+            forest[root2]--;
+        } else if (forest[root1] < forest[root2]) {
+            forest[root2] = root1;
+        } else {
+            forest[root1] = root2;
+        }
+        return true;
+    }
+
+    /**
+     * Sorts order[lo, hi) in ascending order of the weights the ids point to.
+     */
+    private static void sortByWeight(int[] order, double[] weights, int lo, int hi) {
+        while (hi - lo > 16) {
+            int mid = (lo + hi) >>> 1;
+            double pivot = median(weights[order[lo]], weights[order[mid]], weights[order[hi - 1]]);
+            int i = lo;
+            int j = hi - 1;
+            while (i <= j) {
+                while (weights[order[i]] < pivot) {
+                    i++;
+                }
+                while (weights[order[j]] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    int temp = order[i];
+                    order[i] = order[j];
+                    order[j] = temp;
+                    i++;
+                    j--;
+                }
+            }
+            // Recurse into the smaller half and loop on the larger one so the
+            // stack depth stays logarithmic.
+            if (j + 1 - lo < hi - i) {
+                sortByWeight(order, weights, lo, j + 1);
+                lo = i;
+            } else {
+                sortByWeight(order, weights, i, hi);
+                hi = j + 1;
+            }
+        }
+        for (int i = lo + 1; i < hi; i++) {
+            int id = order[i];
+            int j = i - 1;
+            while (j >= lo && weights[order[j]] > weights[id]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = id;
+        }
+    }
+
+    private static double median(double a, double b, double c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    /**
+     * A 4-heap of vertex ids ordered by a double priority, supporting decrease-key.
+     *
+     * Unlike ArrayHeap, the position of each id is tracked in a plain array, since
+     * the ids are already dense.
+     */
+    private static class IndexedMinHeap {
+        private static final int NUM_CHILDREN = 4;
+
+        private int[] heap;
+        private int[] positions;
+        private double[] priorities;
+        private int size;
+
+        public IndexedMinHeap(int capacity) {
+            this.heap = new int[capacity];
+            this.positions = new int[capacity];
+            this.priorities = new double[capacity];
+            for (int i = 0; i < capacity; i++) {
+                this.positions[i] = -1;
+            }
+            this.size = 0;
+        }
+
+        public boolean isEmpty() {
+            return this.size == 0;
+        }
+
+        /**
+         * Adds the id with the given priority, or lowers its priority if it is already
+         * in the heap. Returns true if the heap changed.
+         */
+        public boolean addOrDecrease(int id, double priority) {
+            int index = this.positions[id];
+            if (index < 0) {
+                index = this.size;
+                this.size++;
+                this.heap[index] = id;
+                this.positions[id] = index;
+            } else if (priority >= this.priorities[id]) {
+                return false;
+            }
+            this.priorities[id] = priority;
+            this.percolateUp(index);
+            return true;
+        }
+
+        public int removeMin() {
+            int output = this.heap[0];
+            this.size--;
+            this.positions[output] = -1;
+            if (this.size > 0) {
+                this.heap[0] = this.heap[this.size];
+                this.positions[this.heap[0]] = 0;
+                this.percolateDown(0);
+            }
+            return output;
+        }
+
+        private void percolateUp(int index) {
+            int id = this.heap[index];
+            double priority = this.priorities[id];
+            while (index > 0) {
+                int parent = (index - 1) / NUM_CHILDREN;
+                if (this.priorities[this.heap[parent]] <= priority) {
+                    break;
+                }
+                this.heap[index] = this.heap[parent];
+                this.positions[this.heap[index]] = index;
+                index = parent;
+            }
+            this.heap[index] = id;
+            this.positions[id] = index;
+        }
+
+        private void percolateDown(int index) {
+            int id = this.heap[index];
+            double priority = this.priorities[id];
+            while (true) {
+                int first = NUM_CHILDREN * index + 1;
+                if (first >= this.size) {
+                    break;
+                }
+                int min = first;
+                int last = Math.min(first + NUM_CHILDREN, this.size);
+                for (int child = first + 1; child < last; child++) {
+                    if (this.priorities[this.heap[child]] < this.priorities[this.heap[min]]) {
+                        min = child;
+                    }
+                }
+                if (this.priorities[this.heap[min]] >= priority) {
+                    break;
+                }
+                this.heap[index] = this.heap[min];
+                this.positions[this.heap[index]] = index;
+                index = min;
+            }
+            this.heap[index] = id;
+            this.positions[id] = index;
+        }
+    }
+
+    /**
+     * The work done on one slice [lo, hi) of a ParallelRange.
+     */
+    private interface RangeBody {
+        void run(int lo, int hi);
+    }
+
+    /**
+     * Runs a RangeBody over [lo, hi) on a ForkJoinPool, splitting the range in half
+     * until the pieces are no bigger than 'grain'.
+     */
+    private static class ParallelRange extends RecursiveAction {
+        public static final int GRAIN = 4096;
+
+        private final int lo;
+        private final int hi;
+        private final int grain;
+        private final RangeBody body;
+
+        public ParallelRange(int lo, int hi, int grain, RangeBody body) {
+            this.lo = lo;
+            this.hi = hi;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.hi - this.lo <= this.grain) {
+                this.body.run(this.lo, this.hi);
+            } else {
+                int mid = (this.lo + this.hi) >>> 1;
+                invokeAll(new ParallelRange(this.lo, mid, this.grain, this.body),
+                        new ParallelRange(mid, this.hi, this.grain, this.body));
+            }
+        }
+    }
+}
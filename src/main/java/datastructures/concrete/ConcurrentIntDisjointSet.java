@@ -0,0 +1,96 @@
+package datastructures.concrete;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A disjoint-set forest over the ids [0, size) that many threads can find and
+ * union in at the same time, without locking.
+ *
+ * Every id starts out as its own root. Unlike ArrayDisjointSet, roots aren't
+ * linked by rank: a root is always linked under the larger of the two roots, which
+ * is enough to rule out cycles when several threads link at once. Every pointer
+ * change goes through a compare-and-set, and find halves the path as it walks it.
+ */
+public class ConcurrentIntDisjointSet {
+    private final AtomicIntegerArray parents;
+
+    public ConcurrentIntDisjointSet(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.parents = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            this.parents.set(i, i);
+        }
+    }
+
+    /**
+     * Returns the number of ids in this forest.
+     */
+    public int size() {
+        return this.parents.length();
+    }
+
+    /**
+     * Returns the root of the set containing the given id.
+     *
+     * If other threads are calling union at the same time, the root may already be
+     * out of date by the time this returns; sameSet and union account for that.
+     */
+    public int find(int id) {
+        int parent = this.parents.get(id);
+        while (parent != id) {
+            // Path halving: point the node at its grandparent. Losing the race here
+            // is harmless, since another thread only ever moves it closer to the root.
+            int grandparent = this.parents.get(parent);
+            if (grandparent != parent) {
+                this.parents.compareAndSet(id, parent, grandparent);
+            }
+            id = grandparent;
+            parent = this.parents.get(id);
+        }
+        return id;
+    }
+
+    /**
+     * Returns 'true' if the two ids are in the same set.
+     */
+    public boolean sameSet(int id1, int id2) {
+        while (true) {
+            int root1 = this.find(id1);
+            int root2 = this.find(id2);
+            if (root1 == root2) {
+                return true;
+            }
+            // root1 may have been linked under root2 after we found it.
+            if (this.parents.get(root1) == root1) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Merges the sets containing the two ids. Returns 'true' if this call did the
+     * merge, and 'false' if they were already in the same set.
+     *
+     * When several threads try to merge the same two sets, exactly one of them
+     * returns 'true'.
+     */
+    public boolean union(int id1, int id2) {
+        while (true) {
+            int root1 = this.find(id1);
+            int root2 = this.find(id2);
+            if (root1 == root2) {
+                return false;
+            }
+            if (root1 > root2) {
+                int temp = root1;
+                root1 = root2;
+                root2 = temp;
+            }
+            if (this.parents.compareAndSet(root1, root1, root2)) {
+                return true;
+            }
+        }
+    }
+}
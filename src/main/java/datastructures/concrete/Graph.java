@@ -1,7 +1,9 @@
 package datastructures.concrete;
 
 import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.OpenAddressingDictionary;
 import datastructures.interfaces.IEdge;
+import datastructures.interfaces.IHeuristic;
 import datastructures.interfaces.IDisjointSet;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.ISet;
@@ -10,6 +12,8 @@ import datastructures.interfaces.IPriorityQueue;
 import misc.Sorter;
 import misc.exceptions.NoPathExistsException;
 
+import java.util.concurrent.ForkJoinPool;
+
 
 /**
  * Represents an undirected, weighted graph, possibly containing self-loops, parallel edges,
@@ -72,19 +76,26 @@ public class Graph<V, E extends IEdge<V> & Comparable<E>> {
     ISet<V> vSet;
     IList<E> eSet;
     IDictionary<V, IList<E>> adjacency;
+    // Built lazily by shortestPathTreeFrom, and dropped by invalidateCaches. Each tree
+    // takes space proportional to the whole graph, so only the latest one is kept.
+    private CompactGraph<V, E> compact;
+    private V pathTreeSource;
+    private ShortestPathTree<V, E> pathTree;
     public Graph(IList<V> vertices, IList<E> edges) {
         if (vertices == null || edges == null) {
             throw new IllegalArgumentException();
         }
         vSet = new ChainedHashSet<>();
-        eSet = new DoubleLinkedList<>();
+        eSet = new CircularArrayList<>();
         adjacency = new ChainedHashDictionary<>();
         for (V v : vertices) {
             if (v == null || vSet.contains(v)) {
                 throw new IllegalArgumentException();
             }
             vSet.add(v);
-            adjacency.put(v, new DoubleLinkedList<>());
+            // Most vertices have only a handful of edges, so a single small node holds
+            // them all and iterating over them follows just one pointer.
+            adjacency.put(v, new UnrolledLinkedList<>(8));
         }
         for (E e : edges) {
             if (e.getWeight() < 0) {
@@ -123,10 +134,8 @@ public class Graph<V, E extends IEdge<V> & Comparable<E>> {
         if (set == null) {
             throw new IllegalArgumentException();
         }
-        IList<T> output = new DoubleLinkedList<>();
-        for (T item : set) {
-            output.add(item);
-        }
+        IList<T> output = new CircularArrayList<>();
+        set.forEach(output::add);
         return output;
     }
 
@@ -144,6 +153,18 @@ public class Graph<V, E extends IEdge<V> & Comparable<E>> {
         return eSet.size();
     }
 
+    /**
+     * Returns an immutable, compressed-sparse-row snapshot of this graph.
+     *
+     * The snapshot maps every vertex to a dense int id and stores the edge endpoints
+     * and weights in primitive arrays, so its findMinimumSpanningTree and
+     * findShortestPathBetween methods avoid hashing and pointer-chasing entirely.
+     * Edge weights are copied when the snapshot is taken.
+     */
+    public CompactGraph<V, E> toCompactGraph() {
+        return new CompactGraph<>(vSet, vSet.size(), eSet, eSet.size());
+    }
+
     /**
      * Returns the set of all edges that make up the minimum spanning tree of
      * this graph.
@@ -156,9 +177,7 @@ public class Graph<V, E extends IEdge<V> & Comparable<E>> {
         IList<E> sorted = Sorter.topKSort(eSet.size(), eSet);
         IDisjointSet<V> set = new ArrayDisjointSet<>();
         ISet<E> output = new ChainedHashSet<>();
-        for (V v :vSet) {
-            set.makeSet(v);
-        }
+        vSet.forEach(set::makeSet);
         for (E e : sorted) {
             if (set.findSet(e.getVertex1()) != set.findSet(e.getVertex2())) {
                 output.add(e);
@@ -168,6 +187,115 @@ public class Graph<V, E extends IEdge<V> & Comparable<E>> {
         return output;
     }
 
+    /**
+     * The algorithms findMinimumSpanningTree can use.
+     */
+    public enum MstAlgorithm {
+        /**
+         * Sorts every edge, then adds them cheapest-first unless they'd form a cycle.
+         */
+        KRUSKAL,
+        /**
+         * Kruskal's algorithm, but only sorts the edges that could still join two
+         * trees, partitioning around pivot weights like quicksort.
+         */
+        FILTER_KRUSKAL,
+        /**
+         * Grows the tree out from one vertex, always adding the cheapest edge leaving
+         * it. The heap holds one entry per vertex, lowered through 'replace'.
+         */
+        PRIM,
+        /**
+         * Repeatedly merges every component along its cheapest outgoing edge, doing
+         * each round's work in parallel on the common ForkJoinPool.
+         */
+        BORUVKA
+    }
+
+    /**
+     * Returns the set of all edges that make up the minimum spanning tree of
+     * this graph, computed with the given algorithm.
+     *
+     * If there exists multiple valid MSTs, return any one of them.
+     *
+     * Precondition: the graph does not contain any unconnected components.
+     *
+     * @throws IllegalArgumentException if algorithm is null
+     */
+    public ISet<E> findMinimumSpanningTree(MstAlgorithm algorithm) {
+        if (algorithm == null) {
+            throw new IllegalArgumentException();
+        }
+        switch (algorithm) {
+            case FILTER_KRUSKAL:
+                return toCompactGraph().findMinimumSpanningTreeFilterKruskal();
+            case PRIM:
+                return findMinimumSpanningTreePrim();
+            case BORUVKA:
+                return toCompactGraph().findMinimumSpanningTreeParallel(ForkJoinPool.commonPool());
+            default:
+                return findMinimumSpanningTree();
+        }
+    }
+
+    /**
+     * Returns the minimum spanning tree found by the given algorithm, using
+     * weights.get(e) as the weight of each edge 'e' instead of the edge's own weight.
+     * The edges aren't modified, so several threads can find spanning trees of the
+     * same graph under different weights at once.
+     *
+     * Precondition: the graph does not contain any unconnected components.
+     *
+     * @throws IllegalArgumentException if algorithm or weights is null, weights is
+     *                                  missing an edge, or has a null, negative or NaN
+     *                                  weight for one
+     * @see CompactGraph#withWeights
+     */
+    public ISet<E> findMinimumSpanningTree(MstAlgorithm algorithm, IDictionary<E, Double> weights) {
+        if (algorithm == null || weights == null) {
+            throw new IllegalArgumentException();
+        }
+        CompactGraph<V, E> compact = toCompactGraph();
+        double[] weightOfId = new double[compact.numEdges()];
+        for (int id = 0; id < weightOfId.length; id++) {
+            Double weight = weights.getOrDefault(compact.getEdge(id), null);
+            if (weight == null) {
+                throw new IllegalArgumentException();
+            }
+            weightOfId[id] = weight;
+        }
+        return compact.withWeights(weightOfId).findMinimumSpanningTree(algorithm);
+    }
+
+    /**
+     * Runs Prim's algorithm from every vertex not yet reached, so unconnected
+     * components each get their own spanning tree.
+     */
+    private ISet<E> findMinimumSpanningTreePrim() {
+        // This is a Dijkstra frontier where a vertex's "distance" is the weight of
+        // the cheapest edge joining it to the tree, rather than the length of a path.
+        IHeuristic<V> none = (vertex, goal) -> 0.0;
+        ISet<E> output = new ChainedHashSet<>();
+        Frontier<V, E> frontier = null;
+        for (V root : vSet) {
+            if (frontier == null) {
+                frontier = new Frontier<>(root, 0.0);
+            } else if (!frontier.list.containsKey(root)) {
+                frontier.seed(root, 0.0);
+            }
+            while (!frontier.que.isEmpty()) {
+                ComparableVertex<V, E> vertex = frontier.settleNext();
+                if (vertex.edge != null) {
+                    output.add(vertex.edge);
+                }
+                for (E e : adjacency.get(vertex.name)) {
+                    frontier.relax(e.getOtherVertex(vertex.name), e.getWeight(), e, none, null);
+                }
+            }
+        }
+        return output;
+    }
+
     /**
      * Returns the edges that make up the shortest path from the start
      * to the end.
@@ -181,136 +309,292 @@ public class Graph<V, E extends IEdge<V> & Comparable<E>> {
      * @throws NoPathExistsException  if there does not exist a path from the start to the end
      * @throws IllegalArgumentException if start or end is null or not in the graph
      */
-    // public IList<E> findShortestPathBetween(V start, V end) {
-    //     if (start == null || end == null || !vSet.contains(start)) {
-    //         throw new IllegalArgumentException();
-    //     }
-    //     double inf = Double.POSITIVE_INFINITY;
-    //     IPriorityQueue<ComparableVertex<V, E>> que = new ArrayHeap<>();
-    //     IDictionary<V, ComparableVertex<V, E>> list = new ChainedHashDictionary<>();
-    //     for (V v : vSet) {
-    //         ComparableVertex<V, E> temp;
-    //         if (v.equals(start)) {
-    //             temp = new ComparableVertex<>(v, 0.0);
-    //         } else {
-    //             temp = new ComparableVertex<>(v, inf);
-    //         }
-    //         que.add(temp);
-    //         list.put(v, temp);
-    //     }
-    //     while (!que.isEmpty() && !que.peekMin().name.equals(end)) {
-    //         ComparableVertex<V, E> vertex = que.removeMin();
-    //         V v = vertex.name;
-    //         double distance = vertex.distance;
-    //         for (E e : adjacency.get(v)) {
-    //             V otherV = e.getOtherVertex(v);
-    //             ComparableVertex<V, E> oldV;
-    //             oldV = list.get(otherV);
-    //             double oldD = oldV.distance;
-    //             double newD = distance + e.getWeight();
-    //             if (newD < oldD) {
-    //                 IList<E> path = new DoubleLinkedList<>();
-    //                 for (E prevPath : vertex.path) {
-    //                     path.add(prevPath);
-    //                 }
-    //                 ComparableVertex<V, E> newV;
-    //                 newV = new ComparableVertex<>(otherV, newD);
-    //                 path.add(e);
-    //                 newV.path = path;
-    //                 que.remove(oldV);
-    //                 que.add(newV);
-    //                 list.put(otherV, newV);
-    //             }
-    //         }
-    //     }
-    //     ComparableVertex<V, E> v = list.get(end);
-    //     if (v.distance == inf) {
-    //         throw new NoPathExistsException();
-    //     }
-    //     return v.path;
-    // }
-    //
-    // private static class ComparableVertex<V, E> implements Comparable<ComparableVertex<V, E>> {
-    //     IList<E> path;
-    //     final V name;
-    //     final double distance;
-    //
-    //     public ComparableVertex(V vertex, Double distance) {
-    //         this.path = new DoubleLinkedList<>();
-    //         this.name = vertex;
-    //         this.distance = distance;
-    //     }
-    //
-    //     public int compareTo(ComparableVertex<V, E> vertex){
-    //         return (int) (this.distance - vertex.distance);
-    //     }
-    // }
-    //
     public IList<E> findShortestPathBetween(V start, V end) {
-        if (start == null || end == null || !vSet.contains(start)) {
+        return findShortestPathBetween(start, end, (vertex, goal) -> 0.0);
+    }
+
+    /**
+     * Returns the edges that make up the shortest path from the start to the end,
+     * using A* search guided by the given heuristic.
+     *
+     * The output follows the same rules as findShortestPathBetween(start, end). As
+     * long as the heuristic is consistent (see IHeuristic), the path is a shortest
+     * one, and a good heuristic lets the search settle far fewer vertices.
+     *
+     * @throws NoPathExistsException  if there does not exist a path from the start to the end
+     * @throws IllegalArgumentException if start, end or heuristic is null, or start or end is not in the graph
+     */
+    public IList<E> findShortestPathBetween(V start, V end, IHeuristic<V> heuristic) {
+        return searchShortestPathBetween(start, end, heuristic).getPath();
+    }
+
+    /**
+     * Like findShortestPathBetween(start, end), but also reports how many vertices the
+     * search settled.
+     *
+     * @throws NoPathExistsException  if there does not exist a path from the start to the end
+     * @throws IllegalArgumentException if start or end is null or not in the graph
+     */
+    public SearchResult<E> searchShortestPathBetween(V start, V end) {
+        return searchShortestPathBetween(start, end, (vertex, goal) -> 0.0);
+    }
+
+    /**
+     * Like findShortestPathBetween(start, end, heuristic), but also reports how many
+     * vertices the search settled.
+     *
+     * @throws NoPathExistsException  if there does not exist a path from the start to the end
+     * @throws IllegalArgumentException if start, end or heuristic is null, or start or end is not in the graph
+     */
+    public SearchResult<E> searchShortestPathBetween(V start, V end, IHeuristic<V> heuristic) {
+        if (start == null || end == null || heuristic == null || !vSet.contains(start) || !vSet.contains(end)) {
             throw new IllegalArgumentException();
         }
-        double inf = Double.POSITIVE_INFINITY;
-        IPriorityQueue<ComparableVertex<V, E>> que = new ArrayHeap<>();
-        IDictionary<V, ComparableVertex<V, E>> list = new ChainedHashDictionary<>();
-        IList<E> output = new DoubleLinkedList<>();
-        for (V v : vSet) {
-            ComparableVertex<V, E> temp;
-            if (v.equals(start)) {
-                temp = new ComparableVertex<>(v, 0.0, null);
-            } else {
-                temp = new ComparableVertex<>(v, inf, null);
+        // Only vertices the search actually reaches ever enter the heap. Each one has a
+        // single entry, whose priority is lowered through 'replace' when a shorter path
+        // turns up, and the search stops as soon as the end vertex is settled.
+        Frontier<V, E> frontier = new Frontier<>(start, heuristic.estimate(start, end));
+
+        while (!frontier.que.isEmpty()) {
+            ComparableVertex<V, E> vertex = frontier.settleNext();
+            if (vertex.name.equals(end)) {
+                return new SearchResult<>(frontier.pathTo(vertex), frontier.numSettled);
+            }
+            for (E e : adjacency.get(vertex.name)) {
+                V otherV = e.getOtherVertex(vertex.name);
+                frontier.relax(otherV, vertex.distance + e.getWeight(), e, heuristic, end);
             }
-            que.add(temp);
-            list.put(v, temp);
         }
-        while (!que.isEmpty() && !que.peekMin().name.equals(end)) {
-            ComparableVertex<V, E> vertex = que.removeMin();
-            V v = vertex.name;
-            double distance = vertex.distance;
-            for (E e : adjacency.get(v)) {
-                V otherV = e.getOtherVertex(v);
-                ComparableVertex<V, E> oldV;
-                oldV = list.get(otherV);
-                double oldD = oldV.distance;
-                double newD = distance + e.getWeight();
-                if (newD < oldD) {
-                    ComparableVertex<V, E> newV;
-                    newV = new ComparableVertex<>(otherV, newD, e);
-                    que.remove(oldV);
-                    que.add(newV);
-                    list.put(otherV, newV);
+        throw new NoPathExistsException();
+    }
+
+    /**
+     * Returns the edges that make up the shortest path from the start to the end,
+     * searching forward from the start and backward from the end at the same time.
+     *
+     * The output follows the same rules as findShortestPathBetween(start, end). The
+     * two searches each only need to cover about half the distance, so on large
+     * graphs they usually settle far fewer vertices than a single search would.
+     *
+     * @throws NoPathExistsException  if there does not exist a path from the start to the end
+     * @throws IllegalArgumentException if start or end is null or not in the graph
+     */
+    public IList<E> findShortestPathBidirectional(V start, V end) {
+        return searchShortestPathBidirectional(start, end).getPath();
+    }
+
+    /**
+     * Like findShortestPathBidirectional(start, end), but also reports how many vertices
+     * the two searches settled between them.
+     *
+     * @throws NoPathExistsException  if there does not exist a path from the start to the end
+     * @throws IllegalArgumentException if start or end is null or not in the graph
+     */
+    public SearchResult<E> searchShortestPathBidirectional(V start, V end) {
+        if (start == null || end == null || !vSet.contains(start) || !vSet.contains(end)) {
+            throw new IllegalArgumentException();
+        }
+        if (start.equals(end)) {
+            return new SearchResult<>(new CircularArrayList<>(), 0);
+        }
+        IHeuristic<V> none = (vertex, goal) -> 0.0;
+        Frontier<V, E> forward = new Frontier<>(start, 0.0);
+        Frontier<V, E> backward = new Frontier<>(end, 0.0);
+
+        // The shortest path seen so far is made of 'meetingEdge' joined to a path from
+        // the start on one side and a path to the end on the other.
+        double best = Double.POSITIVE_INFINITY;
+        E meetingEdge = null;
+        ComparableVertex<V, E> fromStart = null;
+        ComparableVertex<V, E> toEnd = null;
+
+        while (!forward.que.isEmpty() && !backward.que.isEmpty()) {
+            // Any path we haven't seen yet has to leave both settled regions, so once
+            // the two frontiers are this far apart the best path can't be beaten.
+            double forwardMin = forward.que.peekMin().distance;
+            double backwardMin = backward.que.peekMin().distance;
+            if (forwardMin + backwardMin >= best) {
+                break;
+            }
+            boolean goForward = forwardMin <= backwardMin;
+            Frontier<V, E> frontier = goForward ? forward : backward;
+            Frontier<V, E> other = goForward ? backward : forward;
+
+            ComparableVertex<V, E> vertex = frontier.settleNext();
+            for (E e : adjacency.get(vertex.name)) {
+                V otherV = e.getOtherVertex(vertex.name);
+                double newD = vertex.distance + e.getWeight();
+                frontier.relax(otherV, newD, e, none, end);
+                ComparableVertex<V, E> opposite = other.list.getOrDefault(otherV, null);
+                if (opposite != null && newD + opposite.distance < best) {
+                    best = newD + opposite.distance;
+                    meetingEdge = e;
+                    fromStart = goForward ? vertex : opposite;
+                    toEnd = goForward ? opposite : vertex;
                 }
             }
         }
-        ComparableVertex<V, E> pathFinder = list.get(end);
-        if (pathFinder.distance == inf) {
+        if (meetingEdge == null) {
             throw new NoPathExistsException();
         }
+        // The backward search's predecessor edges already lead towards the end, so
+        // they can be appended in the order we walk them.
+        IList<E> output = forward.pathTo(fromStart);
+        output.add(meetingEdge);
+        ComparableVertex<V, E> pathFinder = toEnd;
         while (pathFinder.edge != null) {
-            V v = pathFinder.name;
-            E e = pathFinder.edge;
-            V preV = e.getOtherVertex(v);
-            pathFinder = list.get(preV);
-            output.insert(0, e);
+            output.add(pathFinder.edge);
+            pathFinder = backward.list.get(pathFinder.edge.getOtherVertex(pathFinder.name));
         }
-        return output;
+        return new SearchResult<>(output, forward.numSettled + backward.numSettled);
+    }
 
+    /**
+     * Returns the tree of shortest paths from the given source to every vertex in
+     * this graph, which answers path and distance queries for any target without
+     * searching again.
+     *
+     * Building the tree settles every vertex, so this only pays off when many targets
+     * share one source. For a single pair, findShortestPathBetween with a heuristic
+     * expands far fewer vertices.
+     *
+     * The tree is computed on a CompactGraph snapshot. Only the tree for the most
+     * recent source is cached: asking for the same source again returns the same tree,
+     * but asking for another source replaces it. If any edge weights change, call
+     * invalidateCaches() so the next request sees the new weights.
+     *
+     * @throws IllegalArgumentException if source is null or not in the graph
+     */
+    public ShortestPathTree<V, E> shortestPathTreeFrom(V source) {
+        if (source == null || !vSet.contains(source)) {
+            throw new IllegalArgumentException();
+        }
+        if (compact == null) {
+            compact = toCompactGraph();
+        }
+        if (pathTree == null || !pathTreeSource.equals(source)) {
+            pathTree = compact.shortestPathTreeFrom(source);
+            pathTreeSource = source;
+        }
+        return pathTree;
+    }
+
+    /**
+     * Forgets every shortest path tree computed so far. This must be called after
+     * changing the weight of any edge in this graph.
+     */
+    public void invalidateCaches() {
+        compact = null;
+        pathTreeSource = null;
+        pathTree = null;
+    }
+
+    /**
+     * A shortest path, along with the number of vertices the search settled to find it.
+     * The count is useful for comparing how much of the graph different searches explore.
+     */
+    public static class SearchResult<E> {
+        private final IList<E> path;
+        private final int numVerticesExpanded;
+
+        private SearchResult(IList<E> path, int numVerticesExpanded) {
+            this.path = path;
+            this.numVerticesExpanded = numVerticesExpanded;
+        }
+
+        public IList<E> getPath() {
+            return this.path;
+        }
+
+        public int getNumVerticesExpanded() {
+            return this.numVerticesExpanded;
+        }
+    }
+
+    /**
+     * The state of a single Dijkstra, A* or Prim search: the heap of vertices waiting
+     * to be settled, and the best known entry for every vertex reached so far.
+     */
+    private static class Frontier<V, E extends IEdge<V>> {
+        final IPriorityQueue<ComparableVertex<V, E>> que = new ArrayHeap<>();
+        final IDictionary<V, ComparableVertex<V, E>> list = new OpenAddressingDictionary<>();
+        int numSettled = 0;
+
+        public Frontier(V source, double estimate) {
+            seed(source, estimate);
+        }
+
+        /**
+         * Starts another search from the given vertex, which must not have been reached yet.
+         */
+        public void seed(V source, double estimate) {
+            ComparableVertex<V, E> entry = new ComparableVertex<>(source, 0.0, estimate, null);
+            que.add(entry);
+            list.put(source, entry);
+        }
+
+        public ComparableVertex<V, E> settleNext() {
+            ComparableVertex<V, E> vertex = que.removeMin();
+            vertex.settled = true;
+            numSettled++;
+            return vertex;
+        }
+
+        /**
+         * Records that 'vertex' can be reached in 'distance' through 'edge', if that's
+         * shorter than any path to it found so far.
+         */
+        public void relax(V vertex, double distance, E edge, IHeuristic<V> heuristic, V goal) {
+            ComparableVertex<V, E> oldV = list.getOrDefault(vertex, null);
+            if (oldV == null) {
+                ComparableVertex<V, E> newV = new ComparableVertex<>(
+                        vertex, distance, distance + heuristic.estimate(vertex, goal), edge);
+                que.add(newV);
+                list.put(vertex, newV);
+            } else if (!oldV.settled && distance < oldV.distance) {
+                // The estimate only depends on the vertex, so we can reuse it.
+                ComparableVertex<V, E> newV = new ComparableVertex<>(
+                        vertex, distance, distance + (oldV.priority - oldV.distance), edge);
+                que.replace(oldV, newV);
+                list.put(vertex, newV);
+            }
+        }
+
+        /**
+         * Walks the predecessor edges back from the given vertex to the source, and
+         * returns them in order starting from the source.
+         */
+        public IList<E> pathTo(ComparableVertex<V, E> pathFinder) {
+            IList<E> output = new CircularArrayList<>();
+            while (pathFinder.edge != null) {
+                V v = pathFinder.name;
+                E e = pathFinder.edge;
+                V preV = e.getOtherVertex(v);
+                pathFinder = list.get(preV);
+                output.insert(0, e);
+            }
+            return output;
+        }
     }
 
     private static class ComparableVertex<V, E> implements Comparable<ComparableVertex<V, E>> {
         final E edge;
         final V name;
         final double distance;
+        // The distance so far plus the heuristic's estimate of the distance left.
+        final double priority;
+        boolean settled;
 
-        public ComparableVertex(V vertex, Double distance, E edge) {
+        public ComparableVertex(V vertex, double distance, double priority, E edge) {
             this.name = vertex;
             this.distance = distance;
+            this.priority = priority;
             this.edge = edge;
+            this.settled = false;
         }
 
         public int compareTo(ComparableVertex<V, E> vertex){
-            return (int) (this.distance - vertex.distance);
+            return Double.compare(this.priority, vertex.priority);
         }
     }
 }
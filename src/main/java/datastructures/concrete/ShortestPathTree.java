@@ -0,0 +1,86 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IEdge;
+import datastructures.interfaces.IList;
+import misc.exceptions.NoPathExistsException;
+
+/**
+ * The shortest paths from a single source vertex to every other vertex of a graph.
+ *
+ * The tree is stored as two arrays indexed by the dense vertex ids of the CompactGraph
+ * it was computed on: the distance from the source, and the id of the last edge on
+ * a shortest path. Answering a query only follows those edges back to the source, so
+ * it takes time proportional to the length of the path, not the size of the graph.
+ *
+ * @see CompactGraph#shortestPathTreeFrom(Object)
+ * @see Graph#shortestPathTreeFrom(Object)
+ */
+public class ShortestPathTree<V, E extends IEdge<V> & Comparable<E>> {
+    private final CompactGraph<V, E> graph;
+    private final int source;
+    private final double[] distances;
+    private final int[] predecessors;
+
+    /**
+     * Wraps the output of a full Dijkstra search: 'distances' holds infinity for
+     * unreachable vertices, and 'predecessors' holds -1 for the source and for
+     * unreachable vertices.
+     */
+    ShortestPathTree(CompactGraph<V, E> graph, int source, double[] distances, int[] predecessors) {
+        this.graph = graph;
+        this.source = source;
+        this.distances = distances;
+        this.predecessors = predecessors;
+    }
+
+    /**
+     * Returns the vertex every path in this tree starts from.
+     */
+    public V getSource() {
+        return this.graph.getVertex(this.source);
+    }
+
+    /**
+     * Returns 'true' if there is a path from the source to the given vertex.
+     *
+     * @throws IllegalArgumentException if target is null or not in the graph
+     */
+    public boolean hasPathTo(V target) {
+        return this.distances[this.graph.vertexId(target)] < Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Returns the total weight of the shortest path from the source to the given vertex.
+     *
+     * @throws NoPathExistsException  if there does not exist a path from the source to the target
+     * @throws IllegalArgumentException if target is null or not in the graph
+     */
+    public double distanceTo(V target) {
+        double distance = this.distances[this.graph.vertexId(target)];
+        if (distance == Double.POSITIVE_INFINITY) {
+            throw new NoPathExistsException();
+        }
+        return distance;
+    }
+
+    /**
+     * Returns the edges that make up the shortest path from the source to the given
+     * vertex, following the same rules as Graph.findShortestPathBetween.
+     *
+     * @throws NoPathExistsException  if there does not exist a path from the source to the target
+     * @throws IllegalArgumentException if target is null or not in the graph
+     */
+    public IList<E> pathTo(V target) {
+        int current = this.graph.vertexId(target);
+        if (this.distances[current] == Double.POSITIVE_INFINITY) {
+            throw new NoPathExistsException();
+        }
+        IList<E> output = new CircularArrayList<>();
+        while (this.predecessors[current] >= 0) {
+            int e = this.predecessors[current];
+            output.insert(0, this.graph.getEdge(e));
+            current = this.graph.otherEndpoint(e, current);
+        }
+        return output;
+    }
+}
@@ -0,0 +1,318 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IList;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A doubly-linked IList where each node holds a small array of items instead of just one.
+ *
+ * Like DoubleLinkedList, adding or removing at either end takes O(1) time, and get, set,
+ * insert and delete walk in from whichever end is closer. The difference is that the walk
+ * skips a whole node at a time, and that iterating reads the items out of each node's
+ * array in order, so there's one node (and one pointer to chase) per 'nodeCapacity' items
+ * rather than per item.
+ *
+ * A node that fills up is split in half, and a node that drops below half full is merged
+ * with the node after it when they fit together, so nodes stay at least half full except
+ * at the ends of the list.
+ *
+ * @see datastructures.interfaces.IList for details on what each method must do.
+ */
+public class UnrolledLinkedList<T> implements IList<T> {
+    private static final int DEFAULT_NODE_CAPACITY = 64;
+
+    private final int nodeCapacity;
+    private Node<T> front;
+    private Node<T> back;
+    private int size;
+
+    public UnrolledLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list whose nodes hold up to 'nodeCapacity' items each.
+     *
+     * @throws IllegalArgumentException if nodeCapacity is less than 2
+     */
+    public UnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < 2) {
+            throw new IllegalArgumentException();
+        }
+        this.nodeCapacity = nodeCapacity;
+        this.front = null;
+        this.back = null;
+        this.size = 0;
+    }
+
+    @Override
+    public void add(T item) {
+        if (this.back == null || this.back.count == this.nodeCapacity) {
+            this.linkAfter(this.back, new Node<>(this.nodeCapacity));
+        }
+        this.back.items[this.back.count] = item;
+        this.back.count++;
+        this.size++;
+    }
+
+    @Override
+    public T remove() {
+        if (this.size == 0) {
+            throw new EmptyContainerException();
+        }
+        Node<T> node = this.back;
+        node.count--;
+        T output = node.get(node.count);
+        node.items[node.count] = null;
+        if (node.count == 0) {
+            this.unlink(node);
+        }
+        this.size--;
+        return output;
+    }
+
+    @Override
+    public T get(int index) {
+        this.checkIndex(index, this.size);
+        Cursor<T> cursor = this.locate(index);
+        return cursor.node.get(cursor.offset);
+    }
+
+    @Override
+    public void set(int index, T item) {
+        this.checkIndex(index, this.size);
+        Cursor<T> cursor = this.locate(index);
+        cursor.node.items[cursor.offset] = item;
+    }
+
+    @Override
+    public void insert(int index, T item) {
+        this.checkIndex(index, this.size + 1);
+        if (index == this.size) {
+            this.add(item);
+            return;
+        }
+        Cursor<T> cursor = this.locate(index);
+        Node<T> node = cursor.node;
+        int offset = cursor.offset;
+        if (node.count == this.nodeCapacity) {
+            if (offset == 0 && (node.prev == null || node.prev.count == this.nodeCapacity)) {
+                // Inserting in front of a full node: start a new node rather than splitting,
+                // so inserting repeatedly at the front fills each node completely.
+                Node<T> fresh = new Node<>(this.nodeCapacity);
+                this.linkAfter(node.prev, fresh);
+                node = fresh;
+            } else if (offset == 0) {
+                node = node.prev;
+                offset = node.count;
+            } else {
+                Node<T> second = this.split(node);
+                if (offset > node.count) {
+                    offset -= node.count;
+                    node = second;
+                }
+            }
+        }
+        System.arraycopy(node.items, offset, node.items, offset + 1, node.count - offset);
+        node.items[offset] = item;
+        node.count++;
+        this.size++;
+    }
+
+    @Override
+    public T delete(int index) {
+        this.checkIndex(index, this.size);
+        Cursor<T> cursor = this.locate(index);
+        Node<T> node = cursor.node;
+        int offset = cursor.offset;
+        T output = node.get(offset);
+        System.arraycopy(node.items, offset + 1, node.items, offset, node.count - offset - 1);
+        node.count--;
+        node.items[node.count] = null;
+        if (node.count == 0) {
+            this.unlink(node);
+        } else if (node.count < this.nodeCapacity / 2 && node.next != null
+                && node.count + node.next.count <= this.nodeCapacity) {
+            this.mergeWithNext(node);
+        }
+        this.size--;
+        return output;
+    }
+
+    @Override
+    public int indexOf(T item) {
+        int index = 0;
+        for (Node<T> node = this.front; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                if (Objects.equals(node.items[i], item)) {
+                    return index + i;
+                }
+            }
+            index += node.count;
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean contains(T other) {
+        return this.indexOf(other) != -1;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new UnrolledLinkedListIterator<>(this.front);
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Finds the node holding the item at the given index, walking in from whichever end
+     * of the list is closer.
+     */
+    private Cursor<T> locate(int index) {
+        if (index < this.size / 2) {
+            Node<T> node = this.front;
+            while (index >= node.count) {
+                index -= node.count;
+                node = node.next;
+            }
+            return new Cursor<>(node, index);
+        } else {
+            Node<T> node = this.back;
+            int remaining = this.size - index;
+            while (remaining > node.count) {
+                remaining -= node.count;
+                node = node.prev;
+            }
+            return new Cursor<>(node, node.count - remaining);
+        }
+    }
+
+    /**
+     * Moves the second half of the given full node into a new node right after it, and
+     * returns the new node.
+     */
+    private Node<T> split(Node<T> node) {
+        Node<T> second = new Node<>(this.nodeCapacity);
+        int keep = node.count / 2;
+        second.count = node.count - keep;
+        System.arraycopy(node.items, keep, second.items, 0, second.count);
+        for (int i = keep; i < node.count; i++) {
+            node.items[i] = null;
+        }
+        node.count = keep;
+        this.linkAfter(node, second);
+        return second;
+    }
+
+    /**
+     * Moves every item in the node after the given one onto its end, and unlinks that node.
+     */
+    private void mergeWithNext(Node<T> node) {
+        Node<T> next = node.next;
+        System.arraycopy(next.items, 0, node.items, node.count, next.count);
+        node.count += next.count;
+        this.unlink(next);
+    }
+
+    /**
+     * Links 'node' into the list right after 'prev', or at the front if 'prev' is null.
+     */
+    private void linkAfter(Node<T> prev, Node<T> node) {
+        Node<T> next = prev == null ? this.front : prev.next;
+        node.prev = prev;
+        node.next = next;
+        if (prev == null) {
+            this.front = node;
+        } else {
+            prev.next = node;
+        }
+        if (next == null) {
+            this.back = node;
+        } else {
+            next.prev = node;
+        }
+    }
+
+    private void unlink(Node<T> node) {
+        if (node.prev == null) {
+            this.front = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            this.back = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static class Node<E> {
+        public final Object[] items;
+        public int count;
+        public Node<E> prev;
+        public Node<E> next;
+
+        public Node(int capacity) {
+            this.items = new Object[capacity];
+            this.count = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E get(int offset) {
+            return (E) this.items[offset];
+        }
+    }
+
+    private static class Cursor<E> {
+        public final Node<E> node;
+        public final int offset;
+
+        public Cursor(Node<E> node, int offset) {
+            this.node = node;
+            this.offset = offset;
+        }
+    }
+
+    private static class UnrolledLinkedListIterator<T> implements Iterator<T> {
+        private Node<T> current;
+        private int offset;
+
+        public UnrolledLinkedListIterator(Node<T> current) {
+            this.current = current;
+            this.offset = 0;
+        }
+
+        public boolean hasNext() {
+            return this.current != null;
+        }
+
+        public T next() {
+            if (this.current == null) {
+                throw new NoSuchElementException();
+            }
+            T output = this.current.get(this.offset);
+            this.offset++;
+            if (this.offset == this.current.count) {
+                this.current = this.current.next;
+                this.offset = 0;
+            }
+            return output;
+        }
+    }
+}
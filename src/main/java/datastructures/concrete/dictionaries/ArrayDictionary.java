@@ -6,6 +6,7 @@ import misc.exceptions.NoSuchKeyException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.function.BiConsumer;
 
 /**
  * @see datastructures.interfaces.IDictionary
@@ -144,6 +145,14 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
         return new ArrayDictionaryIterator<>(this.pairs, size);
     }
 
+    @Override
+    public void forEachEntry(BiConsumer<? super K, ? super V> action) {
+        // Same order as the iterator: from the last pair back to the first.
+        for (int i = size - 1; i >= 0; i--) {
+            action.accept(pairs[i].key, pairs[i].value);
+        }
+    }
+
     private static class ArrayDictionaryIterator<K, V> implements Iterator<KVPair<K, V>> {
 
         private Pair<K, V>[] pairs;
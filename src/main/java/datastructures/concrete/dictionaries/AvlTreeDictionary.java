@@ -0,0 +1,351 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * A dictionary stored as an AVL tree, for chains in a ChainedHashDictionary that grow
+ * long. Looking up a key takes O(log n) time even when many keys share a hash code, as
+ * long as those keys are Comparable.
+ *
+ * Any keys can be stored, including null and keys of different classes. As in any
+ * dictionary, equals decides whether two keys are the same. The tree is ordered by the
+ * keys' hash codes first, then by compareTo between Comparable keys of the same class,
+ * and otherwise by identity. A search only trusts that order where it's strict; when two
+ * keys tie (including keys whose compareTo returns 0 but which aren't equal), it looks in
+ * both subtrees. So keys that can't be compared are found in time proportional to the
+ * number of keys they tie with.
+ *
+ * Iteration is in the order the tree is sorted in.
+ *
+ * @see IDictionary for more details on what each method should do
+ */
+class AvlTreeDictionary<K, V> implements IDictionary<K, V> {
+    // An AVL tree with n nodes is less than 1.45 * log2(n + 2) levels tall, so this is
+    // enough for any number of nodes an int can count.
+    private static final int MAX_HEIGHT = 48;
+
+    private Node<K, V> root;
+    private int size;
+
+    public AvlTreeDictionary() {
+        this.root = null;
+        this.size = 0;
+    }
+
+    @Override
+    public V get(K key) {
+        Node<K, V> node = this.find(key);
+        if (node == null) {
+            throw new NoSuchKeyException();
+        }
+        return node.value;
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        Node<K, V> node = this.find(key);
+        return node == null ? defaultValue : node.value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        Node<K, V> node = this.find(key);
+        if (node != null) {
+            node.value = value;
+        } else {
+            this.root = this.insert(this.root, new Node<>(hash(key), key, value));
+            this.size++;
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        Node<K, V> node = this.find(key);
+        if (node == null) {
+            throw new NoSuchKeyException();
+        }
+        this.root = this.delete(this.root, node);
+        this.size--;
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return this.find(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Iterator<KVPair<K, V>> iterator() {
+        return new AvlTreeIterator<>(this.root);
+    }
+
+    @Override
+    public void forEachEntry(BiConsumer<? super K, ? super V> action) {
+        forEachEntry(this.root, action);
+    }
+
+    private static <K, V> void forEachEntry(Node<K, V> node, BiConsumer<? super K, ? super V> action) {
+        if (node != null) {
+            forEachEntry(node.left, action);
+            action.accept(node.key, node.value);
+            forEachEntry(node.right, action);
+        }
+    }
+
+    private static int hash(Object key) {
+        return key == null ? 0 : key.hashCode();
+    }
+
+    private Node<K, V> find(Object key) {
+        return find(this.root, hash(key), key);
+    }
+
+    /**
+     * Returns the node in the subtree whose key equals the given one, or null if there's
+     * none.
+     */
+    private static <K, V> Node<K, V> find(Node<K, V> node, int hash, Object key) {
+        while (node != null) {
+            if (hash != node.hash) {
+                node = hash < node.hash ? node.left : node.right;
+            } else if (Objects.equals(key, node.key)) {
+                return node;
+            } else {
+                int cmp = compareComparables(key, node.key);
+                if (cmp != 0) {
+                    node = cmp < 0 ? node.left : node.right;
+                } else {
+                    // A tie says nothing about which side the key is on, so try both.
+                    Node<K, V> found = find(node.right, hash, key);
+                    if (found != null) {
+                        return found;
+                    }
+                    node = node.left;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds the new node, whose key isn't in the subtree yet, and returns the new subtree.
+     */
+    private Node<K, V> insert(Node<K, V> node, Node<K, V> added) {
+        if (node == null) {
+            return added;
+        }
+        if (order(added, node) < 0) {
+            node.left = this.insert(node.left, added);
+        } else {
+            node.right = this.insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    /**
+     * Removes the given node from the subtree if it's there and returns the new subtree.
+     */
+    private Node<K, V> delete(Node<K, V> node, Node<K, V> removed) {
+        if (node == null) {
+            return null;
+        }
+        if (node == removed) {
+            if (node.left == null) {
+                return node.right;
+            } else if (node.right == null) {
+                return node.left;
+            }
+            // Put the next node in order where this one was.
+            Node<K, V> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = this.delete(node.right, successor);
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        int cmp = order(removed, node);
+        if (cmp < 0) {
+            node.left = this.delete(node.left, removed);
+        } else if (cmp > 0) {
+            node.right = this.delete(node.right, removed);
+        } else {
+            // Two different keys can only tie here if their identity hash codes collide.
+            Node<K, V> left = node.left;
+            node.left = this.delete(left, removed);
+            if (node.left == left) {
+                node.right = this.delete(node.right, removed);
+            }
+        }
+        return rebalance(node);
+    }
+
+    /**
+     * Compares a and b with compareTo if they're Comparable and of the same class, and
+     * returns 0 otherwise. A class that's only Comparable to some other type throws
+     * ClassCastException when given one of its own, so that counts as a tie too.
+     */
+    @SuppressWarnings("unchecked")
+    private static int compareComparables(Object a, Object b) {
+        if (!(a instanceof Comparable) || b == null || a.getClass() != b.getClass()) {
+            return 0;
+        }
+        try {
+            return ((Comparable<Object>) a).compareTo(b);
+        } catch (ClassCastException ex) {
+            return 0;
+        }
+    }
+
+    /**
+     * Returns where the first node goes relative to the second in the tree's order, which
+     * sorts by hash code, then with compareTo where the keys allow it, then by identity.
+     * Only returns 0 if both keys are the same object or their identity hash codes collide.
+     *
+     * Keys of different classes are ordered by the identity of their classes before their
+     * own, so the keys of each class stay together and compareTo only ever has to agree
+     * with the order among keys of one class.
+     */
+    private static int order(Node<?, ?> a, Node<?, ?> b) {
+        int cmp = Integer.compare(a.hash, b.hash);
+        if (cmp == 0) {
+            cmp = compareComparables(a.key, b.key);
+        }
+        if (cmp == 0) {
+            cmp = compareClasses(a.key, b.key);
+        }
+        if (cmp == 0) {
+            cmp = Integer.compare(System.identityHashCode(a.key), System.identityHashCode(b.key));
+        }
+        return cmp;
+    }
+
+    private static int compareClasses(Object a, Object b) {
+        Class<?> classA = a == null ? null : a.getClass();
+        Class<?> classB = b == null ? null : b.getClass();
+        if (classA == classB) {
+            return 0;
+        }
+        int cmp = Integer.compare(System.identityHashCode(classA), System.identityHashCode(classB));
+        if (cmp == 0) {
+            // Two classes can share an identity hash code; their names still tell them
+            // apart, which keeps the order consistent.
+            cmp = String.valueOf(classA).compareTo(String.valueOf(classB));
+        }
+        return cmp;
+    }
+
+    private static int height(Node<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void updateHeight(Node<?, ?> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    /**
+     * Restores the AVL property at the given node, whose subtrees are both balanced and
+     * differ in height by at most 2, and returns the new root of its subtree.
+     */
+    private static <K, V> Node<K, V> rebalance(Node<K, V> node) {
+        updateHeight(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        } else if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static <K, V> Node<K, V> rotateRight(Node<K, V> node) {
+        Node<K, V> top = node.left;
+        node.left = top.right;
+        top.right = node;
+        updateHeight(node);
+        updateHeight(top);
+        return top;
+    }
+
+    private static <K, V> Node<K, V> rotateLeft(Node<K, V> node) {
+        Node<K, V> top = node.right;
+        node.right = top.left;
+        top.left = node;
+        updateHeight(node);
+        updateHeight(top);
+        return top;
+    }
+
+    private static class Node<K, V> {
+        public final int hash;
+        public final K key;
+        public V value;
+        public Node<K, V> left;
+        public Node<K, V> right;
+        public int height;
+
+        public Node(int hash, K key, V value) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.left = null;
+            this.right = null;
+            this.height = 1;
+        }
+    }
+
+    private static class AvlTreeIterator<K, V> implements Iterator<KVPair<K, V>> {
+        // The nodes still to visit whose left subtrees have been visited already, with
+        // the next node on top.
+        private final Node<K, V>[] stack;
+        private int depth;
+
+        @SuppressWarnings("unchecked")
+        public AvlTreeIterator(Node<K, V> root) {
+            this.stack = (Node<K, V>[]) new Node[MAX_HEIGHT];
+            this.depth = 0;
+            this.pushLeftPath(root);
+        }
+
+        private void pushLeftPath(Node<K, V> node) {
+            while (node != null) {
+                this.stack[this.depth] = node;
+                this.depth++;
+                node = node.left;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.depth > 0;
+        }
+
+        @Override
+        public KVPair<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.depth--;
+            Node<K, V> node = this.stack[this.depth];
+            this.pushLeftPath(node.right);
+            return new KVPair<>(node.key, node.value);
+        }
+    }
+}
@@ -1,33 +1,97 @@
 package datastructures.concrete.dictionaries;
 
 import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IHashMixer;
 import misc.exceptions.NoSuchKeyException;
 
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
 
 /**
+ * By default, put doubles the number of chains and moves every pair over as soon as
+ * the load factor passes lambda, so that one call takes time proportional to the size
+ * of the whole dictionary.
+ *
+ * In incremental mode, resizing instead keeps the old chains alongside the new ones and
+ * moves a few old chains over on each put and remove, so no single call does more than
+ * a bounded amount of extra work. Until every old chain has moved, a key whose old
+ * chain hasn't moved yet is still stored (and looked up) in the old chains.
+ *
+ * There's always a power-of-two number of chains, and a key's chain is picked from the
+ * low bits of its hash code after an IHashMixer has scrambled it (MurmurHash3's by
+ * default). Chains start off as ArrayDictionaries; one that grows past
+ * TREEIFY_THRESHOLD pairs is turned into an AvlTreeDictionary, so keys that land in the
+ * same chain can be found in O(log n) time, even ones that share a hash code as long as
+ * they're Comparable.
+ *
  * @see IDictionary and the assignment page for more details on what each method should do
  */
 public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
+    // How many old chains each put or remove moves over while an incremental resize is
+    // in progress. Resizing again takes at least lambda times as many puts as there are
+    // old chains, so with any lambda of at least 1 the resize finishes before then.
+    private static final int CHAINS_MOVED_PER_OPERATION = 1;
+
+    // Kept small, since graphs and mazes create many small dictionaries and sets;
+    // bigger ones grow by resizing.
+    private static final int INITIAL_CHAINS = 16;
+
+    // A chain with more pairs than this becomes a tree. A tree that shrinks below
+    // UNTREEIFY_THRESHOLD turns back into an ArrayDictionary; the gap keeps a chain from
+    // switching back and forth on every put and remove.
+    private static final int TREEIFY_THRESHOLD = 8;
+    private static final int UNTREEIFY_THRESHOLD = 6;
+
     private final double lambda;
+    private final boolean incremental;
+    private final IHashMixer mixer;
     private int size;
     // You MUST use this field to store the contents of your dictionary.
     // You may not change or rename this field: we will be inspecting
     // it using our private tests.
     private IDictionary<K, V>[] chains;
 
-    // You're encouraged to add extra fields (and helper methods) though!
+    // While an incremental resize is in progress, the chains being moved out of, and the
+    // index of the next one to move. Chains before that index have been moved and set to
+    // null. 'oldChains' is null when no resize is in progress.
+    private IDictionary<K, V>[] oldChains;
+    private int nextToMove;
 
     public ChainedHashDictionary() {
         this(3.5);
     }
 
     public ChainedHashDictionary(double lambda) {
+        this(lambda, false);
+    }
+
+    /**
+     * Creates a dictionary that resizes once its load factor passes 'lambda', either all
+     * at once or, if 'incremental' is true, a few chains at a time.
+     */
+    public ChainedHashDictionary(double lambda, boolean incremental) {
+        this(lambda, incremental, HashMixers.MURMUR3);
+    }
+
+    /**
+     * Like ChainedHashDictionary(lambda, incremental), but scrambles hash codes with the
+     * given mixer before picking a chain.
+     *
+     * @throws IllegalArgumentException if mixer is null
+     */
+    public ChainedHashDictionary(double lambda, boolean incremental, IHashMixer mixer) {
+        if (mixer == null) {
+            throw new IllegalArgumentException();
+        }
         this.lambda = lambda;
+        this.incremental = incremental;
+        this.mixer = mixer;
         this.size = 0;
-        this.chains = makeArrayOfChains(10000);
+        this.chains = makeArrayOfChains(INITIAL_CHAINS);
+        this.oldChains = null;
+        this.nextToMove = 0;
     }
 
     /**
@@ -47,11 +111,11 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
 
     @Override
     public V get(K key) {
-        int index = index(key, chains.length);
-        if (chains[index] == null) {
+        IDictionary<K, V> chain = chainFor(key);
+        if (chain == null) {
             throw   new NoSuchKeyException();
         }
-        return chains[index].get(key);
+        return chain.get(key);
     }
 
     @Override
@@ -59,47 +123,43 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
 
         //resizing if greater than lambda
         if (needResize()){
-            int prevSize = chains.length;
-            IDictionary<K, V>[] newChains = makeArrayOfChains(prevSize*2);
-
-            for (KVPair<K, V> pair : this) {
-                int newIndex = index(pair.getKey(), newChains.length);
-                if (newChains[newIndex] == null) {
-                    newChains[newIndex] = new ArrayDictionary<>();
-                }
-                newChains[newIndex].put(pair.getKey(), pair.getValue());
+            if (incremental) {
+                startIncrementalResize();
+            } else {
+                resize();
             }
-            chains = newChains;
         }
+        moveSomeChains();
 
-        int index = index(key, chains.length);
-        if (chains[index] == null){
-            chains[index] = new ArrayDictionary<>();
-        }
-        else if (chains[index].containsKey(key)){
-            size--;
+        if (putInto(tableFor(key), key, value)) {
+            size++;
         }
-        chains[index].put(key, value);
-        size++;
     }
 
     @Override
     public V remove(K key) {
-        int index = index(key, chains.length);
-        if (chains[index] == null) {
+        moveSomeChains();
+        IDictionary<K, V>[] table = tableFor(key);
+        int index = index(key, table.length);
+        IDictionary<K, V> chain = table[index];
+        if (chain == null) {
             throw new NoSuchKeyException();
         }
+        V output = chain.remove(key);
         size--;
-        return chains[index].remove(key);
+        if (chain instanceof AvlTreeDictionary && chain.size() < UNTREEIFY_THRESHOLD) {
+            table[index] = untreeify(chain);
+        }
+        return output;
     }
 
     @Override
     public boolean containsKey(K key) {
-        int index = index(key, chains.length);
-        if (chains[index] == null) {
+        IDictionary<K, V> chain = chainFor(key);
+        if (chain == null) {
             return false;
         }
-        return chains[index].containsKey(key);
+        return chain.containsKey(key);
     }
 
     @Override
@@ -110,24 +170,142 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
     @Override
     public Iterator<KVPair<K, V>> iterator() {
         // Note: you do not need to change this method
-        return new ChainedIterator<>(this.chains, this.size);
+        return new ChainedIterator<>(this.oldChains, this.chains, this.size);
+    }
+
+    @Override
+    public void forEachEntry(BiConsumer<? super K, ? super V> action) {
+        // Same order as the iterator: whatever is left in the old chains first.
+        if (oldChains != null) {
+            forEachEntry(oldChains, action);
+        }
+        forEachEntry(chains, action);
+    }
+
+    private static <K, V> void forEachEntry(IDictionary<K, V>[] table, BiConsumer<? super K, ? super V> action) {
+        for (IDictionary<K, V> chain : table) {
+            if (chain != null) {
+                chain.forEachEntry(action);
+            }
+        }
     }
 
     //recommended section
     @Override
     public V getOrDefault(K key, V defaultValue){
-        int index = index(key, chains.length);
-        if (chains[index] == null){
+        IDictionary<K, V> chain = chainFor(key);
+        if (chain == null){
             return defaultValue;
         }
-        return chains[index].getOrDefault(key, defaultValue);
+        return chain.getOrDefault(key, defaultValue);
     }
 
-    private int index(K key, int chainsLen) {
-        if (key == null) {
-            return 0;
+    /**
+     * Returns the chain the given key would be in, or null if there's no such chain yet.
+     */
+    private IDictionary<K, V> chainFor(K key) {
+        IDictionary<K, V>[] table = tableFor(key);
+        return table[index(key, table.length)];
+    }
+
+    /**
+     * Puts the pair into its chain in the given table, creating the chain or turning it
+     * into a tree as needed. Returns true if the key wasn't there before.
+     */
+    private boolean putInto(IDictionary<K, V>[] table, K key, V value) {
+        int index = index(key, table.length);
+        IDictionary<K, V> chain = table[index];
+        if (chain == null) {
+            chain = new ArrayDictionary<>();
+            table[index] = chain;
+        }
+        int oldSize = chain.size();
+        chain.put(key, value);
+        if (chain.size() > TREEIFY_THRESHOLD && !(chain instanceof AvlTreeDictionary)) {
+            table[index] = treeify(chain);
         }
-        return Math.abs(key.hashCode()) % chainsLen;
+        return chain.size() > oldSize;
+    }
+
+    private static <K, V> IDictionary<K, V> treeify(IDictionary<K, V> chain) {
+        IDictionary<K, V> tree = new AvlTreeDictionary<>();
+        chain.forEachEntry(tree::put);
+        return tree;
+    }
+
+    private static <K, V> IDictionary<K, V> untreeify(IDictionary<K, V> tree) {
+        IDictionary<K, V> chain = new ArrayDictionary<>();
+        tree.forEachEntry(chain::put);
+        return chain;
+    }
+
+    /**
+     * Returns whichever of 'chains' and 'oldChains' holds the given key, if it's present.
+     */
+    private IDictionary<K, V>[] tableFor(K key) {
+        if (oldChains != null && index(key, oldChains.length) >= nextToMove) {
+            return oldChains;
+        }
+        return chains;
+    }
+
+    /**
+     * Doubles the number of chains and moves every pair over right away.
+     */
+    private void resize() {
+        // Finish any incremental resize first, so every pair is in 'chains'.
+        while (oldChains != null) {
+            moveSomeChains();
+        }
+        IDictionary<K, V>[] newChains = makeArrayOfChains(chains.length * 2);
+        // forEachEntry rather than a for-each loop, so moving every pair over
+        // doesn't create a KVPair for each one.
+        this.forEachEntry((oldKey, oldValue) -> putInto(newChains, oldKey, oldValue));
+        chains = newChains;
+    }
+
+    /**
+     * Doubles the number of chains, leaving the pairs in the old chains to be moved over
+     * a few at a time by moveSomeChains.
+     */
+    private void startIncrementalResize() {
+        if (oldChains != null) {
+            // Only reachable with a very small lambda: finish the last resize right away.
+            resize();
+            return;
+        }
+        oldChains = chains;
+        nextToMove = 0;
+        chains = makeArrayOfChains(oldChains.length * 2);
+    }
+
+    /**
+     * If an incremental resize is in progress, moves the pairs in the next few old chains
+     * over to 'chains'.
+     */
+    private void moveSomeChains() {
+        if (oldChains == null) {
+            return;
+        }
+        int stop = Math.min(oldChains.length, nextToMove + CHAINS_MOVED_PER_OPERATION);
+        for (; nextToMove < stop; nextToMove++) {
+            IDictionary<K, V> chain = oldChains[nextToMove];
+            if (chain == null) {
+                continue;
+            }
+            oldChains[nextToMove] = null;
+            chain.forEachEntry((oldKey, oldValue) -> putInto(chains, oldKey, oldValue));
+        }
+        if (nextToMove == oldChains.length) {
+            oldChains = null;
+            nextToMove = 0;
+        }
+    }
+
+    private int index(K key, int chainsLen) {
+        // chainsLen is a power of two, so this keeps the low bits of the mixed hash.
+        int hashCode = key == null ? 0 : key.hashCode();
+        return mixer.mix(hashCode) & (chainsLen - 1);
     }
 
     private boolean needResize(){
@@ -177,22 +355,20 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
      *    instance inside your 'chains' array, however.
      */
     private static class ChainedIterator<K, V> implements Iterator<KVPair<K, V>> {
+        // The chains left to walk through, and the ones to walk through after them
+        // (or null). During an incremental resize, that's the old chains then the new.
         private IDictionary<K, V>[] chains;
+        private IDictionary<K, V>[] nextChains;
         private Iterator<KVPair<K, V>> itr;
         private int index;
         private int size;
 
-        public ChainedIterator(IDictionary<K, V>[] chains, int size) {
-            this.chains = chains;
-            this.index = 0;
+        public ChainedIterator(IDictionary<K, V>[] oldChains, IDictionary<K, V>[] chains, int size) {
+            this.chains = oldChains == null ? chains : oldChains;
+            this.nextChains = oldChains == null ? null : chains;
+            this.index = -1;
             this.size = size;
-            if (size != 0) {
-                while (index < chains.length && chains[index] == null) {
-                    index++;
-                }
-
-                itr = chains[index].iterator();
-            }
+            this.itr = null;
         }
 
         @Override
@@ -200,12 +376,17 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
             if (size == 0) {
                 return false;
             }
-            if (!itr.hasNext()) {
+            // There are pairs left, so there must be a non-empty chain ahead.
+            while (itr == null || !itr.hasNext()) {
                 index++;
-                while (chains[index] == null || chains[index].isEmpty()) {
-                    index++;
+                if (index == chains.length) {
+                    chains = nextChains;
+                    nextChains = null;
+                    index = 0;
+                }
+                if (chains[index] != null) {
+                    itr = chains[index].iterator();
                 }
-                itr = chains[index].iterator();
             }
             return true;
         }
@@ -0,0 +1,43 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.interfaces.IHashMixer;
+
+/**
+ * Ready-made IHashMixers, from cheapest to most thorough.
+ */
+public final class HashMixers {
+    /**
+     * Uses hash codes as they are. Only safe when the low bits of the keys' hash codes
+     * are already well spread out.
+     */
+    public static final IHashMixer NONE = hashCode -> hashCode;
+
+    /**
+     * Fibonacci hashing: multiplies by 2^32 divided by the golden ratio, then folds the
+     * high bits into the low ones. Cheap, and spreads out sequential hash codes well,
+     * but keys that differ only in their top bits can still collide.
+     */
+    public static final IHashMixer FIBONACCI = hashCode -> {
+        int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    };
+
+    /**
+     * The final mixing step of MurmurHash3. Every bit of the hash code affects every bit
+     * of the result, so structured hash codes (like those of Points on a grid) spread out
+     * evenly whichever bits the table ends up using.
+     */
+    public static final IHashMixer MURMUR3 = hashCode -> {
+        int h = hashCode;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    };
+
+    private HashMixers() {
+        // Not meant to be instantiated.
+    }
+}
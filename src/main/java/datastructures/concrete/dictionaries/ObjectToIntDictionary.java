@@ -0,0 +1,121 @@
+package datastructures.concrete.dictionaries;
+
+import misc.exceptions.NoSuchKeyException;
+
+/**
+ * A hash dictionary mapping arbitrary keys to unboxed int values.
+ *
+ * This mirrors the IDictionary operations, but takes and returns plain ints so
+ * that updating a mapping never allocates. Keys, values and cached hashes are
+ * stored in flat parallel arrays and probed using Robin Hood linear probing,
+ * sharing RobinHoodTable with OpenAddressingDictionary.
+ */
+public class ObjectToIntDictionary<K> extends RobinHoodTable {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final double LOAD_FACTOR = 0.75;
+
+    private int[] values;
+
+    public ObjectToIntDictionary() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a dictionary that can hold 'initialCapacity' pairs before it needs to resize.
+     *
+     * @throws IllegalArgumentException  if initialCapacity is negative
+     */
+    public ObjectToIntDictionary(int initialCapacity) {
+        super(initialCapacity, LOAD_FACTOR);
+    }
+
+    @Override
+    void allocateValues(int tableSize) {
+        this.values = new int[tableSize];
+    }
+
+    @Override
+    Object values() {
+        return this.values;
+    }
+
+    @Override
+    void copyValue(Object fromValues, int from, int to) {
+        this.values[to] = ((int[]) fromValues)[from];
+    }
+
+    @Override
+    void clearValue(int slot) {
+        // An int left behind in an empty slot doesn't keep anything alive.
+    }
+
+    /**
+     * Returns the value corresponding to the given key.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    public int get(K key) {
+        int slot = this.findSlot(key);
+        if (slot < 0) {
+            throw new NoSuchKeyException();
+        }
+        return this.values[slot];
+    }
+
+    /**
+     * Returns the value corresponding to the given key, or the default value
+     * if the key is not present.
+     */
+    public int getOrDefault(K key, int defaultValue) {
+        int slot = this.findSlot(key);
+        return slot < 0 ? defaultValue : this.values[slot];
+    }
+
+    /**
+     * Adds the key-value pair to the dictionary, replacing the old value if the
+     * key is already present.
+     */
+    public void put(K key, int value) {
+        int slot = this.findSlot(key);
+        if (slot < 0) {
+            slot = this.addSlot(key);
+        }
+        this.values[slot] = value;
+    }
+
+    /**
+     * Removes the pair corresponding to the given key and returns its value.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    public int remove(K key) {
+        int slot = this.findSlot(key);
+        if (slot < 0) {
+            throw new NoSuchKeyException();
+        }
+        int output = this.values[slot];
+        this.removeSlot(slot);
+        return output;
+    }
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     */
+    public boolean containsKey(K key) {
+        return this.findSlot(key) >= 0;
+    }
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary.
+     */
+    public int size() {
+        return super.size();
+    }
+
+    /**
+     * Returns 'true' if this dictionary is empty and 'false' otherwise.
+     */
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+}
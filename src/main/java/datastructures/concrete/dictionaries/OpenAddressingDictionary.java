@@ -0,0 +1,159 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * A hash dictionary that stores its keys and values directly inside flat parallel
+ * arrays instead of chaining them into per-bucket dictionaries.
+ *
+ * Collisions are resolved using linear probing with Robin Hood insertion, as described
+ * in RobinHoodTable.
+ *
+ * @see IDictionary for more details on what each method should do
+ */
+public class OpenAddressingDictionary<K, V> extends RobinHoodTable implements IDictionary<K, V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final double DEFAULT_LOAD_FACTOR = 0.75;
+
+    private Object[] values;
+
+    public OpenAddressingDictionary() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a dictionary that can hold 'initialCapacity' pairs before it needs to resize.
+     *
+     * @throws IllegalArgumentException  if initialCapacity is negative
+     */
+    public OpenAddressingDictionary(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @throws IllegalArgumentException  if initialCapacity is negative
+     * @throws IllegalArgumentException  if loadFactor is not strictly between 0 and 1
+     */
+    public OpenAddressingDictionary(int initialCapacity, double loadFactor) {
+        super(initialCapacity, loadFactor);
+    }
+
+    @Override
+    void allocateValues(int tableSize) {
+        this.values = new Object[tableSize];
+    }
+
+    @Override
+    Object values() {
+        return this.values;
+    }
+
+    @Override
+    void copyValue(Object fromValues, int from, int to) {
+        this.values[to] = ((Object[]) fromValues)[from];
+    }
+
+    @Override
+    void clearValue(int slot) {
+        this.values[slot] = null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        int slot = this.findSlot(key);
+        if (slot < 0) {
+            throw new NoSuchKeyException();
+        }
+        return (V) this.values[slot];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(K key, V defaultValue) {
+        int slot = this.findSlot(key);
+        return slot < 0 ? defaultValue : (V) this.values[slot];
+    }
+
+    @Override
+    public void put(K key, V value) {
+        int slot = this.findSlot(key);
+        if (slot < 0) {
+            slot = this.addSlot(key);
+        }
+        this.values[slot] = value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(K key) {
+        int slot = this.findSlot(key);
+        if (slot < 0) {
+            throw new NoSuchKeyException();
+        }
+        V output = (V) this.values[slot];
+        this.removeSlot(slot);
+        return output;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return this.findSlot(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return super.size();
+    }
+
+    @Override
+    public Iterator<KVPair<K, V>> iterator() {
+        return new OpenAddressingIterator<>(this.keys, this.values);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachEntry(BiConsumer<? super K, ? super V> action) {
+        for (int slot = 0; slot < this.keys.length; slot++) {
+            if (this.keys[slot] != null) {
+                action.accept(unmaskNull(this.keys[slot]), (V) this.values[slot]);
+            }
+        }
+    }
+
+    private static class OpenAddressingIterator<K, V> implements Iterator<KVPair<K, V>> {
+        private Object[] keys;
+        private Object[] values;
+        private int slot;
+
+        public OpenAddressingIterator(Object[] keys, Object[] values) {
+            this.keys = keys;
+            this.values = values;
+            this.slot = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.slot < this.keys.length && this.keys[this.slot] == null) {
+                this.slot++;
+            }
+            return this.slot < this.keys.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public KVPair<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            KVPair<K, V> output = new KVPair<>(unmaskNull(this.keys[this.slot]), (V) this.values[this.slot]);
+            this.slot++;
+            return output;
+        }
+    }
+}
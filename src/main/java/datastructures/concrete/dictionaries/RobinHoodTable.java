@@ -0,0 +1,198 @@
+package datastructures.concrete.dictionaries;
+
+import java.util.Objects;
+
+/**
+ * The slot bookkeeping shared by the open-addressing dictionaries: keys and their cached
+ * hashes stored in flat parallel arrays, probed using linear probing with Robin Hood
+ * insertion.
+ *
+ * A new key takes the first slot along its probe sequence whose resident sits closer to
+ * its own home slot, and the rest of that cluster shifts forward by one. This keeps probe
+ * sequences short and lets lookups for missing keys stop early. Removal uses
+ * backward-shift deletion, so the table never contains tombstones.
+ *
+ * Subclasses keep the values in an array of whatever type they like, in the same slots
+ * as the keys, and move them around when asked to.
+ */
+abstract class RobinHoodTable {
+    // Stands in for a null key, since an empty slot is represented by a null entry in 'keys'.
+    private static final Object NULL_KEY = new Object();
+
+    private final double loadFactor;
+    private int mask;
+    private int threshold;
+    private int size;
+
+    // The slot's key (with null replaced by NULL_KEY), or null if the slot is empty.
+    Object[] keys;
+    int[] hashes;
+
+    /**
+     * Creates a table that can hold 'initialCapacity' keys before it needs to resize.
+     *
+     * @throws IllegalArgumentException  if initialCapacity is negative
+     * @throws IllegalArgumentException  if loadFactor is not strictly between 0 and 1
+     */
+    RobinHoodTable(int initialCapacity, double loadFactor) {
+        if (initialCapacity < 0 || !(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException();
+        }
+        this.loadFactor = loadFactor;
+        this.size = 0;
+        this.allocate(tableSizeFor((int) Math.ceil(initialCapacity / loadFactor)));
+    }
+
+    /**
+     * Replaces the values with an empty array with the given number of slots.
+     */
+    abstract void allocateValues(int tableSize);
+
+    /**
+     * Returns the array holding the values.
+     */
+    abstract Object values();
+
+    /**
+     * Copies the value in slot 'from' of the given array, which was returned by values(),
+     * into slot 'to' of the current values.
+     */
+    abstract void copyValue(Object fromValues, int from, int to);
+
+    /**
+     * Forgets the value in the given slot, which is now empty.
+     */
+    abstract void clearValue(int slot);
+
+    private static int tableSizeFor(int slots) {
+        int tableSize = 2;
+        while (tableSize < slots && tableSize < (1 << 30)) {
+            tableSize <<= 1;
+        }
+        return tableSize;
+    }
+
+    private void allocate(int tableSize) {
+        this.keys = new Object[tableSize];
+        this.hashes = new int[tableSize];
+        this.allocateValues(tableSize);
+        this.mask = tableSize - 1;
+        this.threshold = Math.min((int) (tableSize * this.loadFactor), tableSize - 1);
+    }
+
+    private static int hash(Object key) {
+        // Fibonacci hashing spreads clustered hash codes (e.g. sequential integers)
+        // across the whole table; the final shift folds the high bits into the low
+        // bits we actually index with.
+        int h = (key == null ? 0 : key.hashCode()) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K> K unmaskNull(Object key) {
+        return key == NULL_KEY ? null : (K) key;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns how far the key stored at the given slot is from its home slot.
+     */
+    private int probeDistance(int slot) {
+        return (slot - (this.hashes[slot] & this.mask)) & this.mask;
+    }
+
+    /**
+     * Returns the slot containing the given key, or -1 if the key is not present.
+     */
+    int findSlot(Object key) {
+        Object masked = maskNull(key);
+        int h = hash(key);
+        int slot = h & this.mask;
+        for (int distance = 0; this.keys[slot] != null; distance++) {
+            if (this.probeDistance(slot) < distance) {
+                // Robin Hood invariant: the key would have displaced this one.
+                return -1;
+            }
+            if (this.hashes[slot] == h && Objects.equals(this.keys[slot], masked)) {
+                return slot;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a key known to be absent, resizing first if needed, and returns the slot its
+     * value should go in.
+     */
+    int addSlot(Object key) {
+        if (this.size >= this.threshold) {
+            this.resize(this.keys.length * 2);
+        }
+        this.size++;
+        return this.insert(maskNull(key), hash(key));
+    }
+
+    private int insert(Object key, int h) {
+        int slot = h & this.mask;
+        for (int distance = 0; this.keys[slot] != null && this.probeDistance(slot) >= distance; distance++) {
+            slot = (slot + 1) & this.mask;
+        }
+
+        // Shift the rest of the cluster forward by one to make room.
+        int end = slot;
+        while (this.keys[end] != null) {
+            end = (end + 1) & this.mask;
+        }
+        Object values = this.values();
+        while (end != slot) {
+            int previous = (end - 1) & this.mask;
+            this.keys[end] = this.keys[previous];
+            this.hashes[end] = this.hashes[previous];
+            this.copyValue(values, previous, end);
+            end = previous;
+        }
+        this.keys[slot] = key;
+        this.hashes[slot] = h;
+        return slot;
+    }
+
+    private void resize(int newTableSize) {
+        Object[] oldKeys = this.keys;
+        int[] oldHashes = this.hashes;
+        Object oldValues = this.values();
+        this.allocate(newTableSize);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                this.copyValue(oldValues, i, this.insert(oldKeys[i], oldHashes[i]));
+            }
+        }
+    }
+
+    /**
+     * Empties the given slot, which must hold a key.
+     */
+    void removeSlot(int slot) {
+        // Shift every following key in the cluster back by one, until we reach an
+        // empty slot or a key that is already sitting in its home slot.
+        Object values = this.values();
+        int next = (slot + 1) & this.mask;
+        while (this.keys[next] != null && this.probeDistance(next) > 0) {
+            this.keys[slot] = this.keys[next];
+            this.hashes[slot] = this.hashes[next];
+            this.copyValue(values, next, slot);
+            slot = next;
+            next = (next + 1) & this.mask;
+        }
+        this.keys[slot] = null;
+        this.clearValue(slot);
+        this.size--;
+    }
+}
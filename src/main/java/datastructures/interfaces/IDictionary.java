@@ -4,6 +4,7 @@ import datastructures.concrete.dictionaries.KVPair;
 import misc.exceptions.NoSuchKeyException;
 
 import java.util.Iterator;
+import java.util.function.BiConsumer;
 
 /**
  * Represents a data structure that contains a bunch of key-value mappings. Each key must be unique.
@@ -68,4 +69,17 @@ public interface IDictionary<K, V> extends Iterable<KVPair<K, V>> {
      * contained within this dict.
      */
     public Iterator<KVPair<K, V>> iterator();
+
+    /**
+     * Calls 'action' on every key and its value, in the same order iterator() yields them.
+     *
+     * Unlike iterating over the dictionary, this doesn't need to create a KVPair for every
+     * entry. The interface provides a default implementation built on iterator(), but you
+     * may optionally override it with one that reads the entries directly.
+     */
+    public default void forEachEntry(BiConsumer<? super K, ? super V> action) {
+        for (KVPair<K, V> pair : this) {
+            action.accept(pair.getKey(), pair.getValue());
+        }
+    }
 }
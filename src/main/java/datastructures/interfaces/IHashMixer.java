@@ -0,0 +1,17 @@
+package datastructures.interfaces;
+
+/**
+ * Scrambles a key's hash code before a hash table uses it to pick a bucket.
+ *
+ * A table whose size is a power of two picks buckets using only the low bits of the
+ * mixed hash, so a good mixer makes every bit of the hash code affect those low bits.
+ * Otherwise, keys whose hash codes differ only in their high bits (or that are all
+ * multiples of some power of two) pile up in a few buckets.
+ */
+public interface IHashMixer {
+    /**
+     * Returns the mixed version of the given hash code. Must always return the same
+     * result for the same hash code.
+     */
+    public int mix(int hashCode);
+}
@@ -0,0 +1,17 @@
+package datastructures.interfaces;
+
+/**
+ * Estimates the remaining distance between two vertices, to guide a
+ * shortest path search such as A*.
+ *
+ * For the search to return a shortest path, the estimate must be *admissible*
+ * (it never overestimates the real distance) and *consistent* (for every edge
+ * (u, v), estimate(u, goal) <= weight(u, v) + estimate(v, goal)). A heuristic
+ * that always returns 0 satisfies both, and turns A* into plain Dijkstra.
+ */
+public interface IHeuristic<V> {
+    /**
+     * Returns a lower bound on the length of the shortest path from 'vertex' to 'goal'.
+     */
+    public double estimate(V vertex, V goal);
+}
@@ -0,0 +1,18 @@
+package mazes.entities;
+
+import datastructures.interfaces.IHeuristic;
+
+/**
+ * Estimates the distance between two rooms as the straight-line distance between
+ * their centers.
+ *
+ * A wall's default distance is the same straight-line distance, so this estimate
+ * never overestimates a path made of such walls. If wall distances have been
+ * changed via Wall.setDistance, this may no longer hold.
+ */
+public class EuclideanHeuristic implements IHeuristic<Room> {
+    @Override
+    public double estimate(Room vertex, Room goal) {
+        return vertex.getCenter().distance(goal.getCenter());
+    }
+}
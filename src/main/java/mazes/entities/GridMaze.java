@@ -0,0 +1,289 @@
+package mazes.entities;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.interfaces.ISet;
+
+import java.awt.Point;
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A grid-like base maze that works out its rooms and walls from their row and column
+ * whenever they're asked for, rather than storing them.
+ *
+ * This means a GridMaze takes up the same small amount of memory however many rooms
+ * it has, so it can describe grids far larger than a Maze could hold. Code that works
+ * through the grid a row at a time, like EllerMazeCarver, can then carve them without
+ * ever holding more than a row or two of rooms.
+ *
+ * Every call creates new Room and Wall objects. Rooms are equal whenever their centers
+ * are, so that doesn't matter for them, but walls are compared by reference: asking for
+ * the same wall twice gives two walls that aren't equal.
+ */
+public class GridMaze {
+    private final Rectangle boundingBox;
+    private final int numRows;
+    private final int numColumns;
+    private final double xDelta;
+    private final double yDelta;
+
+    /**
+     * Creates a grid of numRows by numColumns rectangular rooms, filling the given box.
+     *
+     * @throws IllegalArgumentException if numRows or numColumns is not positive
+     */
+    public GridMaze(Rectangle boundingBox, int numRows, int numColumns) {
+        if (numRows <= 0 || numColumns <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.boundingBox = new Rectangle(boundingBox);
+        this.numRows = numRows;
+        this.numColumns = numColumns;
+        this.xDelta = 1.0 * boundingBox.width / numColumns;
+        this.yDelta = 1.0 * boundingBox.height / numRows;
+    }
+
+    public int getNumRows() {
+        return this.numRows;
+    }
+
+    public int getNumColumns() {
+        return this.numColumns;
+    }
+
+    /**
+     * Returns the total number of rooms, which may not fit in an int.
+     */
+    public long getNumRooms() {
+        return (long) this.numRows * this.numColumns;
+    }
+
+    /**
+     * Returns the room in the given row and column.
+     *
+     * @throws IndexOutOfBoundsException if there's no such room
+     */
+    public Room getRoom(int row, int column) {
+        this.checkCell(row, column);
+        int xMin = this.x(column);
+        int xMax = this.x(column + 1);
+        int yMin = this.y(row);
+        int yMax = this.y(row + 1);
+        Point center = new Point(round((xMin + xMax) / 2.0), round((yMin + yMax) / 2.0));
+        Polygon polygon = new Polygon(
+                new int[]{xMin, xMax, xMax, xMin},
+                new int[]{yMin, yMin, yMax, yMax},
+                4);
+        return new Room(center, polygon);
+    }
+
+    /**
+     * Returns the room containing the given point, or null if the point is outside
+     * the grid. Like Maze.getRoom, but takes constant time.
+     */
+    public Room getRoom(Point point) {
+        int column = (int) Math.floor((point.x - this.boundingBox.x) / this.xDelta);
+        int row = (int) Math.floor((point.y - this.boundingBox.y) / this.yDelta);
+        // Room edges are rounded to whole pixels, so the division can be off by one.
+        column = Math.max(0, Math.min(this.numColumns - 1, column));
+        row = Math.max(0, Math.min(this.numRows - 1, row));
+        while (column > 0 && point.x < this.x(column)) {
+            column--;
+        }
+        while (column < this.numColumns - 1 && point.x >= this.x(column + 1)) {
+            column++;
+        }
+        while (row > 0 && point.y < this.y(row)) {
+            row--;
+        }
+        while (row < this.numRows - 1 && point.y >= this.y(row + 1)) {
+            row++;
+        }
+        Room room = this.getRoom(row, column);
+        return room.contains(point) ? room : null;
+    }
+
+    /**
+     * Returns the wall between the given room and the room to its left.
+     *
+     * @throws IndexOutOfBoundsException if there's no such room, or it's in the first column
+     */
+    public Wall getWallToTheLeft(int row, int column) {
+        this.checkCell(row, column - 1);
+        return this.wallToTheLeft(row, column, this.getRoom(row, column), this.getRoom(row, column - 1));
+    }
+
+    /**
+     * Returns the wall between the given room and the room above it.
+     *
+     * @throws IndexOutOfBoundsException if there's no such room, or it's in the first row
+     */
+    public Wall getWallAbove(int row, int column) {
+        this.checkCell(row - 1, column);
+        return this.wallAbove(row, column, this.getRoom(row, column), this.getRoom(row - 1, column));
+    }
+
+    /**
+     * Returns every room, a row at a time.
+     */
+    public Iterable<Room> rooms() {
+        return () -> new Iterator<Room>() {
+            private int row = 0;
+            private int column = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.row < GridMaze.this.numRows;
+            }
+
+            @Override
+            public Room next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Room room = GridMaze.this.getRoom(this.row, this.column);
+                this.column++;
+                if (this.column == GridMaze.this.numColumns) {
+                    this.column = 0;
+                    this.row++;
+                }
+                return room;
+            }
+        };
+    }
+
+    /**
+     * Returns every wall, a row at a time: for each room, the wall to its left (if
+     * any), then the wall above it (if any).
+     *
+     * Walls share their Room objects with the walls next to them, and the iterator
+     * only ever holds on to two rows of rooms.
+     */
+    public Iterable<Wall> walls() {
+        return () -> new WallIterator();
+    }
+
+    /**
+     * Builds an ordinary Maze holding every room and wall in this grid, with no
+     * untouchable walls.
+     */
+    public Maze toMaze() {
+        ISet<Room> rooms = new ChainedHashSet<>();
+        ISet<Wall> walls = new ChainedHashSet<>();
+        for (Wall wall : this.walls()) {
+            walls.add(wall);
+            // Take the rooms from the walls, so there's only one Room object per room.
+            rooms.add(wall.getRoom1());
+            rooms.add(wall.getRoom2());
+        }
+        if (rooms.isEmpty()) {
+            rooms.add(this.getRoom(0, 0));
+        }
+        return new Maze(rooms, walls, new ChainedHashSet<>());
+    }
+
+    private Wall wallToTheLeft(int row, int column, Room room, Room left) {
+        int x = this.x(column);
+        LineSegment line = new LineSegment(new Point(x, this.y(row)), new Point(x, this.y(row + 1)));
+        return new Wall(room, left, line);
+    }
+
+    private Wall wallAbove(int row, int column, Room room, Room above) {
+        int y = this.y(row);
+        LineSegment line = new LineSegment(new Point(this.x(column), y), new Point(this.x(column + 1), y));
+        return new Wall(room, above, line);
+    }
+
+    private void checkCell(int row, int column) {
+        if (row < 0 || row >= this.numRows || column < 0 || column >= this.numColumns) {
+            throw new IndexOutOfBoundsException("no room at row " + row + ", column " + column);
+        }
+    }
+
+    // The x coordinate of the left edge of the given column; x(numColumns) is the
+    // right edge of the grid.
+    private int x(int column) {
+        return round(column * this.xDelta + this.boundingBox.x);
+    }
+
+    private int y(int row) {
+        return round(row * this.yDelta + this.boundingBox.y);
+    }
+
+    private static int round(double num) {
+        return (int) Math.round(num);
+    }
+
+    private class WallIterator implements Iterator<Wall> {
+        // The rooms in the row above, and the rooms so far in this row.
+        private Room[] previousRow;
+        private Room[] currentRow;
+        private int row;
+        private int column;
+        // Whether the wall to the left of the current room has been dealt with yet.
+        private boolean doneLeft;
+        private Wall nextWall;
+
+        public WallIterator() {
+            this.previousRow = new Room[GridMaze.this.numColumns];
+            this.currentRow = new Room[GridMaze.this.numColumns];
+            this.row = 0;
+            this.column = 0;
+            this.doneLeft = false;
+            this.nextWall = this.findNext();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.nextWall != null;
+        }
+
+        @Override
+        public Wall next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Wall wall = this.nextWall;
+            this.nextWall = this.findNext();
+            return wall;
+        }
+
+        /**
+         * Returns the next wall, or null if there are none left.
+         */
+        private Wall findNext() {
+            while (this.row < GridMaze.this.numRows) {
+                int row = this.row;
+                int column = this.column;
+                if (!this.doneLeft) {
+                    this.doneLeft = true;
+                    Room room = GridMaze.this.getRoom(row, column);
+                    this.currentRow[column] = room;
+                    if (column > 0) {
+                        return GridMaze.this.wallToTheLeft(row, column, room, this.currentRow[column - 1]);
+                    }
+                } else {
+                    this.doneLeft = false;
+                    Wall wall = null;
+                    if (row > 0) {
+                        wall = GridMaze.this.wallAbove(row, column, this.currentRow[column], this.previousRow[column]);
+                    }
+                    this.column++;
+                    if (this.column == GridMaze.this.numColumns) {
+                        Room[] temp = this.previousRow;
+                        this.previousRow = this.currentRow;
+                        this.currentRow = temp;
+                        this.row++;
+                        this.column = 0;
+                    }
+                    if (wall != null) {
+                        return wall;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -11,6 +11,9 @@ public class Maze {
     private ISet<Wall> walls;
     private ISet<Wall> untouchableWalls;
 
+    // Built the first time getRoom is called.
+    private RoomGrid roomGrid;
+
     public Maze(ISet<Room> rooms, ISet<Wall> walls, ISet<Wall> untouchableWalls) {
         this.rooms = rooms;
         this.walls = walls;
@@ -46,13 +49,15 @@ public class Maze {
      *
      * Returns 'null' if there does not exist a room under that point
      * for some reason.
+     *
+     * The first call indexes every room by its bounding box, which takes
+     * O(rooms) time; after that, each call only checks the few rooms near
+     * the point. The index is rebuilt if the number of rooms changes.
      */
     public Room getRoom(Point point) {
-        for (Room room : this.rooms) {
-            if (room.contains(point)) {
-                return room;
-            }
+        if (this.roomGrid == null || this.roomGrid.size() != this.rooms.size()) {
+            this.roomGrid = new RoomGrid(this.rooms, this.rooms.size());
         }
-        return null;
+        return this.roomGrid.getRoom(point);
     }
 }
@@ -0,0 +1,113 @@
+package mazes.entities;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+
+/**
+ * A uniform grid over the rooms of a maze, for finding which room a point is in
+ * without testing every room's polygon.
+ *
+ * The grid has about one cell per room. Each room is listed in every cell its
+ * bounding box overlaps, so a point query only has to test the handful of rooms
+ * listed in the point's cell. The cells are laid out like CompactGraph's adjacency
+ * lists: the rooms in cell 'c' are cellRooms[cellStarts[c]] up to (but not including)
+ * cellRooms[cellStarts[c + 1]].
+ */
+class RoomGrid {
+    private final Room[] rooms;
+    private final int minX;
+    private final int minY;
+    private final int cellSize;
+    private final int columns;
+    private final int rows;
+    private final int[] cellStarts;
+    private final int[] cellRooms;
+
+    public RoomGrid(Iterable<Room> rooms, int numRooms) {
+        this.rooms = new Room[numRooms];
+        Rectangle bounds = null;
+        int i = 0;
+        for (Room room : rooms) {
+            this.rooms[i] = room;
+            i++;
+            Rectangle box = room.getPolygon().getBounds();
+            bounds = bounds == null ? box : bounds.union(box);
+        }
+        if (bounds == null) {
+            bounds = new Rectangle();
+        }
+
+        // Pick square cells about the size of an average room. Boxes include their
+        // far edges, so a room may be listed in one more cell than it needs to be.
+        this.minX = bounds.x;
+        this.minY = bounds.y;
+        long area = Math.max(1L, (long) bounds.width * bounds.height);
+        this.cellSize = Math.max(1, (int) Math.ceil(Math.sqrt((double) area / Math.max(1, numRooms))));
+        this.columns = bounds.width / this.cellSize + 1;
+        this.rows = bounds.height / this.cellSize + 1;
+
+        // Count the rooms overlapping each cell, then fill the cells in a second pass.
+        this.cellStarts = new int[this.columns * this.rows + 1];
+        for (Room room : this.rooms) {
+            Rectangle box = room.getPolygon().getBounds();
+            for (int row = this.row(box.y); row <= this.row(box.y + box.height); row++) {
+                for (int column = this.column(box.x); column <= this.column(box.x + box.width); column++) {
+                    this.cellStarts[row * this.columns + column + 1]++;
+                }
+            }
+        }
+        for (int cell = 0; cell < this.columns * this.rows; cell++) {
+            this.cellStarts[cell + 1] += this.cellStarts[cell];
+        }
+        this.cellRooms = new int[this.cellStarts[this.columns * this.rows]];
+        int[] next = new int[this.columns * this.rows];
+        System.arraycopy(this.cellStarts, 0, next, 0, next.length);
+        for (int r = 0; r < this.rooms.length; r++) {
+            Rectangle box = this.rooms[r].getPolygon().getBounds();
+            for (int row = this.row(box.y); row <= this.row(box.y + box.height); row++) {
+                for (int column = this.column(box.x); column <= this.column(box.x + box.width); column++) {
+                    int cell = row * this.columns + column;
+                    this.cellRooms[next[cell]] = r;
+                    next[cell]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of rooms this grid was built over.
+     */
+    public int size() {
+        return this.rooms.length;
+    }
+
+    /**
+     * Returns the room containing the given point, or null if no room does.
+     */
+    public Room getRoom(Point point) {
+        if (point.x < this.minX || point.y < this.minY) {
+            return null;
+        }
+        int column = (point.x - this.minX) / this.cellSize;
+        int row = (point.y - this.minY) / this.cellSize;
+        if (column >= this.columns || row >= this.rows) {
+            return null;
+        }
+        int cell = row * this.columns + column;
+        for (int i = this.cellStarts[cell]; i < this.cellStarts[cell + 1]; i++) {
+            Room room = this.rooms[this.cellRooms[i]];
+            if (room.contains(point)) {
+                return room;
+            }
+        }
+        return null;
+    }
+
+    private int column(int x) {
+        return (x - this.minX) / this.cellSize;
+    }
+
+    private int row(int y) {
+        return (y - this.minY) / this.cellSize;
+    }
+}
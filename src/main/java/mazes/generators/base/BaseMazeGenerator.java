@@ -1,6 +1,6 @@
 package mazes.generators.base;
 
-import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.CircularArrayList;
 import datastructures.interfaces.IList;
 import mazes.entities.Maze;
 import mazes.entities.LineSegment;
@@ -20,7 +20,7 @@ public abstract class BaseMazeGenerator {
     public abstract Maze generateBaseMaze(Rectangle boundingBox);
 
     protected IList<LineSegment> polygonToLineSegment(Polygon polygon) {
-        IList<LineSegment> output = new DoubleLinkedList<>();
+        IList<LineSegment> output = new CircularArrayList<>();
 
         int[] xs = polygon.xpoints;
         int[] ys = polygon.ypoints;
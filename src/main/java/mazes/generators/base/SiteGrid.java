@@ -0,0 +1,116 @@
+package mazes.generators.base;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+
+/**
+ * The room centers VoronoiGenerator has placed so far, bucketed into a uniform grid
+ * so finding the one closest to a candidate doesn't mean checking all of them.
+ *
+ * The grid is sized for about one site per cell once every room is placed. A query
+ * checks the candidate's cell, then the ring of cells around it, then the ring around
+ * that, and so on: once the closest site found is nearer than anything outside the
+ * rings checked so far could be, it's the answer.
+ *
+ * Each cell is a singly linked list threaded through int arrays: 'heads' holds the
+ * first site in each cell, and 'nexts' the site after each site.
+ */
+class SiteGrid {
+    private final int minX;
+    private final int minY;
+    private final int cellSize;
+    private final int columns;
+    private final int rows;
+    private final int[] heads;
+
+    private final int[] xs;
+    private final int[] ys;
+    private final int[] nexts;
+    private int size;
+
+    /**
+     * Creates an empty grid for up to 'capacity' sites inside the given box.
+     */
+    public SiteGrid(Rectangle bounds, int capacity) {
+        this.minX = bounds.x;
+        this.minY = bounds.y;
+        long area = Math.max(1L, (long) bounds.width * bounds.height);
+        this.cellSize = Math.max(1, (int) Math.ceil(Math.sqrt((double) area / Math.max(1, capacity))));
+        this.columns = Math.max(0, bounds.width) / this.cellSize + 1;
+        this.rows = Math.max(0, bounds.height) / this.cellSize + 1;
+        this.heads = new int[this.columns * this.rows];
+        for (int i = 0; i < this.heads.length; i++) {
+            this.heads[i] = -1;
+        }
+        this.xs = new int[capacity];
+        this.ys = new int[capacity];
+        this.nexts = new int[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Adds a site to the grid.
+     *
+     * @throws IllegalStateException if the grid already holds 'capacity' sites
+     */
+    public void add(Point site) {
+        if (this.size == this.xs.length) {
+            throw new IllegalStateException("grid is full");
+        }
+        int cell = this.row(site.y) * this.columns + this.column(site.x);
+        this.xs[this.size] = site.x;
+        this.ys[this.size] = site.y;
+        this.nexts[this.size] = this.heads[cell];
+        this.heads[cell] = this.size;
+        this.size++;
+    }
+
+    /**
+     * Returns the distance from 'target' to the closest site, or Double.MAX_VALUE if
+     * there are no sites yet.
+     */
+    public double distanceToClosest(Point target) {
+        if (this.size == 0) {
+            return Double.MAX_VALUE;
+        }
+        int column = this.column(target.x);
+        int row = this.row(target.y);
+        long bestSquared = Long.MAX_VALUE;
+        int maxRing = Math.max(this.columns, this.rows);
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int r = row - ring; r <= row + ring; r++) {
+                if (r < 0 || r >= this.rows) {
+                    continue;
+                }
+                // Only the first and last rows of the ring are complete; the rest just
+                // have a cell at each end.
+                boolean edge = r == row - ring || r == row + ring;
+                int step = edge ? 1 : Math.max(1, 2 * ring);
+                for (int c = column - ring; c <= column + ring; c += step) {
+                    if (c < 0 || c >= this.columns) {
+                        continue;
+                    }
+                    for (int site = this.heads[r * this.columns + c]; site != -1; site = this.nexts[site]) {
+                        long dx = this.xs[site] - target.x;
+                        long dy = this.ys[site] - target.y;
+                        bestSquared = Math.min(bestSquared, dx * dx + dy * dy);
+                    }
+                }
+            }
+            // Every site outside the rings checked so far is at least this far away.
+            long reach = (long) ring * this.cellSize;
+            if (bestSquared <= reach * reach) {
+                break;
+            }
+        }
+        return Math.sqrt(bestSquared);
+    }
+
+    private int column(int x) {
+        return Math.min(this.columns - 1, Math.max(0, (x - this.minX) / this.cellSize));
+    }
+
+    private int row(int y) {
+        return Math.min(this.rows - 1, Math.max(0, (y - this.minY) / this.cellSize));
+    }
+}
@@ -1,10 +1,8 @@
 package mazes.generators.base;
 
 import datastructures.concrete.ChainedHashSet;
-import datastructures.concrete.DoubleLinkedList;
 import datastructures.concrete.dictionaries.ChainedHashDictionary;
 import datastructures.interfaces.IDictionary;
-import datastructures.interfaces.IList;
 import datastructures.interfaces.ISet;
 import kn.uni.voronoitreemap.datastructure.OpenList;
 import kn.uni.voronoitreemap.diagram.PowerDiagram;
@@ -27,6 +25,7 @@ public class VoronoiGenerator extends BaseMazeGenerator {
     private int sampleRate;
     private int minimumWallLength;
     private int minimumSpaceFromBoundingBox;
+    private Random rand;
 
     /**
      * @param numRooms  the number of rooms the graph should contain
@@ -35,10 +34,20 @@ public class VoronoiGenerator extends BaseMazeGenerator {
      * @param minimumSpaceFromBoundingBox  how far away the center of the room should be from the bounding box
      */
     public VoronoiGenerator(int numRooms, int sampleRate, int minimumWallLength, int minimumSpaceFromBoundingBox) {
+        this(numRooms, sampleRate, minimumWallLength, minimumSpaceFromBoundingBox, new Random());
+    }
+
+    /**
+     * Like the constructor above, but places the rooms using random numbers drawn
+     * from 'rand', so callers can seed it or give each thread its own.
+     */
+    public VoronoiGenerator(int numRooms, int sampleRate, int minimumWallLength, int minimumSpaceFromBoundingBox,
+                            Random rand) {
         this.numRooms = numRooms;
         this.sampleRate = sampleRate;
         this.minimumWallLength = minimumWallLength;
         this.minimumSpaceFromBoundingBox = minimumSpaceFromBoundingBox;
+        this.rand = rand;
     }
 
     public Maze generateBaseMaze(Rectangle boundingBox) {
@@ -114,9 +123,9 @@ public class VoronoiGenerator extends BaseMazeGenerator {
 
     private OpenList generateCells(Rectangle boundingBox) {
         OpenList output = new OpenList();
-        IList<Point> points = new DoubleLinkedList<>();
+        SiteGrid points = new SiteGrid(boundingBox, this.numRooms);
 
-        Random rand = new Random();
+        Random rand = this.rand;
         for (int i = 0; i < this.numRooms; i++) {
             double bestDistance = 0;
             Point bestPoint = null;
@@ -126,7 +135,7 @@ public class VoronoiGenerator extends BaseMazeGenerator {
                 int randY = this.nextInt(rand, boundingBox.y, boundingBox.y + boundingBox.height);
                 Point candidate = new Point(randX, randY);
 
-                double distance = this.getClosest(candidate, points);
+                double distance = points.distanceToClosest(candidate);
                 if (distance > bestDistance) {
                     bestDistance = distance;
                     bestPoint = candidate;
@@ -141,18 +150,6 @@ public class VoronoiGenerator extends BaseMazeGenerator {
         return output;
     }
 
-    private double getClosest(Point target, IList<Point> coords) {
-        double bestDistance = Double.MAX_VALUE;
-        for (Point point : coords) {
-            double distance = point.distance(target);
-            if (distance < bestDistance) {
-                bestDistance = distance;
-            }
-        }
-
-        return bestDistance;
-    }
-
     private int nextInt(Random rand, int min, int max) {
         return rand.nextInt(max - min) + min;
     }
@@ -0,0 +1,44 @@
+package mazes.generators.maze;
+
+import datastructures.concrete.CompactGraph;
+import datastructures.interfaces.ISet;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+
+import java.util.Random;
+
+/**
+ * Carves out a maze by removing the walls along a uniformly random spanning tree of
+ * the rooms, found with the Aldous-Broder algorithm.
+ *
+ * This produces the same distribution of mazes as WilsonMazeCarver, usually more
+ * slowly: it's here mostly as a simple point of comparison.
+ *
+ * @see CompactGraph#findRandomSpanningTreeAldousBroder
+ */
+public class AldousBroderMazeCarver implements MazeCarver {
+    private final Random rand;
+
+    public AldousBroderMazeCarver() {
+        this(new Random());
+    }
+
+    /**
+     * Creates a carver that draws its random numbers from 'rand'.
+     *
+     * @throws IllegalArgumentException if rand is null
+     */
+    public AldousBroderMazeCarver(Random rand) {
+        if (rand == null) {
+            throw new IllegalArgumentException();
+        }
+        this.rand = rand;
+    }
+
+    @Override
+    public ISet<Wall> returnWallsToRemove(Maze maze) {
+        CompactGraph<Room, Wall> graph = new CompactGraph<>(maze.getRooms(), maze.getWalls());
+        return graph.findRandomSpanningTreeAldousBroder(this.rand);
+    }
+}
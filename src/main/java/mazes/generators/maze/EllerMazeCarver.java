@@ -0,0 +1,256 @@
+package mazes.generators.maze;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.ISet;
+import mazes.entities.GridMaze;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import mazes.generators.base.BaseMazeGenerator;
+import mazes.generators.base.GridGenerator;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Carves out a grid maze a row at a time, using Eller's algorithm.
+ *
+ * Like KruskalMazeCarver, this produces a perfect maze (exactly one path between any
+ * two rooms), but it only ever needs to remember which set each room in the current
+ * row belongs to. Paired with a GridMaze, carve() can produce mazes of any height in
+ * memory proportional to their width, handing each removed wall over as soon as it's
+ * chosen.
+ *
+ * Only grid mazes can be carved this way: returnWallsToRemove rejects anything else.
+ */
+public class EllerMazeCarver implements MazeCarver {
+    private final Random rand;
+
+    public EllerMazeCarver() {
+        this(new Random());
+    }
+
+    /**
+     * Creates a carver that draws its random numbers from 'rand'.
+     *
+     * @throws IllegalArgumentException if rand is null
+     */
+    public EllerMazeCarver(Random rand) {
+        if (rand == null) {
+            throw new IllegalArgumentException();
+        }
+        this.rand = rand;
+    }
+
+    /**
+     * Carves a maze out of the given grid, passing each wall to remove to 'removed'
+     * as soon as it's chosen, a row at a time from the top.
+     */
+    public void carve(GridMaze grid, Consumer<Wall> removed) {
+        this.carve(grid.getNumRows(), grid.getNumColumns(), new RemovedWalls() {
+            @Override
+            public void toTheLeft(int row, int column) {
+                removed.accept(grid.getWallToTheLeft(row, column));
+            }
+
+            @Override
+            public void above(int row, int column) {
+                removed.accept(grid.getWallAbove(row, column));
+            }
+        });
+    }
+
+    /**
+     * Only GridGenerator creates grid mazes.
+     */
+    @Override
+    public boolean canCarve(BaseMazeGenerator generator) {
+        return generator instanceof GridGenerator;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the maze isn't a grid: every room must be
+     *                                  lined up in rows and columns, with walls only
+     *                                  between neighboring rooms
+     */
+    @Override
+    public ISet<Wall> returnWallsToRemove(Maze maze) {
+        ISet<Wall> toRemove = new ChainedHashSet<>();
+        if (maze.getRooms().isEmpty()) {
+            return toRemove;
+        }
+
+        // Work out which row and column each room is in from the order of their centers.
+        IDictionary<Integer, Integer> rowOf = this.ranks(maze, true);
+        IDictionary<Integer, Integer> columnOf = this.ranks(maze, false);
+        int numRows = rowOf.size();
+        int numColumns = columnOf.size();
+        if ((long) numRows * numColumns != maze.getRooms().size()) {
+            throw new IllegalArgumentException("not a grid maze");
+        }
+
+        // Index each wall by the room to its right or below it.
+        IDictionary<Long, Wall> wallsToTheLeft = new ChainedHashDictionary<>();
+        IDictionary<Long, Wall> wallsAbove = new ChainedHashDictionary<>();
+        for (Wall wall : maze.getWalls()) {
+            int row1 = rowOf.get(wall.getRoom1().getCenter().y);
+            int column1 = columnOf.get(wall.getRoom1().getCenter().x);
+            int row2 = rowOf.get(wall.getRoom2().getCenter().y);
+            int column2 = columnOf.get(wall.getRoom2().getCenter().x);
+            int row = Math.max(row1, row2);
+            int column = Math.max(column1, column2);
+            if (row1 == row2 && Math.abs(column1 - column2) == 1) {
+                wallsToTheLeft.put((long) row * numColumns + column, wall);
+            } else if (column1 == column2 && Math.abs(row1 - row2) == 1) {
+                wallsAbove.put((long) row * numColumns + column, wall);
+            } else {
+                throw new IllegalArgumentException("not a grid maze: " + wall);
+            }
+        }
+
+        this.carve(numRows, numColumns, new RemovedWalls() {
+            @Override
+            public void toTheLeft(int row, int column) {
+                toRemove.add(wallAt(wallsToTheLeft, (long) row * numColumns + column));
+            }
+
+            @Override
+            public void above(int row, int column) {
+                toRemove.add(wallAt(wallsAbove, (long) row * numColumns + column));
+            }
+        });
+        return toRemove;
+    }
+
+    /**
+     * Returns the position of each distinct room center y (or x) coordinate, in
+     * increasing order.
+     */
+    private IDictionary<Integer, Integer> ranks(Maze maze, boolean byY) {
+        ISet<Integer> distinct = new ChainedHashSet<>();
+        for (Room room : maze.getRooms()) {
+            distinct.add(byY ? room.getCenter().y : room.getCenter().x);
+        }
+        int[] sorted = new int[distinct.size()];
+        int i = 0;
+        for (int coordinate : distinct) {
+            sorted[i] = coordinate;
+            i++;
+        }
+        Arrays.sort(sorted);
+        IDictionary<Integer, Integer> ranks = new ChainedHashDictionary<>();
+        for (i = 0; i < sorted.length; i++) {
+            ranks.put(sorted[i], i);
+        }
+        return ranks;
+    }
+
+    private static Wall wallAt(IDictionary<Long, Wall> walls, long cell) {
+        if (!walls.containsKey(cell)) {
+            throw new IllegalArgumentException("not a grid maze: missing a wall between neighboring rooms");
+        }
+        return walls.get(cell);
+    }
+
+    /**
+     * Runs Eller's algorithm over a grid of the given size.
+     *
+     * Each room in the current row is labeled with the set it belongs to. Labels run
+     * from 0 to numColumns - 1, since a row can't have more sets than rooms. Merging
+     * sets within a row goes through a small union-find over the labels, which is
+     * flattened back into the labels at the end of the row.
+     */
+    private void carve(int numRows, int numColumns, RemovedWalls removed) {
+        int[] labels = new int[numColumns];
+        int[] parents = new int[numColumns];
+        boolean[] used = new boolean[numColumns];
+        int[] remaining = new int[numColumns];
+        boolean[] extended = new boolean[numColumns];
+        for (int column = 0; column < numColumns; column++) {
+            labels[column] = -1;
+        }
+
+        for (int row = 0; row < numRows; row++) {
+            boolean lastRow = row == numRows - 1;
+
+            // Rooms not connected to the row above start off in sets of their own.
+            for (int label = 0; label < numColumns; label++) {
+                used[label] = false;
+                parents[label] = label;
+            }
+            for (int column = 0; column < numColumns; column++) {
+                if (labels[column] != -1) {
+                    used[labels[column]] = true;
+                }
+            }
+            int free = 0;
+            for (int column = 0; column < numColumns; column++) {
+                if (labels[column] == -1) {
+                    while (used[free]) {
+                        free++;
+                    }
+                    labels[column] = free;
+                    used[free] = true;
+                }
+            }
+
+            // Randomly join neighbors in different sets; on the last row, join them all.
+            for (int column = 1; column < numColumns; column++) {
+                int left = find(parents, labels[column - 1]);
+                int right = find(parents, labels[column]);
+                if (left != right && (lastRow || this.rand.nextBoolean())) {
+                    parents[right] = left;
+                    removed.toTheLeft(row, column);
+                }
+            }
+            for (int column = 0; column < numColumns; column++) {
+                labels[column] = find(parents, labels[column]);
+            }
+            if (lastRow) {
+                break;
+            }
+
+            // Every set has to continue into the next row through at least one room.
+            // Each room goes down with probability 1/2, except the last room of a set
+            // that hasn't gone down anywhere yet.
+            for (int label = 0; label < numColumns; label++) {
+                remaining[label] = 0;
+                extended[label] = false;
+            }
+            for (int column = 0; column < numColumns; column++) {
+                remaining[labels[column]]++;
+            }
+            for (int column = 0; column < numColumns; column++) {
+                int label = labels[column];
+                remaining[label]--;
+                if (this.rand.nextBoolean() || (remaining[label] == 0 && !extended[label])) {
+                    extended[label] = true;
+                    removed.above(row + 1, column);
+                } else {
+                    labels[column] = -1;
+                }
+            }
+        }
+    }
+
+    private static int find(int[] parents, int label) {
+        while (parents[label] != label) {
+            parents[label] = parents[parents[label]];
+            label = parents[label];
+        }
+        return label;
+    }
+
+    /**
+     * Receives the walls Eller's algorithm decides to remove, by the row and column of
+     * the room to their right or below them.
+     */
+    private interface RemovedWalls {
+        void toTheLeft(int row, int column);
+
+        void above(int row, int column);
+    }
+}
@@ -1,5 +1,6 @@
 package mazes.generators.maze;
 
+import datastructures.concrete.CompactGraph;
 import datastructures.concrete.Graph;
 import datastructures.interfaces.ISet;
 import mazes.entities.Maze;
@@ -11,27 +12,62 @@ import java.util.Random;
  * Carves out a maze based on Kruskal's algorithm.
  *
  * See the spec for more details.
+ *
+ * The spanning tree over the randomly weighted walls doesn't have to come from
+ * Kruskal's algorithm itself: any MST algorithm gives the same kind of maze, so
+ * very large mazes can opt into one of the parallel algorithms instead.
  */
 public class KruskalMazeCarver implements MazeCarver {
-    @Override
-    public ISet<Wall> returnWallsToRemove(Maze maze) {
-        // Note: make sure that the input maze remains unmodified after this method is over.
-        //
-        // In particular, if you call 'wall.setDistance()' at any point, make sure to
-        // call 'wall.resetDistanceToOriginal()' on the same wall before returning.
+    private final Graph.MstAlgorithm algorithm;
+    private final Random rand;
 
-        //make room vertex and walls as edges
-        Graph<Room, Wall> graph = new Graph<>(maze.getRooms(), maze.getWalls());
-        Random randomWeights = new Random();
-        //set random weights
-        for (Wall walls : maze.getWalls()){
-            walls.setDistance(randomWeights.nextDouble());
+    public KruskalMazeCarver() {
+        this(Graph.MstAlgorithm.KRUSKAL);
+    }
+
+    /**
+     * Creates a carver that finds its spanning tree using the given algorithm.
+     *
+     * @throws IllegalArgumentException if algorithm is null
+     */
+    public KruskalMazeCarver(Graph.MstAlgorithm algorithm) {
+        this(algorithm, new Random());
+    }
+
+    /**
+     * Creates a carver that finds its spanning tree using the given algorithm, and
+     * draws the random wall weights from 'rand'.
+     *
+     * @throws IllegalArgumentException if algorithm or rand is null
+     */
+    public KruskalMazeCarver(Graph.MstAlgorithm algorithm, Random rand) {
+        if (algorithm == null || rand == null) {
+            throw new IllegalArgumentException();
         }
+        this.algorithm = algorithm;
+        this.rand = rand;
+    }
 
-        ISet<Wall> wallRemove = graph.findMinimumSpanningTree();
-        for (Wall walls : maze.getWalls()){
-            walls.resetDistanceToOriginal();
+    @Override
+    public ISet<Wall> returnWallsToRemove(Maze maze) {
+        // The walls are never modified: the random weights live in arrays keyed by
+        // edge id instead, so several carvers can share one base maze at once.
+        CompactGraph<Room, Wall> graph = new CompactGraph<>(maze.getRooms(), maze.getWalls());
+        if (this.algorithm == Graph.MstAlgorithm.KRUSKAL) {
+            // Kruskal only cares about the order of the weights, and a random
+            // permutation is as good as sorting random weights, minus the sort.
+            int[] order = new int[graph.numEdges()];
+            for (int i = 0; i < order.length; i++) {
+                int j = this.rand.nextInt(i + 1);
+                order[i] = order[j];
+                order[j] = i;
+            }
+            return graph.findSpanningTreeInOrder(order);
+        }
+        double[] weights = new double[graph.numEdges()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = this.rand.nextDouble();
         }
-        return wallRemove;
+        return graph.withWeights(weights).findMinimumSpanningTree(this.algorithm);
     }
 }
@@ -4,6 +4,7 @@ import datastructures.concrete.ChainedHashSet;
 import datastructures.interfaces.ISet;
 import mazes.entities.Maze;
 import mazes.entities.Wall;
+import mazes.generators.base.BaseMazeGenerator;
 
 /**
  * Represents a class that accepts some initial maze created by a BaseMazeGenerator,
@@ -18,6 +19,15 @@ public interface MazeCarver {
      */
     public ISet<Wall> returnWallsToRemove(Maze maze);
 
+    /**
+     * Returns true if this carver can carve every maze the given generator creates.
+     *
+     * Most carvers work on any maze, so this returns true unless overridden.
+     */
+    public default boolean canCarve(BaseMazeGenerator generator) {
+        return true;
+    }
+
     /**
      * Exists a "maze" where there exists a wall between every single room,
      * and returns a new maze that's actually solvable/contains paths
@@ -31,11 +41,11 @@ public interface MazeCarver {
         ISet<Wall> toRemove = this.returnWallsToRemove(initialMaze);
 
         ISet<Wall> newWalls = new ChainedHashSet<>();
-        for (Wall wall : initialMaze.getWalls()) {
+        initialMaze.getWalls().forEach(wall -> {
             if (!toRemove.contains(wall)) {
                 newWalls.add(wall);
             }
-        }
+        });
 
         return new Maze(initialMaze.getRooms(), newWalls, initialMaze.getUntouchableWalls());
     }
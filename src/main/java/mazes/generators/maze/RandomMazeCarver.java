@@ -12,18 +12,26 @@ import java.util.Random;
  */
 public class RandomMazeCarver implements MazeCarver {
     private double probabilityOfKeepingEdge;
+    private Random rand;
 
     public RandomMazeCarver(double probabilityOfKeepingEdge) {
+        this(probabilityOfKeepingEdge, new Random());
+    }
+
+    /**
+     * Creates a carver that draws its random numbers from 'rand', so callers can
+     * seed it or give each thread its own.
+     */
+    public RandomMazeCarver(double probabilityOfKeepingEdge, Random rand) {
         this.probabilityOfKeepingEdge = probabilityOfKeepingEdge;
+        this.rand = rand;
     }
 
     @Override
     public ISet<Wall> returnWallsToRemove(Maze maze) {
-        Random rand = new Random();
-
         ISet<Wall> toRemove = new ChainedHashSet<>();
         for (Wall wall : maze.getWalls()) {
-            if (rand.nextDouble() >= this.probabilityOfKeepingEdge) {
+            if (this.rand.nextDouble() >= this.probabilityOfKeepingEdge) {
                 toRemove.add(wall);
             }
         }
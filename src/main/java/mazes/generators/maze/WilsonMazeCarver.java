@@ -0,0 +1,45 @@
+package mazes.generators.maze;
+
+import datastructures.concrete.CompactGraph;
+import datastructures.interfaces.ISet;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+
+import java.util.Random;
+
+/**
+ * Carves out a maze by removing the walls along a uniformly random spanning tree of
+ * the rooms, found with Wilson's algorithm.
+ *
+ * Every possible perfect maze is equally likely, unlike with KruskalMazeCarver, whose
+ * mazes lean towards lots of short dead ends. The random walks run over a
+ * CompactGraph, and the walls themselves are never modified.
+ *
+ * @see CompactGraph#findRandomSpanningTreeWilson
+ */
+public class WilsonMazeCarver implements MazeCarver {
+    private final Random rand;
+
+    public WilsonMazeCarver() {
+        this(new Random());
+    }
+
+    /**
+     * Creates a carver that draws its random numbers from 'rand'.
+     *
+     * @throws IllegalArgumentException if rand is null
+     */
+    public WilsonMazeCarver(Random rand) {
+        if (rand == null) {
+            throw new IllegalArgumentException();
+        }
+        this.rand = rand;
+    }
+
+    @Override
+    public ISet<Wall> returnWallsToRemove(Maze maze) {
+        CompactGraph<Room, Wall> graph = new CompactGraph<>(maze.getRooms(), maze.getWalls());
+        return graph.findRandomSpanningTreeWilson(this.rand);
+    }
+}
@@ -1,13 +1,16 @@
 package mazes.gui;
 
+import datastructures.concrete.Graph;
 import datastructures.concrete.dictionaries.ArrayDictionary;
 import datastructures.interfaces.IDictionary;
 import mazes.generators.base.BaseMazeGenerator;
 import mazes.generators.base.GridGenerator;
 import mazes.generators.base.VoronoiGenerator;
+import mazes.generators.maze.EllerMazeCarver;
 import mazes.generators.maze.KruskalMazeCarver;
 import mazes.generators.maze.MazeCarver;
 import mazes.generators.maze.RandomMazeCarver;
+import mazes.generators.maze.WilsonMazeCarver;
 
 import javax.swing.*;
 import java.awt.*;
@@ -60,6 +63,15 @@ public class MainWindow extends JFrame {
         baseCarvers.put(
                 "Run (randomized) Kruskal",
                 new KruskalMazeCarver());
+        baseCarvers.put(
+                "Run (randomized) parallel Boruvka",
+                new KruskalMazeCarver(Graph.MstAlgorithm.BORUVKA));
+        baseCarvers.put(
+                "Run Wilson's algorithm (uniform spanning tree)",
+                new WilsonMazeCarver());
+        baseCarvers.put(
+                "Run Eller's algorithm (grid mazes only)",
+                new EllerMazeCarver());
 
         // This actually launches the window itself and starts the program.
         EventQueue.invokeLater(() -> {
@@ -5,6 +5,7 @@ import datastructures.concrete.dictionaries.KVPair;
 import datastructures.interfaces.IDictionary;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.ISet;
+import mazes.entities.EuclideanHeuristic;
 import mazes.entities.Maze;
 import mazes.entities.Room;
 import mazes.entities.Wall;
@@ -32,6 +33,9 @@ public class OptionsPanel extends JPanel {
     private Room start;
     private Room end;
 
+    // The graph of the current maze's passages, built the first time it's solved.
+    private Graph<Room, Wall> graph;
+
     public OptionsPanel(ImageDrawer drawer,
                         IDictionary<String, BaseMazeGenerator> baseGenerators,
                         IDictionary<String, MazeCarver> baseCarvers) {
@@ -102,29 +106,38 @@ public class OptionsPanel extends JPanel {
     }
 
     private void generateMaze(ActionEvent event) {
-        this.drawer.clear();
-
         BaseMazeGenerator generator = this.baseGenerators.get(this.baseGeneratorName);
         MazeCarver carver = this.baseCarvers.get(this.baseCarverName);
+        if (!carver.canCarve(generator)) {
+            // Some carvers (like Eller's algorithm) only work on certain base mazes.
+            JOptionPane.showMessageDialog(
+                    null,
+                    "The selected carver can't carve this kind of base maze. Try another base maze generator.");
+            return;
+        }
 
         Rectangle bound = drawer.getBoundingBox();
         this.originalMaze = generator.generateBaseMaze(bound);
         this.currentMaze = carver.generateMaze(this.originalMaze);
+        this.graph = null;
 
         this.start = this.currentMaze.getRoom(new Point(bound.x + 5, bound.y + 5));
         this.end = this.currentMaze.getRoom(new Point(bound.x + bound.width - 5, bound.y + bound.height - 5));
 
+        this.drawer.clear();
         this.drawer.drawMaze(this.currentMaze);
         drawer.drawPoint(start.getCenter());
         drawer.drawPoint(end.getCenter());
     }
 
     private void drawShortestPath(ActionEvent event) {
-        Graph<Room, Wall> graph = new Graph<>(
-                this.originalMaze.getRooms(),
-                this.subtract(this.originalMaze.getWalls(), this.currentMaze.getWalls()));
+        if (this.graph == null) {
+            this.graph = new Graph<>(
+                    this.originalMaze.getRooms(),
+                    this.subtract(this.originalMaze.getWalls(), this.currentMaze.getWalls()));
+        }
         try {
-            IList<Wall> path = graph.findShortestPathBetween(this.start, this.end);
+            IList<Wall> path = this.graph.findShortestPathBetween(this.start, this.end, new EuclideanHeuristic());
             this.drawer.drawPath(path);
         } catch (NoPathExistsException ex) {
             JOptionPane.showMessageDialog(
@@ -0,0 +1,154 @@
+package mazes.headless;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.ISet;
+import mazes.entities.Maze;
+import mazes.entities.Wall;
+import mazes.generators.base.BaseMazeGenerator;
+import mazes.generators.maze.MazeCarver;
+import mazes.io.BinaryMazeWriter;
+import mazes.io.MazeWriter;
+import mazes.io.TextMazeWriter;
+
+import java.awt.Rectangle;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates a batch of carved mazes without opening any windows, spreading the work
+ * over a pool of worker threads.
+ *
+ * Every worker builds its own generator, carver and Random, so the workers share
+ * nothing but a counter handing out maze ids. Each worker streams the mazes it makes
+ * to its own file ('mazes-<worker>.txt' or '.bin' in the output directory) as soon as
+ * they're carved, so memory use doesn't grow with the size of the batch. The files are
+ * written by TextMazeWriter, or by BinaryMazeWriter with '--format binary'.
+ *
+ * Before building maze 'i', the worker reseeds its Random from the batch seed and 'i'.
+ * This means a given seed always produces the same mazes, however many threads
+ * there are, although which file a maze ends up in may vary.
+ *
+ * Usage (every option is optional):
+ *
+ *     BatchGenerator --count 1000 --generator grid --carver kruskal --size 50
+ *                    --threads 8 --seed 373 --format text --output build/mazes
+ *
+ * @see MazePresets for the generator and carver names
+ */
+public class BatchGenerator {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        IDictionary<String, String> options = PipelineBenchmark.parseOptions(args);
+        int count = Integer.parseInt(options.getOrDefault("count", "1000"));
+        String generator = options.getOrDefault("generator", "grid");
+        String carver = options.getOrDefault("carver", "kruskal");
+        int size = Integer.parseInt(options.getOrDefault("size", "50"));
+        int threads = Integer.parseInt(
+                options.getOrDefault("threads", "" + Runtime.getRuntime().availableProcessors()));
+        long seed = Long.parseLong(options.getOrDefault("seed", "" + System.nanoTime()));
+        String format = options.getOrDefault("format", "text");
+        File output = new File(options.getOrDefault("output", "build/mazes"));
+
+        // Fail fast on a typo, rather than in every worker.
+        if (!MazePresets.carver(carver).canCarve(MazePresets.generator(generator, size))) {
+            throw new IllegalArgumentException("the " + carver + " carver can't carve " + generator + " mazes");
+        }
+        if (!format.equals("text") && !format.equals("binary")) {
+            throw new IllegalArgumentException("unknown format: " + format);
+        }
+        if (count < 0 || threads <= 0) {
+            throw new IllegalArgumentException("count must be non-negative and threads positive");
+        }
+        if (!output.isDirectory() && !output.mkdirs()) {
+            throw new IOException("could not create " + output);
+        }
+
+        AtomicInteger nextId = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        Future<?>[] workers = new Future<?>[threads];
+        for (int i = 0; i < threads; i++) {
+            File file = new File(output, "mazes-" + i + (format.equals("text") ? ".txt" : ".bin"));
+            workers[i] = pool.submit(new Worker(generator, carver, size, seed, count, nextId, file));
+        }
+        int generated = 0;
+        try {
+            for (Future<?> worker : workers) {
+                generated += (Integer) worker.get();
+            }
+        } catch (ExecutionException ex) {
+            throw new IOException("a worker failed", ex.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Generated %d mazes in %.2f s (%.1f mazes/sec) with %d threads into %s%n",
+                generated, seconds, generated / seconds, threads, output);
+    }
+
+    private static class Worker implements Callable<Integer> {
+        private final Random rand;
+        private final BaseMazeGenerator generator;
+        private final MazeCarver carver;
+        private final Rectangle bound;
+        private final long seed;
+        private final int count;
+        private final AtomicInteger nextId;
+        private final File file;
+
+        public Worker(String generator, String carver, int size, long seed, int count,
+                      AtomicInteger nextId, File file) {
+            this.rand = new Random();
+            this.generator = MazePresets.generator(generator, size, this.rand);
+            this.carver = MazePresets.carver(carver, this.rand);
+            this.bound = MazePresets.boundingBox(size);
+            this.seed = seed;
+            this.count = count;
+            this.nextId = nextId;
+            this.file = file;
+        }
+
+        @Override
+        public Integer call() throws IOException {
+            int generated = 0;
+            try (MazeWriter out = this.openWriter()) {
+                for (int id = this.nextId.getAndIncrement(); id < this.count; id = this.nextId.getAndIncrement()) {
+                    this.rand.setSeed(this.seed ^ (id * 0x9E3779B97F4A7C15L));
+                    Maze original = this.generator.generateBaseMaze(this.bound);
+                    Maze carved = this.carver.generateMaze(original);
+
+                    ISet<Wall> passages = new ChainedHashSet<>();
+                    for (Wall wall : original.getWalls()) {
+                        if (!carved.getWalls().contains(wall)) {
+                            passages.add(wall);
+                        }
+                    }
+                    out.write(id, carved, passages);
+                    generated++;
+                }
+            }
+            return generated;
+        }
+
+        private MazeWriter openWriter() throws IOException {
+            FileOutputStream stream = new FileOutputStream(this.file);
+            if (this.file.getName().endsWith(".bin")) {
+                return new BinaryMazeWriter(new BufferedOutputStream(stream));
+            } else {
+                return new TextMazeWriter(new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8)));
+            }
+        }
+    }
+}
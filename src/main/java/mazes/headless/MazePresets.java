@@ -0,0 +1,109 @@
+package mazes.headless;
+
+import datastructures.concrete.Graph;
+import mazes.generators.base.BaseMazeGenerator;
+import mazes.generators.base.GridGenerator;
+import mazes.generators.base.VoronoiGenerator;
+import mazes.generators.maze.AldousBroderMazeCarver;
+import mazes.generators.maze.EllerMazeCarver;
+import mazes.generators.maze.KruskalMazeCarver;
+import mazes.generators.maze.MazeCarver;
+import mazes.generators.maze.RandomMazeCarver;
+import mazes.generators.maze.WilsonMazeCarver;
+
+import java.awt.Rectangle;
+import java.util.Random;
+
+/**
+ * The generators and carvers the headless tools can be asked for by name, mirroring
+ * the options MainWindow offers.
+ *
+ * Sizes are given as a side length: a grid maze of size 'n' has n * n rooms, and a
+ * Voronoi maze of size 'n' has about as many rooms, placed in a box of the same size.
+ */
+public final class MazePresets {
+    public static final String[] GENERATORS = {"grid", "voronoi"};
+    public static final String[] CARVERS = {
+        "kruskal", "filter-kruskal", "prim", "boruvka", "wilson", "aldous-broder", "eller", "random-30", "random-50", "none",
+    };
+
+    // How many pixels wide each room is, on average.
+    private static final int ROOM_SIZE = 20;
+
+    private MazePresets() {
+        // Not meant to be instantiated.
+    }
+
+    /**
+     * Returns the base maze generator with the given name, sized for boundingBox(size).
+     *
+     * @throws IllegalArgumentException if there is no generator with that name, or size is not positive
+     */
+    public static BaseMazeGenerator generator(String name, int size) {
+        return generator(name, size, new Random());
+    }
+
+    /**
+     * Like generator(name, size), but any randomness comes from 'rand'.
+     */
+    public static BaseMazeGenerator generator(String name, int size, Random rand) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        switch (name) {
+            case "grid":
+                return new GridGenerator(size, size);
+            case "voronoi":
+                return new VoronoiGenerator(size * size, 10, ROOM_SIZE / 4, 5, rand);
+            default:
+                throw new IllegalArgumentException("unknown generator: " + name);
+        }
+    }
+
+    /**
+     * Returns the maze carver with the given name. The "eller" carver only works on
+     * grid mazes.
+     *
+     * @throws IllegalArgumentException if there is no carver with that name
+     */
+    public static MazeCarver carver(String name) {
+        return carver(name, new Random());
+    }
+
+    /**
+     * Like carver(name), but the carver draws its random numbers from 'rand'.
+     */
+    public static MazeCarver carver(String name, Random rand) {
+        switch (name) {
+            case "kruskal":
+                return new KruskalMazeCarver(Graph.MstAlgorithm.KRUSKAL, rand);
+            case "filter-kruskal":
+                return new KruskalMazeCarver(Graph.MstAlgorithm.FILTER_KRUSKAL, rand);
+            case "prim":
+                return new KruskalMazeCarver(Graph.MstAlgorithm.PRIM, rand);
+            case "boruvka":
+                return new KruskalMazeCarver(Graph.MstAlgorithm.BORUVKA, rand);
+            case "wilson":
+                return new WilsonMazeCarver(rand);
+            case "aldous-broder":
+                return new AldousBroderMazeCarver(rand);
+            case "eller":
+                return new EllerMazeCarver(rand);
+            case "random-30":
+                return new RandomMazeCarver(0.3, rand);
+            case "random-50":
+                return new RandomMazeCarver(0.5, rand);
+            case "none":
+                return new RandomMazeCarver(1.0, rand);
+            default:
+                throw new IllegalArgumentException("unknown carver: " + name);
+        }
+    }
+
+    /**
+     * Returns the bounding box to draw a maze of the given size in.
+     */
+    public static Rectangle boundingBox(int size) {
+        return new Rectangle(0, 0, size * ROOM_SIZE, size * ROOM_SIZE);
+    }
+}
@@ -0,0 +1,267 @@
+package mazes.headless;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.Graph;
+import datastructures.concrete.dictionaries.ArrayDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import misc.exceptions.NoPathExistsException;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+/**
+ * Times the whole maze pipeline, stage by stage, without opening any windows.
+ *
+ * For every combination of generator, carver and size, this runs the same steps as
+ * clicking "Generate new maze" and then "Find shortest path" in the GUI:
+ *
+ * - base:   BaseMazeGenerator.generateBaseMaze
+ * - carve:  MazeCarver.generateMaze
+ * - locate: finding the rooms in the top-left and bottom-right corners
+ * - graph:  building a Graph of the rooms and the removed walls
+ * - solve:  Graph.findShortestPathBetween between the two corner rooms
+ *
+ * It also records the peak heap usage of each run, and writes everything to
+ * 'results.csv' and 'results.json' in the output directory.
+ *
+ * Usage (every option is optional):
+ *
+ *     PipelineBenchmark --generators grid,voronoi --carvers kruskal,random-30
+ *                       --sizes 50,100,200 --repetitions 3 --warmup 1
+ *                       --output build/reports/pipeline
+ *
+ * @see MazePresets for the generator and carver names
+ */
+public class PipelineBenchmark {
+    private static final String[] STAGES = {"base", "carve", "locate", "graph", "solve"};
+
+    public static void main(String[] args) throws IOException {
+        IDictionary<String, String> options = parseOptions(args);
+        String[] generators = options.getOrDefault("generators", "grid,voronoi").split(",");
+        String[] carvers = options.getOrDefault("carvers", "kruskal,random-30").split(",");
+        String[] sizes = options.getOrDefault("sizes", "50,100,200").split(",");
+        int repetitions = Integer.parseInt(options.getOrDefault("repetitions", "3"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "1"));
+        File output = new File(options.getOrDefault("output", "build/reports/pipeline"));
+
+        // Fail fast on a typo, rather than halfway through a long run.
+        for (String generator : generators) {
+            MazePresets.generator(generator, 1);
+        }
+        for (String carver : carvers) {
+            MazePresets.carver(carver);
+        }
+
+        IList<Result> results = new DoubleLinkedList<>();
+        for (String generator : generators) {
+            for (String carver : carvers) {
+                for (String size : sizes) {
+                    int side = Integer.parseInt(size);
+                    for (int i = 0; i < warmup; i++) {
+                        runOnce(generator, carver, side, -1);
+                    }
+                    for (int i = 0; i < repetitions; i++) {
+                        Result result = runOnce(generator, carver, side, i);
+                        System.out.println(result.toCsv());
+                        results.add(result);
+                    }
+                }
+            }
+        }
+
+        if (!output.isDirectory() && !output.mkdirs()) {
+            throw new IOException("could not create " + output);
+        }
+        writeCsv(results, new File(output, "results.csv"));
+        writeJson(results, new File(output, "results.json"));
+        System.out.println("Wrote " + results.size() + " results to " + output);
+    }
+
+    /**
+     * Reads "--name value" pairs from the command line.
+     *
+     * @throws IllegalArgumentException if an option is malformed or missing its value
+     */
+    static IDictionary<String, String> parseOptions(String[] args) {
+        IDictionary<String, String> options = new ArrayDictionary<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("expected '--option value', got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static Result runOnce(String generatorName, String carverName, int size, int repetition) {
+        Result result = new Result(generatorName, carverName, size, repetition);
+        Rectangle bound = MazePresets.boundingBox(size);
+        resetPeakHeap();
+
+        long start = System.nanoTime();
+        Maze original = MazePresets.generator(generatorName, size).generateBaseMaze(bound);
+        result.stageNanos[0] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        Maze carved = MazePresets.carver(carverName).generateMaze(original);
+        result.stageNanos[1] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        Room startRoom = carved.getRoom(new Point(bound.x + 5, bound.y + 5));
+        Room endRoom = carved.getRoom(new Point(bound.x + bound.width - 5, bound.y + bound.height - 5));
+        result.stageNanos[2] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        ISet<Wall> passages = new ChainedHashSet<>();
+        for (Wall wall : original.getWalls()) {
+            if (!carved.getWalls().contains(wall)) {
+                passages.add(wall);
+            }
+        }
+        Graph<Room, Wall> graph = new Graph<>(original.getRooms(), passages);
+        result.stageNanos[3] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        try {
+            result.pathLength = graph.findShortestPathBetween(startRoom, endRoom).size();
+        } catch (NoPathExistsException ex) {
+            result.pathLength = -1;
+        }
+        result.stageNanos[4] = System.nanoTime() - start;
+
+        result.rooms = original.getRooms().size();
+        result.walls = original.getWalls().size();
+        result.peakHeapBytes = peakHeap();
+        return result;
+    }
+
+    /**
+     * Collects garbage left over from the previous run, and starts tracking the peak
+     * heap usage from here.
+     */
+    private static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * Returns the sum of the peak usage of each heap pool since the last reset. The
+     * pools may peak at different times, so this is an upper bound on the real peak.
+     */
+    private static long peakHeap() {
+        long total = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                total += pool.getPeakUsage().getUsed();
+            }
+        }
+        return total;
+    }
+
+    private static void writeCsv(IList<Result> results, File file) throws IOException {
+        try (PrintWriter out = new PrintWriter(file, "UTF-8")) {
+            StringBuilder header = new StringBuilder("generator,carver,size,repetition,rooms,walls");
+            for (String stage : STAGES) {
+                header.append(',').append(stage).append("Millis");
+            }
+            header.append(",totalMillis,pathLength,peakHeapBytes");
+            out.println(header);
+            for (Result result : results) {
+                out.println(result.toCsv());
+            }
+        }
+    }
+
+    private static void writeJson(IList<Result> results, File file) throws IOException {
+        try (PrintWriter out = new PrintWriter(file, "UTF-8")) {
+            out.println("[");
+            int i = 0;
+            for (Result result : results) {
+                i++;
+                out.println("  " + result.toJson() + (i < results.size() ? "," : ""));
+            }
+            out.println("]");
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static class Result {
+        final String generator;
+        final String carver;
+        final int size;
+        final int repetition;
+        final long[] stageNanos = new long[STAGES.length];
+        int rooms;
+        int walls;
+        // The number of edges on the shortest path, or -1 if the maze was unsolvable.
+        int pathLength;
+        long peakHeapBytes;
+
+        public Result(String generator, String carver, int size, int repetition) {
+            this.generator = generator;
+            this.carver = carver;
+            this.size = size;
+            this.repetition = repetition;
+        }
+
+        public long totalNanos() {
+            long total = 0;
+            for (long nanos : this.stageNanos) {
+                total += nanos;
+            }
+            return total;
+        }
+
+        public String toCsv() {
+            StringBuilder out = new StringBuilder();
+            out.append(this.generator).append(',').append(this.carver).append(',').append(this.size)
+                    .append(',').append(this.repetition).append(',').append(this.rooms)
+                    .append(',').append(this.walls);
+            for (long nanos : this.stageNanos) {
+                out.append(',').append(millis(nanos));
+            }
+            out.append(',').append(millis(this.totalNanos())).append(',').append(this.pathLength)
+                    .append(',').append(this.peakHeapBytes);
+            return out.toString();
+        }
+
+        public String toJson() {
+            StringBuilder out = new StringBuilder("{");
+            out.append("\"generator\": \"").append(this.generator).append("\", ");
+            out.append("\"carver\": \"").append(this.carver).append("\", ");
+            out.append("\"size\": ").append(this.size).append(", ");
+            out.append("\"repetition\": ").append(this.repetition).append(", ");
+            out.append("\"rooms\": ").append(this.rooms).append(", ");
+            out.append("\"walls\": ").append(this.walls).append(", ");
+            out.append("\"stageMillis\": {");
+            for (int i = 0; i < STAGES.length; i++) {
+                out.append(i > 0 ? ", " : "").append('"').append(STAGES[i]).append("\": ")
+                        .append(millis(this.stageNanos[i]));
+            }
+            out.append("}, ");
+            out.append("\"totalMillis\": ").append(millis(this.totalNanos())).append(", ");
+            out.append("\"pathLength\": ").append(this.pathLength).append(", ");
+            out.append("\"peakHeapBytes\": ").append(this.peakHeapBytes);
+            return out.append('}').toString();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package mazes.io;
+
+/**
+ * The layout of the binary maze format shared by BinaryMazeWriter and BinaryMazeReader.
+ *
+ * A file is a sequence of maze records. Every value is a 4-byte big-endian int, and
+ * every record starts with an 8-int header:
+ *
+ *     magic ('MAZE'), version, id, rooms, corners, walls, passages, untouchable walls
+ *
+ * followed by flat sections of ints, in this order:
+ *
+ *     centers       rooms * 2            x and y of each room's center
+ *     offsets       rooms + 1            where each room's corners start in 'corners'
+ *     corners       corners * 2          x and y of every polygon corner, room by room
+ *     walls         walls * 6            room 1, room 2, start x, start y, end x, end y
+ *     passages      passages * 6         same as walls
+ *     untouchable   untouchable * 6      same as walls
+ *
+ * Rooms are referred to by their position in the centers section, starting from 0.
+ *
+ * The weight of each wall isn't stored: a wall's weight is the distance between the
+ * centers of its rooms everywhere outside of a carver, so the reader recomputes it.
+ */
+final class BinaryMazeFormat {
+    public static final int MAGIC = 0x4D415A45;
+    public static final int VERSION = 1;
+
+    public static final int HEADER_INTS = 8;
+    public static final int INTS_PER_WALL = 6;
+
+    private BinaryMazeFormat() {
+        // Not meant to be instantiated.
+    }
+
+    /**
+     * Returns the number of bytes in a record with the given counts, header included.
+     */
+    public static long recordBytes(int rooms, int corners, int walls, int passages, int untouchable) {
+        long ints = HEADER_INTS + 2L * rooms + (rooms + 1L) + 2L * corners
+                + (long) INTS_PER_WALL * ((long) walls + passages + untouchable);
+        return 4 * ints;
+    }
+}
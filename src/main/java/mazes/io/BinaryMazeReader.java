@@ -0,0 +1,173 @@
+package mazes.io;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.interfaces.ISet;
+import mazes.entities.LineSegment;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+
+import java.awt.Point;
+import java.awt.Polygon;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads back the mazes BinaryMazeWriter wrote, one at a time.
+ *
+ * The file is memory-mapped rather than read through a stream, and each section of a
+ * record is copied out of the mapping into an int array in one go, so loading a maze
+ * costs little more than allocating its rooms and walls.
+ *
+ * A single mapping can't be larger than 2GB, so bigger files are mapped a window at a
+ * time. Every record still has to fit into one window.
+ */
+public class BinaryMazeReader implements Closeable {
+    private static final long MAX_WINDOW = Integer.MAX_VALUE;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final long length;
+
+    // The part of the file currently mapped, and where the next record starts.
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+
+    public BinaryMazeReader(File file) throws IOException {
+        this.file = new RandomAccessFile(file, "r");
+        this.channel = this.file.getChannel();
+        this.length = this.channel.size();
+        this.windowStart = 0;
+        this.position = 0;
+        this.window = this.map(0);
+    }
+
+    /**
+     * Returns true if there's another maze left to read.
+     */
+    public boolean hasNext() {
+        return this.position < this.length;
+    }
+
+    /**
+     * Reads the next maze in the file.
+     *
+     * @throws NoSuchElementException if there are no mazes left
+     * @throws IOException if the file is truncated, or wasn't written by a BinaryMazeWriter
+     *                     of this version
+     */
+    public SavedMaze next() throws IOException {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        IntBuffer header = this.ints(this.position, BinaryMazeFormat.HEADER_INTS);
+        if (header.get(0) != BinaryMazeFormat.MAGIC) {
+            throw new IOException("not a maze record at byte " + this.position);
+        }
+        if (header.get(1) != BinaryMazeFormat.VERSION) {
+            throw new IOException("unsupported maze format version " + header.get(1));
+        }
+        int id = header.get(2);
+        int numRooms = header.get(3);
+        int numCorners = header.get(4);
+        int numWalls = header.get(5);
+        int numPassages = header.get(6);
+        int numUntouchable = header.get(7);
+        if (numRooms < 0 || numCorners < 0 || numWalls < 0 || numPassages < 0 || numUntouchable < 0) {
+            throw new IOException("corrupt maze record at byte " + this.position);
+        }
+        long recordBytes = BinaryMazeFormat.recordBytes(numRooms, numCorners, numWalls, numPassages, numUntouchable);
+        if (recordBytes > MAX_WINDOW) {
+            throw new IOException("maze record at byte " + this.position + " is too large to map");
+        }
+        IntBuffer record = this.ints(this.position, (int) (recordBytes / 4));
+        record.position(BinaryMazeFormat.HEADER_INTS);
+
+        int[] centers = new int[2 * numRooms];
+        int[] offsets = new int[numRooms + 1];
+        int[] corners = new int[2 * numCorners];
+        record.get(centers);
+        record.get(offsets);
+        record.get(corners);
+
+        Room[] rooms = new Room[numRooms];
+        ISet<Room> roomSet = new ChainedHashSet<>();
+        for (int i = 0; i < numRooms; i++) {
+            int start = offsets[i];
+            int npoints = offsets[i + 1] - start;
+            if (start < 0 || npoints < 0 || offsets[i + 1] > numCorners) {
+                throw new IOException("corrupt room " + i + " in maze " + id);
+            }
+            int[] xs = new int[npoints];
+            int[] ys = new int[npoints];
+            for (int j = 0; j < npoints; j++) {
+                xs[j] = corners[2 * (start + j)];
+                ys[j] = corners[2 * (start + j) + 1];
+            }
+            rooms[i] = new Room(new Point(centers[2 * i], centers[2 * i + 1]), new Polygon(xs, ys, npoints));
+            roomSet.add(rooms[i]);
+        }
+
+        ISet<Wall> walls = this.readWalls(record, numWalls, rooms, id);
+        ISet<Wall> passages = this.readWalls(record, numPassages, rooms, id);
+        ISet<Wall> untouchable = this.readWalls(record, numUntouchable, rooms, id);
+
+        this.position += recordBytes;
+        return new SavedMaze(id, new Maze(roomSet, walls, untouchable), passages, rooms);
+    }
+
+    private ISet<Wall> readWalls(IntBuffer record, int count, Room[] rooms, int id) throws IOException {
+        int[] data = new int[BinaryMazeFormat.INTS_PER_WALL * count];
+        record.get(data);
+        ISet<Wall> walls = new ChainedHashSet<>();
+        for (int i = 0; i < data.length; i += BinaryMazeFormat.INTS_PER_WALL) {
+            int room1 = data[i];
+            int room2 = data[i + 1];
+            if (room1 < 0 || room1 >= rooms.length || room2 < 0 || room2 >= rooms.length) {
+                throw new IOException("wall between unknown rooms in maze " + id);
+            }
+            LineSegment line = new LineSegment(
+                    new Point(data[i + 2], data[i + 3]),
+                    new Point(data[i + 4], data[i + 5]));
+            walls.add(new Wall(rooms[room1], rooms[room2], line));
+        }
+        return walls;
+    }
+
+    /**
+     * Returns a view of 'count' ints starting at the given byte of the file, sliding
+     * the mapped window forward if needed.
+     *
+     * @throws IOException if the file ends first
+     */
+    private IntBuffer ints(long start, int count) throws IOException {
+        long end = start + 4L * count;
+        if (end > this.length) {
+            throw new IOException("maze file is truncated at byte " + this.length);
+        }
+        if (start < this.windowStart || end > this.windowStart + this.window.capacity()) {
+            this.window = this.map(start);
+            this.windowStart = start;
+        }
+        MappedByteBuffer view = this.window;
+        view.limit((int) (end - this.windowStart));
+        view.position((int) (start - this.windowStart));
+        return view.slice().asIntBuffer();
+    }
+
+    private MappedByteBuffer map(long start) throws IOException {
+        return this.channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(this.length - start, MAX_WINDOW));
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.file.close();
+    }
+}
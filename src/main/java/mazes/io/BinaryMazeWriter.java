@@ -0,0 +1,89 @@
+package mazes.io;
+
+import datastructures.concrete.dictionaries.ObjectToIntDictionary;
+import datastructures.interfaces.ISet;
+import mazes.entities.LineSegment;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+
+import java.awt.Polygon;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes mazes in the compact binary format described in BinaryMazeFormat, which
+ * BinaryMazeReader can load back without parsing any text.
+ */
+public class BinaryMazeWriter implements MazeWriter {
+    private final DataOutputStream out;
+
+    /**
+     * Creates a writer that appends to 'out'. For performance, 'out' should usually
+     * be buffered.
+     */
+    public BinaryMazeWriter(OutputStream out) {
+        this.out = new DataOutputStream(out);
+    }
+
+    @Override
+    public void write(int id, Maze maze, ISet<Wall> passages) throws IOException {
+        int numRooms = maze.getRooms().size();
+        ObjectToIntDictionary<Room> ids = new ObjectToIntDictionary<>(numRooms);
+        int numCorners = 0;
+        for (Room room : maze.getRooms()) {
+            ids.put(room, ids.size());
+            numCorners += room.getPolygon().npoints;
+        }
+
+        this.out.writeInt(BinaryMazeFormat.MAGIC);
+        this.out.writeInt(BinaryMazeFormat.VERSION);
+        this.out.writeInt(id);
+        this.out.writeInt(numRooms);
+        this.out.writeInt(numCorners);
+        this.out.writeInt(maze.getWalls().size());
+        this.out.writeInt(passages.size());
+        this.out.writeInt(maze.getUntouchableWalls().size());
+
+        // The sets iterate in the same order every time, so the rooms come out in the
+        // order they were numbered above.
+        for (Room room : maze.getRooms()) {
+            this.out.writeInt(room.getCenter().x);
+            this.out.writeInt(room.getCenter().y);
+        }
+        int offset = 0;
+        this.out.writeInt(offset);
+        for (Room room : maze.getRooms()) {
+            offset += room.getPolygon().npoints;
+            this.out.writeInt(offset);
+        }
+        for (Room room : maze.getRooms()) {
+            Polygon polygon = room.getPolygon();
+            for (int i = 0; i < polygon.npoints; i++) {
+                this.out.writeInt(polygon.xpoints[i]);
+                this.out.writeInt(polygon.ypoints[i]);
+            }
+        }
+        this.writeWalls(maze.getWalls(), ids);
+        this.writeWalls(passages, ids);
+        this.writeWalls(maze.getUntouchableWalls(), ids);
+    }
+
+    private void writeWalls(ISet<Wall> walls, ObjectToIntDictionary<Room> ids) throws IOException {
+        for (Wall wall : walls) {
+            LineSegment segment = wall.getDividingLine();
+            this.out.writeInt(ids.get(wall.getRoom1()));
+            this.out.writeInt(ids.get(wall.getRoom2()));
+            this.out.writeInt(segment.start.x);
+            this.out.writeInt(segment.start.y);
+            this.out.writeInt(segment.end.x);
+            this.out.writeInt(segment.end.y);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.out.close();
+    }
+}
@@ -0,0 +1,26 @@
+package mazes.io;
+
+import datastructures.interfaces.ISet;
+import mazes.entities.Maze;
+import mazes.entities.Wall;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes carved mazes to a stream, one after another.
+ *
+ * A carved maze only knows about the walls still standing, so the walls the carver
+ * removed are passed in separately; together they're enough to rebuild the graph
+ * OptionsPanel solves.
+ */
+public interface MazeWriter extends Closeable {
+    /**
+     * Appends the given maze to the output.
+     *
+     * @param id  a number identifying the maze, which is written along with it
+     * @param maze  the carved maze
+     * @param passages  the walls that were removed from the base maze
+     */
+    public void write(int id, Maze maze, ISet<Wall> passages) throws IOException;
+}
@@ -0,0 +1,65 @@
+package mazes.io;
+
+import datastructures.concrete.CircularArrayList;
+import datastructures.concrete.CompactGraph;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+
+/**
+ * A maze read back from disk, along with the walls that were carved out of it.
+ */
+public class SavedMaze {
+    private final int id;
+    private final Maze maze;
+    private final ISet<Wall> passages;
+    private final Room[] rooms;
+
+    SavedMaze(int id, Maze maze, ISet<Wall> passages, Room[] rooms) {
+        this.id = id;
+        this.maze = maze;
+        this.passages = passages;
+        this.rooms = rooms;
+    }
+
+    /**
+     * Returns the id the maze was written with.
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Returns the carved maze.
+     */
+    public Maze getMaze() {
+        return this.maze;
+    }
+
+    /**
+     * Returns the walls that were removed from the base maze.
+     */
+    public ISet<Wall> getPassages() {
+        return this.passages;
+    }
+
+    /**
+     * Returns a graph of every room, connected by the passages between them: the
+     * graph OptionsPanel finds the shortest path in. Vertex 'i' of the graph is the
+     * 'i'th room in the file.
+     */
+    public CompactGraph<Room, Wall> toGraph() {
+        // The file header gives both counts, so the lists never have to grow.
+        IList<Room> vertices = new CircularArrayList<>(this.rooms.length);
+        for (Room room : this.rooms) {
+            vertices.add(room);
+        }
+        IList<Wall> edges = new CircularArrayList<>(this.passages.size());
+        for (Wall passage : this.passages) {
+            edges.add(passage);
+        }
+        return new CompactGraph<>(vertices, edges);
+    }
+}
@@ -0,0 +1,81 @@
+package mazes.io;
+
+import datastructures.concrete.dictionaries.ObjectToIntDictionary;
+import datastructures.interfaces.ISet;
+import mazes.entities.LineSegment;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+
+import java.awt.Polygon;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes mazes in a simple, line-based text format.
+ *
+ * Every maze starts with a header line, followed by one line per room and then one
+ * line per wall, passage and untouchable wall, in that order:
+ *
+ *     maze <id> <rooms> <walls> <passages> <untouchable walls>
+ *     r <center x> <center y> <number of corners> <x1> <y1> <x2> <y2> ...
+ *     w <room 1> <room 2> <start x> <start y> <end x> <end y>
+ *     p <room 1> <room 2> <start x> <start y> <end x> <end y>
+ *     u <room 1> <room 2> <start x> <start y> <end x> <end y>
+ *
+ * Rooms are referred to by the order their lines appear in, starting from 0.
+ */
+public class TextMazeWriter implements MazeWriter {
+    private final Writer out;
+
+    /**
+     * Creates a writer that appends to 'out'. For performance, 'out' should usually
+     * be buffered.
+     */
+    public TextMazeWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(int id, Maze maze, ISet<Wall> passages) throws IOException {
+        StringBuilder line = new StringBuilder();
+        line.append("maze ").append(id).append(' ').append(maze.getRooms().size())
+                .append(' ').append(maze.getWalls().size()).append(' ').append(passages.size())
+                .append(' ').append(maze.getUntouchableWalls().size()).append('\n');
+        this.out.write(line.toString());
+
+        ObjectToIntDictionary<Room> ids = new ObjectToIntDictionary<>(maze.getRooms().size());
+        for (Room room : maze.getRooms()) {
+            ids.put(room, ids.size());
+            Polygon polygon = room.getPolygon();
+            line.setLength(0);
+            line.append("r ").append(room.getCenter().x).append(' ').append(room.getCenter().y)
+                    .append(' ').append(polygon.npoints);
+            for (int i = 0; i < polygon.npoints; i++) {
+                line.append(' ').append(polygon.xpoints[i]).append(' ').append(polygon.ypoints[i]);
+            }
+            this.out.write(line.append('\n').toString());
+        }
+        this.writeWalls('w', maze.getWalls(), ids, line);
+        this.writeWalls('p', passages, ids, line);
+        this.writeWalls('u', maze.getUntouchableWalls(), ids, line);
+    }
+
+    private void writeWalls(char kind, ISet<Wall> walls, ObjectToIntDictionary<Room> ids, StringBuilder line)
+            throws IOException {
+        for (Wall wall : walls) {
+            LineSegment segment = wall.getDividingLine();
+            line.setLength(0);
+            line.append(kind).append(' ').append(ids.get(wall.getRoom1())).append(' ')
+                    .append(ids.get(wall.getRoom2())).append(' ').append(segment.start.x)
+                    .append(' ').append(segment.start.y).append(' ').append(segment.end.x)
+                    .append(' ').append(segment.end.y).append('\n');
+            this.out.write(line.toString());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.out.close();
+    }
+}
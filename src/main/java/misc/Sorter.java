@@ -1,7 +1,7 @@
 package misc;
 
 import datastructures.concrete.ArrayHeap;
-import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.CircularArrayList;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.IPriorityQueue;
 
@@ -39,7 +39,7 @@ public class Sorter {
         }
 
         IPriorityQueue<T> heap = new ArrayHeap<>();
-        IList<T> output = new DoubleLinkedList<>();
+        IList<T> output = new CircularArrayList<>();
         if (k == 0){
             return output;
         }
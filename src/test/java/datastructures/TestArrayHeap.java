@@ -433,6 +433,25 @@ public class TestArrayHeap extends BaseTest {
         assertEquals(values[4], heap.removeMin());
     }
 
+    @Test(timeout=SECOND)
+    public void testUpdateAfterRemoveMin() {
+        IntWrapper[] values = IntWrapper.createArray(new int[]{0, 1});
+        IPriorityQueue<IntWrapper> heap = this.makeInstance();
+
+        for (IntWrapper value : values) {
+            heap.add(value);
+        }
+
+        // The last element gets moved to the root; it must still be replaceable.
+        assertEquals(values[0], heap.removeMin());
+        IntWrapper newValue = new IntWrapper(3);
+        heap.replace(values[1], newValue);
+
+        assertEquals(1, heap.size());
+        assertEquals(newValue, heap.removeMin());
+        assertEquals(0, heap.size());
+    }
+
     /**
      * A comparable wrapper class for ints. Uses reference equality so that two different IntWrappers
      * with the same value are not necessarily equal--this means that you may have multiple different
@@ -7,7 +7,9 @@ import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.runners.MethodSorters;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import static org.junit.Assert.assertFalse;
@@ -240,6 +242,25 @@ public class TestChainedHashSet extends BaseTest {
         assertTrue(copy.isEmpty());
     }
 
+    @Test(timeout=SECOND)
+    public void testForEachMatchesIterator() {
+        ISet<String> set = new ChainedHashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            set.add("" + i);
+        }
+        set.add(null);
+
+        List<String> iterated = new ArrayList<>();
+        for (String item : set) {
+            iterated.add(item);
+        }
+        List<String> visited = new ArrayList<>();
+        set.forEach(visited::add);
+
+        assertEquals(iterated, visited);
+        assertEquals(set.size(), visited.size());
+    }
+
     @Test(timeout=SECOND)
     public void testIteratorUnusualKeys() {
         ISet<String> map = new ChainedHashSet<>();
@@ -0,0 +1,327 @@
+package datastructures;
+
+import datastructures.TestGraph.SimpleEdge;
+import datastructures.concrete.ArrayDisjointSet;
+import datastructures.concrete.CompactGraph;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.Graph;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.ISet;
+import misc.BaseTest;
+import misc.exceptions.NoPathExistsException;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestCompactGraph extends BaseTest {
+    // We reuse the sample graphs (and path checking helpers) from TestGraph.
+    private TestGraph graphs = new TestGraph();
+
+    private void assertShortestPathMatches(CompactGraph<String, SimpleEdge> graph,
+                                           double expectedCost, String[] expectedPath) {
+        IList<SimpleEdge> path = graph.findShortestPathBetween(
+                expectedPath[0],
+                expectedPath[expectedPath.length - 1]);
+        assertEquals(expectedCost, totalWeight(path), 0.0001);
+        assertTrue(this.graphs.pathToString(path), this.graphs.checkPathMatches(path, expectedPath));
+    }
+
+    private static double totalWeight(Iterable<SimpleEdge> edges) {
+        double cost = 0;
+        for (SimpleEdge edge : edges) {
+            cost += edge.getWeight();
+        }
+        return cost;
+    }
+
+    @Test(timeout=SECOND)
+    public void testSizeMethods() {
+        assertEquals(4, this.graphs.buildSimpleGraph().toCompactGraph().numVertices());
+        assertEquals(3, this.graphs.buildSimpleGraph().toCompactGraph().numEdges());
+        assertEquals(5, this.graphs.buildNonSimpleGraph().toCompactGraph().numVertices());
+        assertEquals(10, this.graphs.buildNonSimpleGraph().toCompactGraph().numEdges());
+    }
+
+    @Test(timeout=SECOND)
+    public void testVertexIds() {
+        CompactGraph<String, SimpleEdge> graph = this.graphs.buildSimpleGraph().toCompactGraph();
+        for (String vertex : new String[] {"a", "b", "c", "d"}) {
+            assertEquals(vertex, graph.getVertex(graph.vertexId(vertex)));
+        }
+        try {
+            graph.vertexId("z");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testGraphWithBadEdgeNotPermitted() {
+        IList<String> vertices = new DoubleLinkedList<>();
+        vertices.add("a");
+        vertices.add("b");
+
+        IList<SimpleEdge> edges = new DoubleLinkedList<>();
+        edges.add(this.graphs.edge("a", "b", 3));
+        edges.add(this.graphs.edge("b", "c", 4));
+
+        try {
+            new CompactGraph<>(vertices, edges);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testFindingMst() {
+        CompactGraph<String, SimpleEdge> graph = this.graphs.buildNonSimpleGraph().toCompactGraph();
+        ISet<SimpleEdge> mst = graph.findMinimumSpanningTree();
+        assertEquals(graph.numVertices() - 1, mst.size());
+        assertEquals(5.0, totalWeight(mst), 0.0001);
+    }
+
+    @Test(timeout=SECOND)
+    public void testFindingMstFilterKruskal() {
+        CompactGraph<String, SimpleEdge> graph = this.graphs.buildNonSimpleGraph().toCompactGraph();
+        ISet<SimpleEdge> mst = graph.findMinimumSpanningTreeFilterKruskal();
+        assertEquals(graph.numVertices() - 1, mst.size());
+        assertEquals(5.0, totalWeight(mst), 0.0001);
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testFilterKruskalOnLargeGraph() {
+        // Big enough that Filter-Kruskal partitions and filters several times before
+        // falling back to sorting.
+        Random rand = new Random(373);
+        int numVertices = 2000;
+        IList<String> vertices = new DoubleLinkedList<>();
+        for (int i = 0; i < numVertices; i++) {
+            vertices.add("v" + i);
+        }
+        IList<SimpleEdge> edges = new DoubleLinkedList<>();
+        for (int i = 1; i < numVertices; i++) {
+            edges.add(this.graphs.edge("v" + rand.nextInt(i), "v" + i, rand.nextInt(1000)));
+        }
+        for (int i = 0; i < 40000; i++) {
+            edges.add(this.graphs.edge(
+                    "v" + rand.nextInt(numVertices), "v" + rand.nextInt(numVertices), rand.nextInt(1000)));
+        }
+        CompactGraph<String, SimpleEdge> graph = new CompactGraph<>(vertices, edges);
+
+        ISet<SimpleEdge> mst = graph.findMinimumSpanningTreeFilterKruskal();
+        assertEquals(numVertices - 1, mst.size());
+        assertEquals(totalWeight(graph.findMinimumSpanningTree()), totalWeight(mst), 0.0001);
+    }
+
+    @Test(timeout=SECOND)
+    public void testFindingMstPrim() {
+        CompactGraph<String, SimpleEdge> graph = this.graphs.buildNonSimpleGraph().toCompactGraph();
+        ISet<SimpleEdge> mst = graph.findMinimumSpanningTreePrim();
+        assertEquals(graph.numVertices() - 1, mst.size());
+        assertEquals(5.0, totalWeight(mst), 0.0001);
+    }
+
+    @Test(timeout=SECOND)
+    public void testFindingSpanningTreeInOrder() {
+        CompactGraph<String, SimpleEdge> graph = this.graphs.buildNonSimpleGraph().toCompactGraph();
+        // Taking the edges heaviest-first gives a maximum spanning tree: b-d, then
+        // a-c or c-e, then the other, then a-b or a-e.
+        int[] order = {5, 1, 9, 0, 2, 7, 8, 3, 4, 6};
+        ISet<SimpleEdge> tree = graph.findSpanningTreeInOrder(order);
+        assertEquals(graph.numVertices() - 1, tree.size());
+        assertEquals(12.0, totalWeight(tree), 0.0001);
+
+        try {
+            graph.findSpanningTreeInOrder(new int[] {0, graph.numEdges()});
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testWithWeightsLeavesOriginalUnchanged() {
+        CompactGraph<String, SimpleEdge> graph = this.graphs.buildNonSimpleGraph().toCompactGraph();
+        // Every edge weighs 10, except b-c (edge 4), which is free.
+        double[] weights = new double[graph.numEdges()];
+        for (int e = 0; e < weights.length; e++) {
+            weights[e] = e == 4 ? 0 : 10;
+        }
+        CompactGraph<String, SimpleEdge> reweighted = graph.withWeights(weights);
+        assertEquals(graph.numVertices(), reweighted.numVertices());
+        assertEquals(graph.getEdge(3), reweighted.getEdge(3));
+
+        // Changing the array afterwards doesn't affect the new graph.
+        weights[4] = 100;
+        assertTrue(reweighted.findMinimumSpanningTree().contains(graph.getEdge(4)));
+        assertTrue(reweighted.findMinimumSpanningTreePrim().contains(graph.getEdge(4)));
+        assertEquals(5.0, totalWeight(graph.findMinimumSpanningTree()), 0.0001);
+    }
+
+    @Test(timeout=SECOND)
+    public void testFindingMstParallel() {
+        CompactGraph<String, SimpleEdge> graph = this.graphs.buildNonSimpleGraph().toCompactGraph();
+        ISet<SimpleEdge> mst = graph.findMinimumSpanningTreeParallel(ForkJoinPool.commonPool());
+        assertEquals(graph.numVertices() - 1, mst.size());
+        assertEquals(5.0, totalWeight(mst), 0.0001);
+    }
+
+    @Test(timeout=SECOND)
+    public void testFindingMstParallelDisconnectedComponents() {
+        // The disconnected graph has two components, so its spanning forest has
+        // one edge fewer than a spanning tree would.
+        CompactGraph<String, SimpleEdge> graph = this.graphs.buildDisconnectedGraph().toCompactGraph();
+        ISet<SimpleEdge> forest = graph.findMinimumSpanningTreeParallel(ForkJoinPool.commonPool());
+        assertEquals(graph.numVertices() - 2, forest.size());
+    }
+
+    /**
+     * Checks the given edges don't form a cycle, and returns how many of them there are.
+     */
+    private static int assertAcyclic(CompactGraph<String, SimpleEdge> graph, ISet<SimpleEdge> edges) {
+        ArrayDisjointSet<String> components = new ArrayDisjointSet<>();
+        for (int v = 0; v < graph.numVertices(); v++) {
+            components.makeSet(graph.getVertex(v));
+        }
+        for (SimpleEdge edge : edges) {
+            assertTrue(components.findSet(edge.getVertex1()) != components.findSet(edge.getVertex2()));
+            components.union(edge.getVertex1(), edge.getVertex2());
+        }
+        return edges.size();
+    }
+
+    @Test(timeout=SECOND)
+    public void testFindingRandomSpanningTree() {
+        CompactGraph<String, SimpleEdge> graph = this.graphs.buildNonSimpleGraph().toCompactGraph();
+        Random rand = new Random(373);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(graph.numVertices() - 1, assertAcyclic(graph, graph.findRandomSpanningTreeWilson(rand)));
+            assertEquals(graph.numVertices() - 1,
+                    assertAcyclic(graph, graph.findRandomSpanningTreeAldousBroder(rand)));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testFindingRandomSpanningTreeDisconnectedComponents() {
+        CompactGraph<String, SimpleEdge> graph = this.graphs.buildDisconnectedGraph().toCompactGraph();
+        Random rand = new Random(373);
+        assertEquals(graph.numVertices() - 2, assertAcyclic(graph, graph.findRandomSpanningTreeWilson(rand)));
+        assertEquals(graph.numVertices() - 2, assertAcyclic(graph, graph.findRandomSpanningTreeAldousBroder(rand)));
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testRandomSpanningTreesAreUniform() {
+        // A square with one diagonal has 8 spanning trees, which should all turn up
+        // about equally often. Each tree is identified by a bitmask of its edges.
+        IList<String> vertices = new DoubleLinkedList<>();
+        vertices.add("a");
+        vertices.add("b");
+        vertices.add("c");
+        vertices.add("d");
+        IList<SimpleEdge> edges = new DoubleLinkedList<>();
+        edges.add(this.graphs.edge("a", "b", 1));
+        edges.add(this.graphs.edge("b", "c", 1));
+        edges.add(this.graphs.edge("c", "d", 1));
+        edges.add(this.graphs.edge("d", "a", 1));
+        edges.add(this.graphs.edge("a", "c", 1));
+        CompactGraph<String, SimpleEdge> graph = new CompactGraph<>(vertices, edges);
+
+        Random rand = new Random(373);
+        for (int algorithm = 0; algorithm < 2; algorithm++) {
+            int[] counts = new int[1 << graph.numEdges()];
+            for (int i = 0; i < 8000; i++) {
+                ISet<SimpleEdge> tree = algorithm == 0
+                        ? graph.findRandomSpanningTreeWilson(rand)
+                        : graph.findRandomSpanningTreeAldousBroder(rand);
+                int mask = 0;
+                for (int e = 0; e < graph.numEdges(); e++) {
+                    if (tree.contains(graph.getEdge(e))) {
+                        mask |= 1 << e;
+                    }
+                }
+                counts[mask]++;
+            }
+            int numTrees = 0;
+            for (int count : counts) {
+                if (count > 0) {
+                    numTrees++;
+                    // Expect 1000 of each; this is more than 6 standard deviations.
+                    assertTrue("count was " + count, count > 800 && count < 1200);
+                }
+            }
+            assertEquals(8, numTrees);
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testFindingShortestPath() {
+        CompactGraph<String, SimpleEdge> graph = this.graphs.buildNonSimpleGraph().toCompactGraph();
+
+        assertShortestPathMatches(graph, 3, new String[] {"a", "b", "c", "d"});
+        assertShortestPathMatches(graph, 3, new String[] {"d", "c", "b", "a"});
+        assertShortestPathMatches(graph, 4, new String[] {"d", "c", "e"});
+        assertShortestPathMatches(graph, 2, new String[] {"a", "e"});
+        assertEquals(0, graph.findShortestPathBetween("a", "a").size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testFindingShortestPathDisconnectedComponents() {
+        CompactGraph<String, SimpleEdge> graph = this.graphs.buildDisconnectedGraph().toCompactGraph();
+
+        assertShortestPathMatches(graph, 6, new String[] {"a", "b", "c", "f", "e", "g"});
+        assertShortestPathMatches(graph, 2, new String[] {"i", "k"});
+        try {
+            graph.findShortestPathBetween("a", "i");
+            fail("Expected NoPathExistsException");
+        } catch (NoPathExistsException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testMatchesGraphOnRandomGraphs() {
+        Random rand = new Random(373);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        for (int trial = 0; trial < 20; trial++) {
+            int numVertices = 50;
+            IList<String> vertices = new DoubleLinkedList<>();
+            for (int i = 0; i < numVertices; i++) {
+                vertices.add("v" + i);
+            }
+            IList<SimpleEdge> edges = new DoubleLinkedList<>();
+            for (int i = 1; i < numVertices; i++) {
+                // Attaching each vertex to an earlier one keeps the graph connected.
+                edges.add(this.graphs.edge("v" + rand.nextInt(i), "v" + i, rand.nextInt(100)));
+            }
+            for (int i = 0; i < 150; i++) {
+                edges.add(this.graphs.edge(
+                        "v" + rand.nextInt(numVertices), "v" + rand.nextInt(numVertices), rand.nextInt(10)));
+            }
+            Graph<String, SimpleEdge> graph = new Graph<>(vertices, edges);
+            CompactGraph<String, SimpleEdge> compact = graph.toCompactGraph();
+
+            assertEquals(totalWeight(graph.findMinimumSpanningTree()),
+                    totalWeight(compact.findMinimumSpanningTree()), 0.0001);
+            // Small integer weights mean lots of ties for Boruvka to break.
+            assertEquals(totalWeight(graph.findMinimumSpanningTree()),
+                    totalWeight(compact.findMinimumSpanningTreeParallel(pool)), 0.0001);
+            assertEquals(numVertices - 1, compact.findMinimumSpanningTreeParallel(pool).size());
+            assertEquals(totalWeight(graph.findMinimumSpanningTree()),
+                    totalWeight(compact.findMinimumSpanningTreeFilterKruskal()), 0.0001);
+            assertEquals(totalWeight(graph.findMinimumSpanningTree()),
+                    totalWeight(compact.findMinimumSpanningTreePrim()), 0.0001);
+            for (int i = 0; i < 10; i++) {
+                String start = "v" + rand.nextInt(numVertices);
+                String end = "v" + rand.nextInt(numVertices);
+                assertEquals(totalWeight(graph.findShortestPathBetween(start, end)),
+                        totalWeight(compact.findShortestPathBetween(start, end)), 0.0001);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package datastructures;
+
+import datastructures.concrete.ConcurrentIntDisjointSet;
+import misc.BaseTest;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestConcurrentIntDisjointSet extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testFindSimple() {
+        ConcurrentIntDisjointSet forest = new ConcurrentIntDisjointSet(5);
+        assertEquals(5, forest.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, forest.find(i));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testUnionSimple() {
+        ConcurrentIntDisjointSet forest = new ConcurrentIntDisjointSet(5);
+        assertTrue(forest.union(0, 1));
+        assertTrue(forest.union(2, 3));
+        assertFalse(forest.union(1, 0));
+
+        assertTrue(forest.sameSet(0, 1));
+        assertTrue(forest.sameSet(3, 2));
+        assertFalse(forest.sameSet(1, 2));
+        assertEquals(4, forest.find(4));
+
+        assertTrue(forest.union(1, 3));
+        assertEquals(forest.find(0), forest.find(2));
+        assertFalse(forest.sameSet(0, 4));
+    }
+
+    @Test(timeout=SECOND)
+    public void testLongChain() {
+        ConcurrentIntDisjointSet forest = new ConcurrentIntDisjointSet(1000);
+        for (int i = 0; i < 999; i++) {
+            assertTrue(forest.union(i, i + 1));
+        }
+        int root = forest.find(0);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(root, forest.find(i));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testNegativeSizeNotPermitted() {
+        try {
+            new ConcurrentIntDisjointSet(-1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testConcurrentUnionsMergeEachPairOnce() throws InterruptedException {
+        // Every thread tries to link the same chain, so the unions race against each
+        // other. Exactly size - 1 of them should report doing a merge.
+        int size = 100000;
+        ConcurrentIntDisjointSet forest = new ConcurrentIntDisjointSet(size);
+        AtomicInteger merges = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < size - 1; i++) {
+                    // Each thread walks the chain from a different starting point.
+                    int id = (i + offset * (size / 4)) % (size - 1);
+                    if (forest.union(id, id + 1)) {
+                        merges.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(size - 1, merges.get());
+        int root = forest.find(0);
+        for (int i = 0; i < size; i++) {
+            assertEquals(root, forest.find(i));
+        }
+    }
+}
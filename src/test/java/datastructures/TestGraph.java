@@ -1,14 +1,20 @@
 package datastructures;
 
+import datastructures.concrete.ChainedHashSet;
 import datastructures.concrete.DoubleLinkedList;
 import datastructures.concrete.Graph;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
 import datastructures.interfaces.IEdge;
+import datastructures.interfaces.IHeuristic;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.ISet;
 import misc.BaseTest;
 import misc.exceptions.NoPathExistsException;
 import org.junit.Test;
 
+import java.util.Random;
+
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -345,6 +351,172 @@ public class TestGraph extends BaseTest {
         }
     }
 
+    @Test(timeout=SECOND)
+    public void testFindingMstWithEachAlgorithm() {
+        Graph<String, SimpleEdge> graph = this.buildNonSimpleGraph();
+        for (Graph.MstAlgorithm algorithm : Graph.MstAlgorithm.values()) {
+            ISet<SimpleEdge> mst = graph.findMinimumSpanningTree(algorithm);
+            assertEquals(algorithm.toString(), graph.numVertices() - 1, mst.size());
+            assertEquals(algorithm.toString(), 5.0, totalWeight(mst), 0.0001);
+        }
+    }
+
+    /**
+     * Weighs every edge in the graph 10, except the given cheap ones, which weigh 0.
+     */
+    private static IDictionary<SimpleEdge, Double> weighAllBut(Iterable<SimpleEdge> edges, ISet<SimpleEdge> cheap) {
+        IDictionary<SimpleEdge, Double> weights = new ChainedHashDictionary<>();
+        for (SimpleEdge edge : edges) {
+            weights.put(edge, cheap.contains(edge) ? 0.0 : 10.0);
+        }
+        return weights;
+    }
+
+    @Test(timeout=SECOND)
+    public void testFindingMstWithExternalWeights() {
+        IList<String> vertices = new DoubleLinkedList<>();
+        for (String vertex : new String[] {"a", "b", "c", "d", "e"}) {
+            vertices.add(vertex);
+        }
+        IList<SimpleEdge> edges = new DoubleLinkedList<>();
+        ISet<SimpleEdge> cheap = new ChainedHashSet<>();
+        edges.add(edge("a", "b", 2));
+        edges.add(edge("a", "c", 3));
+        edges.add(edge("a", "e", 2));
+        edges.add(edge("b", "b", 1));
+        edges.add(edge("b", "c", 0));
+        edges.add(edge("b", "d", 4));
+        edges.add(edge("c", "c", 0));
+        edges.add(edge("c", "d", 2));
+        edges.add(edge("c", "d", 1));
+        edges.add(edge("c", "e", 3));
+        // Make a-b, a-c, a-e and b-d the only cheap ones.
+        cheap.add(edges.get(0));
+        cheap.add(edges.get(1));
+        cheap.add(edges.get(2));
+        cheap.add(edges.get(5));
+
+        Graph<String, SimpleEdge> graph = new Graph<>(vertices, edges);
+        IDictionary<SimpleEdge, Double> weights = weighAllBut(edges, cheap);
+        for (Graph.MstAlgorithm algorithm : Graph.MstAlgorithm.values()) {
+            ISet<SimpleEdge> mst = graph.findMinimumSpanningTree(algorithm, weights);
+            assertEquals(algorithm.toString(), 4, mst.size());
+            for (SimpleEdge edge : cheap) {
+                assertTrue(algorithm.toString(), mst.contains(edge));
+            }
+            // The tree is made of the edges' own weights 2 + 3 + 2 + 4...
+            assertEquals(algorithm.toString(), 11.0, totalWeight(mst), 0.0001);
+        }
+        // ...and those weights were never changed.
+        assertEquals(5.0, totalWeight(graph.findMinimumSpanningTree()), 0.0001);
+    }
+
+    @Test(timeout=SECOND)
+    public void testFindingMstWithExternalWeightsOnGraphBuiltFromSets() {
+        // A set has no order, so the weights can't depend on the order the edges
+        // were passed in.
+        ISet<String> vertices = new ChainedHashSet<>();
+        ISet<SimpleEdge> edges = new ChainedHashSet<>();
+        ISet<SimpleEdge> cheap = new ChainedHashSet<>();
+        for (int i = 0; i < 50; i++) {
+            vertices.add("" + i);
+        }
+        for (int i = 1; i < 50; i++) {
+            // Along the line, the edges' own weights make it expensive...
+            SimpleEdge line = edge("" + (i - 1), "" + i, 100);
+            edges.add(line);
+            cheap.add(line);
+            // ...while the star through vertex 0 is cheap, but only by its own weights.
+            if (i > 1) {
+                edges.add(edge("0", "" + i, 1));
+            }
+        }
+        Graph<String, SimpleEdge> graph = new Graph<>(vertices, edges);
+        IDictionary<SimpleEdge, Double> weights = weighAllBut(edges, cheap);
+        for (Graph.MstAlgorithm algorithm : Graph.MstAlgorithm.values()) {
+            ISet<SimpleEdge> mst = graph.findMinimumSpanningTree(algorithm, weights);
+            assertEquals(algorithm.toString(), 49, mst.size());
+            for (SimpleEdge edge : cheap) {
+                assertTrue(algorithm.toString(), mst.contains(edge));
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testFindingMstWithBadExternalWeights() {
+        Graph<String, SimpleEdge> graph = this.buildNonSimpleGraph();
+        try {
+            graph.findMinimumSpanningTree(Graph.MstAlgorithm.KRUSKAL, null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+
+        // The graph's edges aren't in this dictionary at all.
+        IDictionary<SimpleEdge, Double> missing = new ChainedHashDictionary<>();
+        missing.put(edge("a", "b", 2), 1.0);
+        try {
+            graph.findMinimumSpanningTree(Graph.MstAlgorithm.KRUSKAL, missing);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+
+        IList<String> vertices = new DoubleLinkedList<>();
+        vertices.add("a");
+        vertices.add("b");
+        IList<SimpleEdge> edges = new DoubleLinkedList<>();
+        edges.add(edge("a", "b", 1));
+        Graph<String, SimpleEdge> small = new Graph<>(vertices, edges);
+        for (double bad : new double[] {-1, Double.NaN}) {
+            IDictionary<SimpleEdge, Double> weights = new ChainedHashDictionary<>();
+            weights.put(edges.get(0), bad);
+            try {
+                small.findMinimumSpanningTree(Graph.MstAlgorithm.KRUSKAL, weights);
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException ex) {
+                // All ok -- expected result
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testFindingMstPrimDisconnectedComponents() {
+        // Prim restarts in every component, so it returns a spanning forest.
+        Graph<String, SimpleEdge> graph = this.buildDisconnectedGraph();
+        ISet<SimpleEdge> forest = graph.findMinimumSpanningTree(Graph.MstAlgorithm.PRIM);
+        assertEquals(graph.numVertices() - 2, forest.size());
+        assertEquals(totalWeight(graph.findMinimumSpanningTree()), totalWeight(forest), 0.0001);
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testMstAlgorithmsAgreeOnRandomGraphs() {
+        Random rand = new Random(373);
+        for (int trial = 0; trial < 20; trial++) {
+            int numVertices = 40 + trial * 10;
+            IList<String> vertices = new DoubleLinkedList<>();
+            for (int i = 0; i < numVertices; i++) {
+                vertices.add("v" + i);
+            }
+            IList<SimpleEdge> edges = new DoubleLinkedList<>();
+            for (int i = 1; i < numVertices; i++) {
+                edges.add(edge("v" + rand.nextInt(i), "v" + i, rand.nextInt(50)));
+            }
+            // Sparse graphs first, dense ones later.
+            for (int i = 0; i < numVertices * trial; i++) {
+                edges.add(edge("v" + rand.nextInt(numVertices), "v" + rand.nextInt(numVertices), rand.nextInt(50)));
+            }
+            Graph<String, SimpleEdge> graph = new Graph<>(vertices, edges);
+
+            double expected = totalWeight(graph.findMinimumSpanningTree());
+            for (Graph.MstAlgorithm algorithm : Graph.MstAlgorithm.values()) {
+                ISet<SimpleEdge> mst = graph.findMinimumSpanningTree(algorithm);
+                assertEquals(algorithm.toString(), numVertices - 1, mst.size());
+                assertEquals(algorithm.toString(), expected, totalWeight(mst), 0.0001);
+            }
+        }
+    }
+
     @Test(timeout=SECOND)
     public void testFindingShortestPathSimple() {
         Graph<String, SimpleEdge> graph = this.buildSimpleGraph();
@@ -395,4 +567,114 @@ public class TestGraph extends BaseTest {
             // All ok -- expected result
         }
     }
+
+    @Test(timeout=SECOND)
+    public void testFindingShortestPathWithHeuristic() {
+        // Vertices "0" through "9" sit on a line, one unit apart; the heuristic is the
+        // distance along that line, which never overestimates.
+        IList<String> vertices = new DoubleLinkedList<>();
+        IList<SimpleEdge> edges = new DoubleLinkedList<>();
+        for (int i = 0; i < 10; i++) {
+            vertices.add("" + i);
+            if (i > 0) {
+                edges.add(edge("" + (i - 1), "" + i, 1));
+            }
+        }
+        // A shortcut that looks promising but is longer than walking along the line.
+        edges.add(edge("0", "9", 10));
+        Graph<String, SimpleEdge> graph = new Graph<>(vertices, edges);
+        IHeuristic<String> heuristic = (vertex, goal) -> Math.abs(Integer.parseInt(vertex) - Integer.parseInt(goal));
+
+        Graph.SearchResult<SimpleEdge> withHeuristic = graph.searchShortestPathBetween("2", "5", heuristic);
+        assertTrue(checkPathMatches(withHeuristic.getPath(), new String[] {"2", "3", "4", "5"}));
+
+        Graph.SearchResult<SimpleEdge> withoutHeuristic = graph.searchShortestPathBetween("2", "5");
+        assertTrue(checkPathMatches(withoutHeuristic.getPath(), new String[] {"2", "3", "4", "5"}));
+        assertTrue(withHeuristic.getNumVerticesExpanded() < withoutHeuristic.getNumVerticesExpanded());
+
+        IList<SimpleEdge> path = graph.findShortestPathBetween("0", "9", heuristic);
+        assertEquals(9, path.size());
+        assertEquals(0, graph.findShortestPathBetween("4", "4", heuristic).size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testFindingShortestPathBidirectional() {
+        Graph<String, SimpleEdge> graph = this.buildNonSimpleGraph();
+        String[][] expectedPaths = {
+            {"a", "b", "c", "d"}, {"d", "c", "b", "a"}, {"d", "c", "e"}, {"e", "c", "d"}, {"a", "e"},
+        };
+        for (String[] expected : expectedPaths) {
+            IList<SimpleEdge> path = graph.findShortestPathBidirectional(expected[0], expected[expected.length - 1]);
+            assertTrue(pathToString(path), checkPathMatches(path, expected));
+        }
+        assertEquals(0, graph.findShortestPathBidirectional("a", "a").size());
+
+        graph = this.buildDisconnectedGraph();
+        IList<SimpleEdge> path = graph.findShortestPathBidirectional("a", "g");
+        assertTrue(pathToString(path), checkPathMatches(path, new String[] {"a", "b", "c", "f", "e", "g"}));
+        try {
+            graph.findShortestPathBidirectional("a", "i");
+            fail("Expected NoPathExistsException");
+        } catch (NoPathExistsException ex) {
+            // All ok -- expected result
+        }
+        try {
+            graph.findShortestPathBidirectional("a", "z");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testBidirectionalMatchesDijkstraOnRandomGraphs() {
+        Random rand = new Random(373);
+        for (int trial = 0; trial < 20; trial++) {
+            int numVertices = 60;
+            IList<String> vertices = new DoubleLinkedList<>();
+            for (int i = 0; i < numVertices; i++) {
+                vertices.add("v" + i);
+            }
+            // Sparse enough that some pairs end up disconnected.
+            IList<SimpleEdge> edges = new DoubleLinkedList<>();
+            for (int i = 0; i < 70; i++) {
+                edges.add(edge("v" + rand.nextInt(numVertices), "v" + rand.nextInt(numVertices), rand.nextInt(20)));
+            }
+            Graph<String, SimpleEdge> graph = new Graph<>(vertices, edges);
+
+            for (int i = 0; i < 20; i++) {
+                String start = "v" + rand.nextInt(numVertices);
+                String end = "v" + rand.nextInt(numVertices);
+                double expected;
+                try {
+                    expected = totalWeight(graph.findShortestPathBetween(start, end));
+                } catch (NoPathExistsException ex) {
+                    try {
+                        graph.findShortestPathBidirectional(start, end);
+                        fail("Expected NoPathExistsException");
+                    } catch (NoPathExistsException ex2) {
+                        // All ok -- expected result
+                    }
+                    continue;
+                }
+                IList<SimpleEdge> path = graph.findShortestPathBidirectional(start, end);
+                assertEquals(expected, totalWeight(path), 0.0001);
+
+                // The edges have to chain together from the start to the end.
+                String current = start;
+                for (SimpleEdge e : path) {
+                    current = e.getOtherVertex(current);
+                }
+                assertEquals(end, current);
+            }
+        }
+    }
+
+    private static double totalWeight(Iterable<SimpleEdge> edges) {
+        double cost = 0;
+        for (SimpleEdge edge : edges) {
+            cost += edge.getWeight();
+        }
+        return cost;
+    }
 }
@@ -0,0 +1,148 @@
+package datastructures;
+
+import datastructures.TestGraph.SimpleEdge;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.Graph;
+import datastructures.concrete.ShortestPathTree;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import misc.exceptions.NoPathExistsException;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestShortestPathTree extends BaseTest {
+    // We reuse the sample graphs (and path checking helpers) from TestGraph.
+    private TestGraph graphs = new TestGraph();
+
+    private void assertPathMatches(ShortestPathTree<String, SimpleEdge> tree,
+                                   double expectedCost, String[] expectedPath) {
+        String target = expectedPath[expectedPath.length - 1];
+        IList<SimpleEdge> path = tree.pathTo(target);
+        assertEquals(expectedCost, totalWeight(path), 0.0001);
+        assertEquals(expectedCost, tree.distanceTo(target), 0.0001);
+        assertTrue(this.graphs.pathToString(path), this.graphs.checkPathMatches(path, expectedPath));
+    }
+
+    private static double totalWeight(Iterable<SimpleEdge> edges) {
+        double cost = 0;
+        for (SimpleEdge edge : edges) {
+            cost += edge.getWeight();
+        }
+        return cost;
+    }
+
+    @Test(timeout=SECOND)
+    public void testPathsToEveryTarget() {
+        Graph<String, SimpleEdge> graph = this.graphs.buildNonSimpleGraph();
+        ShortestPathTree<String, SimpleEdge> tree = graph.shortestPathTreeFrom("d");
+
+        assertEquals("d", tree.getSource());
+        assertPathMatches(tree, 3, new String[] {"d", "c", "b", "a"});
+        assertPathMatches(tree, 4, new String[] {"d", "c", "e"});
+        assertPathMatches(tree, 1, new String[] {"d", "c"});
+        assertEquals(0, tree.pathTo("d").size());
+        assertEquals(0.0, tree.distanceTo("d"), 0.0001);
+    }
+
+    @Test(timeout=SECOND)
+    public void testUnreachableTargets() {
+        Graph<String, SimpleEdge> graph = this.graphs.buildDisconnectedGraph();
+        ShortestPathTree<String, SimpleEdge> tree = graph.shortestPathTreeFrom("a");
+
+        assertTrue(tree.hasPathTo("g"));
+        assertPathMatches(tree, 6, new String[] {"a", "b", "c", "f", "e", "g"});
+        assertFalse(tree.hasPathTo("i"));
+        try {
+            tree.pathTo("i");
+            fail("Expected NoPathExistsException");
+        } catch (NoPathExistsException ex) {
+            // All ok -- expected result
+        }
+        try {
+            tree.distanceTo("i");
+            fail("Expected NoPathExistsException");
+        } catch (NoPathExistsException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testBadVerticesNotPermitted() {
+        Graph<String, SimpleEdge> graph = this.graphs.buildSimpleGraph();
+        try {
+            graph.shortestPathTreeFrom("z");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            graph.shortestPathTreeFrom("a").pathTo("z");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testTreesAreCachedUntilInvalidated() {
+        Graph<String, SimpleEdge> graph = this.graphs.buildNonSimpleGraph();
+        ShortestPathTree<String, SimpleEdge> tree = graph.shortestPathTreeFrom("a");
+        assertSame(tree, graph.shortestPathTreeFrom("a"));
+
+        graph.invalidateCaches();
+        assertNotSame(tree, graph.shortestPathTreeFrom("a"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testOnlyLatestTreeIsCached() {
+        Graph<String, SimpleEdge> graph = this.graphs.buildNonSimpleGraph();
+        ShortestPathTree<String, SimpleEdge> fromA = graph.shortestPathTreeFrom("a");
+        ShortestPathTree<String, SimpleEdge> fromB = graph.shortestPathTreeFrom("b");
+        assertNotSame(fromA, fromB);
+        assertSame(fromB, graph.shortestPathTreeFrom("b"));
+
+        // Asking for "b" dropped the tree from "a", so it has to be computed again.
+        ShortestPathTree<String, SimpleEdge> newFromA = graph.shortestPathTreeFrom("a");
+        assertNotSame(fromA, newFromA);
+        assertNotSame(fromB, graph.shortestPathTreeFrom("b"));
+        assertEquals(fromA.distanceTo("e"), newFromA.distanceTo("e"), 0.0001);
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testMatchesGraphOnRandomGraphs() {
+        Random rand = new Random(373);
+        for (int trial = 0; trial < 20; trial++) {
+            int numVertices = 50;
+            IList<String> vertices = new DoubleLinkedList<>();
+            for (int i = 0; i < numVertices; i++) {
+                vertices.add("v" + i);
+            }
+            IList<SimpleEdge> edges = new DoubleLinkedList<>();
+            for (int i = 0; i < 80; i++) {
+                edges.add(this.graphs.edge(
+                        "v" + rand.nextInt(numVertices), "v" + rand.nextInt(numVertices), rand.nextInt(100)));
+            }
+            Graph<String, SimpleEdge> graph = new Graph<>(vertices, edges);
+            String source = "v" + rand.nextInt(numVertices);
+            ShortestPathTree<String, SimpleEdge> tree = graph.shortestPathTreeFrom(source);
+
+            for (int i = 0; i < numVertices; i++) {
+                String target = "v" + i;
+                try {
+                    double expected = totalWeight(graph.findShortestPathBetween(source, target));
+                    assertEquals(expected, totalWeight(tree.pathTo(target)), 0.0001);
+                    assertEquals(expected, tree.distanceTo(target), 0.0001);
+                } catch (NoPathExistsException ex) {
+                    assertFalse(tree.hasPathTo(target));
+                }
+            }
+        }
+    }
+}
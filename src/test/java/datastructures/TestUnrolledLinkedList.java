@@ -0,0 +1,299 @@
+package datastructures;
+
+import datastructures.concrete.UnrolledLinkedList;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestUnrolledLinkedList extends BaseTest {
+    protected IList<String> makeBasicList() {
+        IList<String> list = new UnrolledLinkedList<>();
+
+        list.add("a");
+        list.add("b");
+        list.add("c");
+
+        return list;
+    }
+
+    /**
+     * Checks that the list contains exactly the same elements as the "expected"
+     * array, both through get and through its iterator.
+     */
+    protected <T> void assertListMatches(T[] expected, IList<T> actual) {
+        assertEquals(expected.length, actual.size());
+        assertEquals(expected.length == 0, actual.isEmpty());
+
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals("Item at index " + i + " does not match", expected[i], actual.get(i));
+        }
+
+        Iterator<T> iter = actual.iterator();
+        for (int i = 0; i < expected.length; i++) {
+            assertTrue(iter.hasNext());
+            assertEquals("Item at index " + i + " does not match", expected[i], iter.next());
+        }
+        assertFalse("Actual list has more elements than expected array.", iter.hasNext());
+    }
+
+    @Test(timeout=SECOND)
+    public void testAddAndRemove() {
+        IList<String> list = this.makeBasicList();
+        this.assertListMatches(new String[] {"a", "b", "c"}, list);
+
+        assertEquals("c", list.remove());
+        assertEquals("b", list.remove());
+        this.assertListMatches(new String[] {"a"}, list);
+
+        list.add("d");
+        this.assertListMatches(new String[] {"a", "d"}, list);
+    }
+
+    @Test(timeout=SECOND)
+    public void testAddAndGetMany() {
+        IList<Integer> list = new UnrolledLinkedList<>();
+        int cap = 1000;
+        for (int i = 0; i < cap; i++) {
+            list.add(i * 2);
+        }
+        assertEquals(cap, list.size());
+        for (int i = 0; i < cap; i++) {
+            int value = list.get(i);
+            assertEquals(i * 2, value);
+        }
+    }
+
+    @Test(timeout=15 * SECOND)
+    public void testAddIsEfficient() {
+        IList<Integer> list = new UnrolledLinkedList<>();
+        int cap = 5000000;
+        for (int i = 0; i < cap; i++) {
+            list.add(i * 2);
+        }
+        assertEquals(cap, list.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testNodeCapacity() {
+        IList<String> list = new UnrolledLinkedList<>(2);
+        list.add("a");
+        list.add("b");
+        list.add("c");
+        this.assertListMatches(new String[] {"a", "b", "c"}, list);
+
+        int[] badCapacities = {-1, 0, 1};
+        for (int capacity : badCapacities) {
+            try {
+                new UnrolledLinkedList<String>(capacity);
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException ex) {
+                // All ok -- expected result
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveOnEmptyListThrowsException() {
+        IList<String> list = this.makeBasicList();
+        list.remove();
+        list.remove();
+        list.remove();
+        try {
+            list.remove();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testOutOfBoundsThrowsException() {
+        IList<String> list = this.makeBasicList();
+        int[] badIndices = {-1, 3, 4};
+        for (int index : badIndices) {
+            try {
+                list.get(index);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException ex) {
+                // All ok -- expected result
+            }
+            try {
+                list.set(index, "x");
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException ex) {
+                // All ok -- expected result
+            }
+            try {
+                list.delete(index);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException ex) {
+                // All ok -- expected result
+            }
+        }
+
+        // Inserting at the end is allowed, but not past it.
+        int[] badInsertIndices = {-1, 4};
+        for (int index : badInsertIndices) {
+            try {
+                list.insert(index, "x");
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException ex) {
+                // All ok -- expected result
+            }
+        }
+        this.assertListMatches(new String[] {"a", "b", "c"}, list);
+    }
+
+    @Test(timeout=SECOND)
+    public void testSet() {
+        IList<String> list = this.makeBasicList();
+        list.set(0, "x");
+        list.set(2, "z");
+        this.assertListMatches(new String[] {"x", "b", "z"}, list);
+    }
+
+    @Test(timeout=SECOND)
+    public void testInsertAtFrontMiddleAndEnd() {
+        IList<String> list = new UnrolledLinkedList<>();
+        list.insert(0, "c");
+        list.insert(0, "a");
+        list.insert(1, "b");
+        list.insert(3, "e");
+        list.insert(3, "d");
+        this.assertListMatches(new String[] {"a", "b", "c", "d", "e"}, list);
+    }
+
+    @Test(timeout=SECOND)
+    public void testDeleteFromFrontMiddleAndEnd() {
+        IList<String> list = new UnrolledLinkedList<>();
+        for (String item : new String[] {"a", "b", "c", "d", "e", "f"}) {
+            list.add(item);
+        }
+        assertEquals("b", list.delete(1));
+        this.assertListMatches(new String[] {"a", "c", "d", "e", "f"}, list);
+        assertEquals("e", list.delete(3));
+        this.assertListMatches(new String[] {"a", "c", "d", "f"}, list);
+        assertEquals("a", list.delete(0));
+        assertEquals("f", list.delete(2));
+        this.assertListMatches(new String[] {"c", "d"}, list);
+        list.delete(0);
+        list.delete(0);
+        this.assertListMatches(new String[] {}, list);
+    }
+
+    @Test(timeout=SECOND)
+    public void testSplitsAndMergesNodes() {
+        // With four items per node, inserting into the middle of full nodes splits them,
+        // and deleting from half-empty ones merges them back together.
+        IList<Integer> list = new UnrolledLinkedList<>(4);
+        for (int i = 0; i < 8; i += 2) {
+            list.add(i);
+        }
+        for (int i = 1; i < 8; i += 2) {
+            list.insert(i, i);
+        }
+        this.assertListMatches(new Integer[] {0, 1, 2, 3, 4, 5, 6, 7}, list);
+
+        list.insert(0, -1);
+        list.insert(5, 100);
+        this.assertListMatches(new Integer[] {-1, 0, 1, 2, 3, 100, 4, 5, 6, 7}, list);
+
+        assertEquals(100, (int) list.delete(5));
+        assertEquals(3, (int) list.delete(4));
+        assertEquals(2, (int) list.delete(3));
+        assertEquals(-1, (int) list.delete(0));
+        this.assertListMatches(new Integer[] {0, 1, 4, 5, 6, 7}, list);
+
+        while (list.size() > 1) {
+            list.delete(1);
+        }
+        this.assertListMatches(new Integer[] {0}, list);
+        list.remove();
+        list.insert(0, 9);
+        this.assertListMatches(new Integer[] {9}, list);
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testInsertAndDeleteAtFrontIsEfficient() {
+        IList<Integer> list = new UnrolledLinkedList<>();
+        int cap = 1000000;
+        for (int i = 0; i < cap; i++) {
+            list.insert(0, i);
+        }
+        assertEquals(cap, list.size());
+        assertEquals(cap - 1, (int) list.get(0));
+        for (int i = cap - 1; i >= 0; i--) {
+            assertEquals(i, (int) list.delete(0));
+        }
+        assertTrue(list.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testIndexOfAndContains() {
+        IList<String> list = this.makeBasicList();
+        list.add(null);
+        list.add("a");
+        assertEquals(0, list.indexOf("a"));
+        assertEquals(2, list.indexOf("c"));
+        assertEquals(3, list.indexOf(null));
+        assertEquals(-1, list.indexOf("d"));
+        assertTrue(list.contains(null));
+        assertTrue(list.contains("b"));
+        assertFalse(list.contains("d"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratorOnEmptyList() {
+        IList<String> list = new UnrolledLinkedList<>();
+        Iterator<String> iter = list.iterator();
+        assertFalse(iter.hasNext());
+        try {
+            iter.next();
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testMatchesArrayListUnderRandomOperations() {
+        int[] capacities = {2, 3, 8, 64};
+        for (int capacity : capacities) {
+            Random rand = new Random(373);
+            IList<Integer> list = new UnrolledLinkedList<>(capacity);
+            List<Integer> expected = new ArrayList<>();
+            for (int step = 0; step < 20000; step++) {
+                int choice = rand.nextInt(5);
+                if (choice == 0 || expected.isEmpty()) {
+                    list.add(step);
+                    expected.add(step);
+                } else if (choice == 1) {
+                    int index = rand.nextInt(expected.size() + 1);
+                    list.insert(index, step);
+                    expected.add(index, step);
+                } else if (choice == 2) {
+                    int index = rand.nextInt(expected.size());
+                    assertEquals(expected.remove(index), list.delete(index));
+                } else if (choice == 3) {
+                    assertEquals(expected.remove(expected.size() - 1), list.remove());
+                } else {
+                    int index = rand.nextInt(expected.size());
+                    list.set(index, -step);
+                    expected.set(index, -step);
+                }
+            }
+            this.assertListMatches(expected.toArray(new Integer[0]), list);
+        }
+    }
+}
@@ -653,4 +653,41 @@ public abstract class BaseTestDictionary extends BaseTest {
         }
     }
 
+    @Test(timeout=SECOND)
+    public void testForEachEntryMatchesIterator() {
+        IDictionary<String, Integer> dict = this.newDictionary();
+        for (int i = 0; i < 1000; i++) {
+            dict.put("" + i, i);
+        }
+        dict.put(null, -1);
+        dict.remove("500");
+
+        List<String> iteratedKeys = new ArrayList<>();
+        List<Integer> iteratedValues = new ArrayList<>();
+        for (KVPair<String, Integer> pair : dict) {
+            iteratedKeys.add(pair.getKey());
+            iteratedValues.add(pair.getValue());
+        }
+
+        List<String> visitedKeys = new ArrayList<>();
+        List<Integer> visitedValues = new ArrayList<>();
+        dict.forEachEntry((key, value) -> {
+            visitedKeys.add(key);
+            visitedValues.add(value);
+        });
+
+        assertEquals(iteratedKeys, visitedKeys);
+        assertEquals(iteratedValues, visitedValues);
+        assertEquals(dict.size(), visitedKeys.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testForEachEntryOverEmptyDictionary() {
+        IDictionary<String, String> dict = this.newDictionary();
+        dict.forEachEntry((key, value) -> fail("Expected no entries"));
+
+        dict.put("keyA", "valA");
+        dict.remove("keyA");
+        dict.forEachEntry((key, value) -> fail("Expected no entries"));
+    }
 }
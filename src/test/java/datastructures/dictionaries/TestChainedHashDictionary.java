@@ -1,13 +1,18 @@
 package datastructures.dictionaries;
 
 import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.HashMixers;
 import datastructures.concrete.dictionaries.KVPair;
 import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IHashMixer;
 import org.junit.Assert;
 import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.runners.MethodSorters;
 
+import java.awt.Point;
+import java.math.BigDecimal;
+
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -166,4 +171,236 @@ public class TestChainedHashDictionary extends BaseTestDictionary {
         IDictionary<String, String>[] chains = getField(map, "chains", IDictionary[].class);
         assertNotNull(chains);
     }
+
+    /**
+     * Sends every key to the same chain.
+     */
+    private static final IHashMixer COLLIDE = hashCode -> 0;
+
+    @SuppressWarnings("unchecked")
+    private static int longestChain(IDictionary<?, ?> map) {
+        int longest = 0;
+        for (IDictionary<?, ?> chain : getField(map, "chains", IDictionary[].class)) {
+            if (chain != null) {
+                longest = Math.max(longest, chain.size());
+            }
+        }
+        return longest;
+    }
+
+    @Test(timeout=SECOND)
+    public void testMixersSpreadGridPoints() {
+        // Points on a grid have hash codes that differ mostly in their high bits.
+        IHashMixer[] mixers = {HashMixers.FIBONACCI, HashMixers.MURMUR3};
+        for (IHashMixer mixer : mixers) {
+            IDictionary<Point, Integer> map = new ChainedHashDictionary<>(3.5, false, mixer);
+            for (int row = 0; row < 300; row++) {
+                for (int column = 0; column < 300; column++) {
+                    map.put(new Point(column * 7 + 3, row * 7 + 3), row);
+                }
+            }
+            assertEquals(90000, map.size());
+            assertTrue(longestChain(map) < 30);
+            assertEquals(299, map.get(new Point(3, 299 * 7 + 3)));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testCollidingComparableKeysAreFast() {
+        // With every key in one chain, this would take tens of seconds if the chain were
+        // scanned linearly.
+        IDictionary<Integer, Integer> map = new ChainedHashDictionary<>(3.5, false, COLLIDE);
+        int limit = 50000;
+        for (int i = 0; i < limit; i++) {
+            map.put(i, -i);
+        }
+        assertEquals(limit, map.size());
+        assertEquals(limit, longestChain(map));
+        for (int i = 0; i < limit; i++) {
+            assertEquals(-i, map.get(i));
+        }
+        assertFalse(map.containsKey(limit));
+        for (int i = 0; i < limit; i += 2) {
+            assertEquals(-i, map.remove(i));
+        }
+        assertEquals(limit / 2, map.size());
+        for (int i = 0; i < limit; i++) {
+            assertEquals(i % 2 == 1, map.containsKey(i));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testCollidingKeysOfDifferentTypes() {
+        IDictionary<Object, Integer> map = new ChainedHashDictionary<>(3.5, false, COLLIDE);
+        for (int i = 0; i < 20; i++) {
+            map.put(i, i);
+        }
+        // Keys of other classes (and null) can share the tree with the Integers.
+        assertFalse(map.containsKey("0"));
+        assertFalse(map.containsKey(null));
+        map.put("0", 100);
+        map.put(null, 200);
+        map.put(new Wrapper<>("x", 0), 300);
+        assertEquals(23, map.size());
+        assertTrue(onlyChainIsTree(map));
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, map.get(i));
+        }
+        assertEquals(100, map.get("0"));
+        assertEquals(200, map.get(null));
+        assertEquals(300, map.get(new Wrapper<>("x", 0)));
+
+        assertEquals(100, map.remove("0"));
+        assertEquals(200, map.remove(null));
+        assertEquals(300, map.remove(new Wrapper<>("x", 0)));
+        for (int i = 20; i < 40; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < 40; i++) {
+            assertEquals(i, map.get(i));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean onlyChainIsTree(IDictionary<?, ?> map) {
+        for (IDictionary<?, ?> chain : getField(map, "chains", IDictionary[].class)) {
+            if (chain != null) {
+                return chain.getClass().getSimpleName().equals("AvlTreeDictionary");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A name whose compareTo ignores case but whose equals doesn't, so two names can
+     * compare as equal without being the same key.
+     */
+    private static class Name implements Comparable<Name> {
+        private final String name;
+
+        public Name(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public int compareTo(Name other) {
+            return this.name.compareToIgnoreCase(other.name);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Name && ((Name) o).name.equals(this.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+
+    /**
+     * Comparable, but not to other Tags, so compareTo can't be used to order them.
+     */
+    private static class Tag implements Comparable<String> {
+        private final int id;
+
+        public Tag(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(String other) {
+            return other.length() - this.id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Tag && ((Tag) o).id == this.id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testCollidingKeysWithCompareToInconsistentWithEquals() {
+        IDictionary<Name, Integer> names = new ChainedHashDictionary<>(3.5, false, COLLIDE);
+        for (int i = 0; i < 26; i++) {
+            names.put(new Name("" + (char) ('a' + i)), i);
+            names.put(new Name("" + (char) ('A' + i)), -i);
+        }
+        assertEquals(52, names.size());
+        assertTrue(onlyChainIsTree(names));
+        for (int i = 0; i < 26; i++) {
+            assertEquals(i, names.get(new Name("" + (char) ('a' + i))));
+            assertEquals(-i, names.get(new Name("" + (char) ('A' + i))));
+        }
+        for (int i = 0; i < 26; i += 2) {
+            assertEquals(i, names.remove(new Name("" + (char) ('a' + i))));
+        }
+        assertEquals(39, names.size());
+        for (int i = 0; i < 26; i++) {
+            assertEquals(i % 2 == 1, names.containsKey(new Name("" + (char) ('a' + i))));
+            assertEquals(-i, names.get(new Name("" + (char) ('A' + i))));
+        }
+
+        // 1.00 and 1 compare as equal, but they aren't equal keys.
+        IDictionary<BigDecimal, String> decimals = new ChainedHashDictionary<>(3.5, false, COLLIDE);
+        for (int i = 0; i < 20; i++) {
+            decimals.put(BigDecimal.valueOf(i), "" + i);
+        }
+        decimals.put(new BigDecimal("1.00"), "1.00");
+        assertEquals(21, decimals.size());
+        assertTrue(onlyChainIsTree(decimals));
+        assertEquals("1", decimals.get(BigDecimal.ONE));
+        assertEquals("1.00", decimals.get(new BigDecimal("1.00")));
+        assertFalse(decimals.containsKey(new BigDecimal("1.0")));
+        assertEquals("1.00", decimals.remove(new BigDecimal("1.00")));
+        assertEquals("1", decimals.get(BigDecimal.ONE));
+    }
+
+    @Test(timeout=SECOND)
+    public void testCollidingKeysComparableToAnotherClass() {
+        IDictionary<Tag, Integer> map = new ChainedHashDictionary<>(3.5, false, COLLIDE);
+        for (int i = 0; i < 30; i++) {
+            map.put(new Tag(i), i);
+        }
+        assertEquals(30, map.size());
+        assertTrue(onlyChainIsTree(map));
+        for (int i = 0; i < 30; i++) {
+            assertEquals(i, map.get(new Tag(i)));
+        }
+        for (int i = 0; i < 30; i += 3) {
+            assertEquals(i, map.remove(new Tag(i)));
+        }
+        assertEquals(20, map.size());
+        for (int i = 0; i < 30; i++) {
+            assertEquals(i % 3 != 0, map.containsKey(new Tag(i)));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testCollidingKeysGrowAndShrink() {
+        // Chains turn into trees and back as they grow and shrink; the pairs must survive.
+        IDictionary<String, Integer> map = new ChainedHashDictionary<>(3.5, false, COLLIDE);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 12; i++) {
+                map.put("key" + i, i + round);
+            }
+            int seen = 0;
+            for (KVPair<String, Integer> pair : map) {
+                assertEquals(map.get(pair.getKey()), pair.getValue());
+                seen++;
+            }
+            assertEquals(12, seen);
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i + round, map.remove("key" + i));
+            }
+            assertEquals(2, map.size());
+            assertEquals(10 + round, map.get("key10"));
+            assertEquals(11 + round, map.get("key11"));
+        }
+    }
 }
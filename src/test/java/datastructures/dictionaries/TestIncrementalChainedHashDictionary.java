@@ -0,0 +1,154 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.HashMixers;
+import datastructures.concrete.dictionaries.KVPair;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IHashMixer;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs every dictionary test against a ChainedHashDictionary in incremental resize mode,
+ * plus tests that check it behaves correctly while a resize is only partly done.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestIncrementalChainedHashDictionary extends BaseTestDictionary {
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new ChainedHashDictionary<>(3.5, true);
+    }
+
+    /**
+     * Puts keys 0 to n - 1 into a dictionary with a low lambda, so it's partway through
+     * moving its chains over afterwards.
+     */
+    private IDictionary<Integer, Integer> makeResizingDictionary(int n) {
+        IDictionary<Integer, Integer> dict = new ChainedHashDictionary<>(1.0, true);
+        for (int i = 0; i < n; i++) {
+            dict.put(i, -i);
+        }
+        return dict;
+    }
+
+    @Test(timeout=SECOND)
+    public void testOperationsDuringResize() {
+        // The first resize starts once there are more than 16384 pairs (one per chain),
+        // and moves one of the 16384 old chains over per put after that.
+        IDictionary<Integer, Integer> dict = this.makeResizingDictionary(17000);
+        assertNotNull(getField(dict, "oldChains"));
+        assertEquals(17000, dict.size());
+
+        for (int i = 0; i < 17000; i++) {
+            assertTrue(dict.containsKey(i));
+            assertEquals(-i, dict.get(i));
+        }
+        assertFalse(dict.containsKey(17000));
+        assertEquals(7, dict.getOrDefault(-1, 7));
+
+        // Overwrite and remove keys while the resize is still in progress.
+        dict.put(1, 100);
+        dict.put(9999, 200);
+        assertEquals(17000, dict.size());
+        assertEquals(-2, dict.remove(2));
+        assertEquals(-9998, dict.remove(9998));
+        assertEquals(16998, dict.size());
+        assertEquals(100, dict.get(1));
+        assertEquals(200, dict.get(9999));
+        assertFalse(dict.containsKey(2));
+        assertFalse(dict.containsKey(9998));
+
+        try {
+            dict.remove(2);
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok -- expected result
+        }
+        assertEquals(16998, dict.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratorDuringResize() {
+        IDictionary<Integer, Integer> dict = this.makeResizingDictionary(17000);
+        assertNotNull(getField(dict, "oldChains"));
+
+        boolean[] seen = new boolean[17000];
+        int count = 0;
+        for (KVPair<Integer, Integer> pair : dict) {
+            int key = pair.getKey();
+            assertEquals(-key, (int) pair.getValue());
+            assertFalse("Duplicate key found: " + key, seen[key]);
+            seen[key] = true;
+            count++;
+        }
+        assertEquals(17000, count);
+
+        int[] visited = {0};
+        dict.forEachEntry((key, value) -> {
+            assertEquals(-key, (int) value);
+            visited[0]++;
+        });
+        assertEquals(17000, visited[0]);
+    }
+
+    @Test(timeout=SECOND)
+    public void testResizeFinishes() {
+        IDictionary<Integer, Integer> dict = this.makeResizingDictionary(17000);
+        assertNotNull(getField(dict, "oldChains"));
+
+        // Every put and remove moves an old chain over, so 16384 more of them have to
+        // finish the resize.
+        for (int i = 0; i < 8192; i++) {
+            dict.put(-1, 1);
+            assertEquals(1, dict.remove(-1));
+        }
+        assertNull(getField(dict, "oldChains"));
+        assertEquals(17000, dict.size());
+        for (int i = 0; i < 17000; i++) {
+            assertEquals(-i, dict.get(i));
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testMatchesHashMapUnderRandomOperations() {
+        // A tiny lambda means resizes start before the last one has finished, and
+        // sending every key to the same chain means moving a tree between chains.
+        double[] lambdas = {0.1, 1.0, 3.5};
+        IHashMixer[] mixers = {HashMixers.MURMUR3, hashCode -> 0};
+        for (int i = 0; i < 2 * lambdas.length; i++) {
+            Random rand = new Random(373);
+            IDictionary<Integer, Integer> dict = new ChainedHashDictionary<>(lambdas[i / 2], true, mixers[i % 2]);
+            Map<Integer, Integer> expected = new HashMap<>();
+            for (int step = 0; step < 100000; step++) {
+                int key = rand.nextInt(50000);
+                if (rand.nextInt(4) == 0 && expected.containsKey(key)) {
+                    assertEquals(expected.remove(key), dict.remove(key));
+                } else {
+                    dict.put(key, step);
+                    expected.put(key, step);
+                }
+            }
+            assertEquals(expected.size(), dict.size());
+            for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), dict.get(entry.getKey()));
+            }
+            int count = 0;
+            for (KVPair<Integer, Integer> pair : dict) {
+                assertEquals(expected.get(pair.getKey()), pair.getValue());
+                count++;
+            }
+            assertEquals(expected.size(), count);
+        }
+    }
+}
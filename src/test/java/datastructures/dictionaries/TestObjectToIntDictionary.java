@@ -0,0 +1,88 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.ObjectToIntDictionary;
+import misc.BaseTest;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestObjectToIntDictionary extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testPutAndGetBasic() {
+        ObjectToIntDictionary<String> dict = new ObjectToIntDictionary<>();
+        assertTrue(dict.isEmpty());
+        dict.put("a", 1);
+        dict.put("b", 2);
+        dict.put(null, 3);
+        dict.put("a", 4);
+
+        assertEquals(3, dict.size());
+        assertEquals(4, dict.get("a"));
+        assertEquals(2, dict.get("b"));
+        assertEquals(3, dict.get(null));
+        assertEquals(-1, dict.getOrDefault("c", -1));
+        assertFalse(dict.containsKey("c"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveBasic() {
+        ObjectToIntDictionary<String> dict = new ObjectToIntDictionary<>();
+        dict.put("a", 1);
+        dict.put("b", 2);
+
+        assertEquals(1, dict.remove("a"));
+        assertFalse(dict.containsKey("a"));
+        assertEquals(1, dict.size());
+
+        try {
+            dict.remove("a");
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok -- expected result
+        }
+        try {
+            dict.get("a");
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testManyObjectsWithSameHashCode() {
+        ObjectToIntDictionary<Wrapper<Integer>> dict = new ObjectToIntDictionary<>();
+        for (int i = 0; i < 500; i++) {
+            dict.put(new Wrapper<>(i, 7), i);
+        }
+        for (int i = 0; i < 500; i += 2) {
+            assertEquals(i, dict.remove(new Wrapper<>(i, 7)));
+        }
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i % 2 == 1 ? i : -1, dict.getOrDefault(new Wrapper<>(i, 7), -1));
+        }
+        assertEquals(250, dict.size());
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testStress() {
+        int limit = 500000;
+        ObjectToIntDictionary<Integer> dict = new ObjectToIntDictionary<>();
+        for (int i = 0; i < limit; i++) {
+            dict.put(i, -i);
+        }
+        for (int i = 0; i < limit; i++) {
+            assertEquals(-i, dict.get(i));
+            dict.put(i, i);
+        }
+        for (int i = 0; i < limit; i++) {
+            assertEquals(i, dict.remove(i));
+        }
+        assertTrue(dict.isEmpty());
+    }
+}
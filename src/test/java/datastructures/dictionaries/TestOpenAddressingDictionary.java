@@ -0,0 +1,114 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.KVPair;
+import datastructures.concrete.dictionaries.OpenAddressingDictionary;
+import datastructures.interfaces.IDictionary;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestOpenAddressingDictionary extends BaseTestDictionary {
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new OpenAddressingDictionary<>();
+    }
+
+    @Test(timeout=SECOND)
+    public void testManyObjectsWithSameHashCode() {
+        IDictionary<Wrapper<String>, Integer> map = this.newDictionary();
+        for (int i = 0; i < 1000; i++) {
+            map.put(new Wrapper<>("" + i, 0), i);
+        }
+        assertEquals(1000, map.size());
+
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals(i, map.remove(new Wrapper<>("" + i, 0)));
+        }
+        assertEquals(500, map.size());
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 1, map.containsKey(new Wrapper<>("" + i, 0)));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveKeepsClusterReachable() {
+        // Every key lands in one of two neighboring home slots, so removals must
+        // shift the rest of the cluster back instead of leaving holes behind.
+        IDictionary<Wrapper<Integer>, Integer> map = new OpenAddressingDictionary<>(64);
+        for (int i = 0; i < 40; i++) {
+            map.put(new Wrapper<>(i, i % 2), i);
+        }
+        for (int i = 0; i < 40; i += 3) {
+            map.remove(new Wrapper<>(i, i % 2));
+        }
+        for (int i = 0; i < 40; i++) {
+            Wrapper<Integer> key = new Wrapper<>(i, i % 2);
+            if (i % 3 == 0) {
+                assertFalse(map.containsKey(key));
+            } else {
+                assertEquals(i, map.get(key));
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testNullKeyAndValue() {
+        IDictionary<String, String> map = this.newDictionary();
+        map.put(null, "a");
+        map.put("b", null);
+        assertEquals(2, map.size());
+        assertEquals("a", map.get(null));
+        assertEquals(null, map.get("b"));
+
+        int count = 0;
+        for (KVPair<String, String> pair : map) {
+            assertTrue(pair.getKey() == null || pair.getKey().equals("b"));
+            count++;
+        }
+        assertEquals(2, count);
+
+        assertEquals("a", map.remove(null));
+        assertFalse(map.containsKey(null));
+    }
+
+    @Test(timeout=SECOND)
+    public void testInvalidConstructorArguments() {
+        try {
+            new OpenAddressingDictionary<String, String>(-1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+        try {
+            new OpenAddressingDictionary<String, String>(10, 1.0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testStress() {
+        int limit = 1000000;
+        IDictionary<Integer, Integer> dict = new OpenAddressingDictionary<>(0);
+
+        for (int i = 0; i < limit; i++) {
+            dict.put(i, i);
+            assertEquals(i, dict.get(i));
+        }
+        assertFalse(dict.containsKey(-1));
+
+        for (int i = 0; i < limit; i += 2) {
+            assertEquals(i, dict.remove(i));
+        }
+        for (int i = 0; i < limit; i++) {
+            assertEquals(i % 2 == 1, dict.containsKey(i));
+        }
+        assertEquals(limit / 2, dict.size());
+    }
+}
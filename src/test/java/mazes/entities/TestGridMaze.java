@@ -0,0 +1,239 @@
+package mazes.entities;
+
+import mazes.generators.base.GridGenerator;
+import misc.BaseTest;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestGridMaze extends BaseTest {
+    // Sizes that divide evenly, and ones that make the room edges round to whole pixels.
+    private static final Rectangle[] BOXES = {
+        new Rectangle(0, 0, 600, 400),
+        new Rectangle(13, 7, 101, 53),
+        new Rectangle(-20, -30, 77, 199),
+    };
+    private static final int[][] SHAPES = {{1, 1}, {1, 6}, {5, 1}, {7, 13}, {40, 9}};
+
+    /**
+     * Builds the rooms the way GridGenerator did before it used GridMaze, indexed by
+     * column and then row.
+     */
+    private static Room[][] buildExpectedRooms(Rectangle boundingBox, int numRows, int numColumns) {
+        Room[][] grid = new Room[numColumns][numRows];
+        double yDelta = 1.0 * boundingBox.height / numRows;
+        double xDelta = 1.0 * boundingBox.width / numColumns;
+        for (int i = 0; i < numRows; i++) {
+            int yMin = round(i * yDelta + boundingBox.y);
+            int yMax = round((i + 1) * yDelta + boundingBox.y);
+            for (int j = 0; j < numColumns; j++) {
+                int xMin = round(j * xDelta + boundingBox.x);
+                int xMax = round((j + 1) * xDelta + boundingBox.x);
+                Point center = new Point(round((xMin + xMax) / 2.0), round((yMin + yMax) / 2.0));
+                Polygon polygon = new Polygon(
+                        new int[]{xMin, xMax, xMax, xMin},
+                        new int[]{yMin, yMin, yMax, yMax},
+                        4);
+                grid[j][i] = new Room(center, polygon);
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Returns the polygon's edge starting at the given corner, as GridGenerator used to
+     * turn rooms into walls.
+     */
+    private static LineSegment edge(Polygon polygon, int corner) {
+        int next = (corner + 1) % polygon.npoints;
+        return new LineSegment(
+                new Point(polygon.xpoints[corner], polygon.ypoints[corner]),
+                new Point(polygon.xpoints[next], polygon.ypoints[next]));
+    }
+
+    private static Set<String> describeExpectedWalls(Room[][] grid) {
+        Set<String> output = new HashSet<>();
+        for (int x = 0; x < grid.length; x++) {
+            for (int y = 0; y < grid[x].length; y++) {
+                Room room = grid[x][y];
+                if (x > 0) {
+                    output.add(describe(room, grid[x - 1][y], edge(room.getPolygon(), 3)));
+                }
+                if (y > 0) {
+                    output.add(describe(room, grid[x][y - 1], edge(room.getPolygon(), 0)));
+                }
+            }
+        }
+        return output;
+    }
+
+    private static String describe(Room room) {
+        Polygon polygon = room.getPolygon();
+        return room.getCenter() + " " + Arrays.toString(Arrays.copyOf(polygon.xpoints, polygon.npoints))
+                + Arrays.toString(Arrays.copyOf(polygon.ypoints, polygon.npoints));
+    }
+
+    private static String describe(Room room1, Room room2, LineSegment line) {
+        return describe(room1) + " | " + describe(room2) + " | " + line;
+    }
+
+    private static String describe(Wall wall) {
+        return describe(wall.getRoom1(), wall.getRoom2(), wall.getDividingLine());
+    }
+
+    private static Set<String> describeRooms(Iterable<Room> rooms) {
+        Set<String> output = new HashSet<>();
+        for (Room room : rooms) {
+            output.add(describe(room));
+        }
+        return output;
+    }
+
+    private static Set<String> describeWalls(Iterable<Wall> walls) {
+        Set<String> output = new HashSet<>();
+        for (Wall wall : walls) {
+            output.add(describe(wall));
+        }
+        return output;
+    }
+
+    private static int round(double num) {
+        return (int) Math.round(num);
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testMatchesOldGridGenerator() {
+        for (Rectangle box : BOXES) {
+            for (int[] shape : SHAPES) {
+                int numRows = shape[0];
+                int numColumns = shape[1];
+                Room[][] expected = buildExpectedRooms(box, numRows, numColumns);
+                Set<String> expectedRooms = new HashSet<>();
+                for (Room[] column : expected) {
+                    expectedRooms.addAll(describeRooms(Arrays.asList(column)));
+                }
+                Set<String> expectedWalls = describeExpectedWalls(expected);
+
+                GridMaze grid = new GridMaze(box, numRows, numColumns);
+                assertEquals((long) numRows * numColumns, grid.getNumRooms());
+                assertEquals(expectedRooms, describeRooms(grid.rooms()));
+                assertEquals(expectedWalls, describeWalls(grid.walls()));
+
+                Maze maze = new GridGenerator(numRows, numColumns).generateBaseMaze(box);
+                assertEquals(expectedRooms, describeRooms(maze.getRooms()));
+                assertEquals(expectedWalls, describeWalls(maze.getWalls()));
+                assertEquals(expectedWalls.size(), maze.getWalls().size());
+                assertTrue(maze.getUntouchableWalls().isEmpty());
+
+                for (int row = 0; row < numRows; row++) {
+                    for (int column = 0; column < numColumns; column++) {
+                        Room room = expected[column][row];
+                        assertEquals(describe(room), describe(grid.getRoom(row, column)));
+                        if (column > 0) {
+                            assertEquals(
+                                    describe(room, expected[column - 1][row], edge(room.getPolygon(), 3)),
+                                    describe(grid.getWallToTheLeft(row, column)));
+                        }
+                        if (row > 0) {
+                            assertEquals(
+                                    describe(room, expected[column][row - 1], edge(room.getPolygon(), 0)),
+                                    describe(grid.getWallAbove(row, column)));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the range [edges[i], edges[i + 1]) containing 'value', or -1
+     * if there's none.
+     */
+    private static int findRange(int[] edges, int value) {
+        for (int i = 0; i + 1 < edges.length; i++) {
+            if (edges[i] <= value && value < edges[i + 1]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testGetRoomAtEveryPixel() {
+        // Checking every pixel covers the rounded edges between rooms, and the pixels
+        // just outside the grid.
+        for (Rectangle box : BOXES) {
+            for (int[] shape : SHAPES) {
+                int numRows = shape[0];
+                int numColumns = shape[1];
+                Room[][] expected = buildExpectedRooms(box, numRows, numColumns);
+                int[] xEdges = new int[numColumns + 1];
+                for (int j = 0; j < numColumns; j++) {
+                    xEdges[j] = expected[j][0].getPolygon().xpoints[0];
+                    xEdges[j + 1] = expected[j][0].getPolygon().xpoints[1];
+                }
+                int[] yEdges = new int[numRows + 1];
+                for (int i = 0; i < numRows; i++) {
+                    yEdges[i] = expected[0][i].getPolygon().ypoints[0];
+                    yEdges[i + 1] = expected[0][i].getPolygon().ypoints[2];
+                }
+
+                GridMaze grid = new GridMaze(box, numRows, numColumns);
+                for (int x = box.x - 2; x <= box.x + box.width + 2; x++) {
+                    int column = findRange(xEdges, x);
+                    for (int y = box.y - 2; y <= box.y + box.height + 2; y++) {
+                        Point point = new Point(x, y);
+                        int row = findRange(yEdges, y);
+                        Room room = grid.getRoom(point);
+                        if (column < 0 || row < 0) {
+                            assertEquals(point.toString(), null, room);
+                        } else {
+                            assertTrue(room.contains(point));
+                            assertEquals(point.toString(), describe(expected[column][row]), describe(room));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testOutOfBounds() {
+        GridMaze grid = new GridMaze(new Rectangle(0, 0, 100, 100), 3, 4);
+        int[][] cells = {{-1, 0}, {0, -1}, {3, 0}, {0, 4}};
+        for (int[] cell : cells) {
+            try {
+                grid.getRoom(cell[0], cell[1]);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException ex) {
+                // All ok -- expected result
+            }
+        }
+        try {
+            grid.getWallToTheLeft(1, 0);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ex) {
+            // All ok -- expected result
+        }
+        try {
+            grid.getWallAbove(0, 1);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ex) {
+            // All ok -- expected result
+        }
+        try {
+            new GridMaze(new Rectangle(0, 0, 100, 100), 0, 4);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+}
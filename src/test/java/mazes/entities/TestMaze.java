@@ -0,0 +1,148 @@
+package mazes.entities;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.interfaces.ISet;
+import mazes.generators.base.GridGenerator;
+import misc.BaseTest;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.util.Random;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class TestMaze extends BaseTest {
+    /**
+     * Finds the room containing the point the slow way, by testing every room.
+     */
+    private static Room bruteForceRoom(ISet<Room> rooms, Point point) {
+        for (Room room : rooms) {
+            if (room.contains(point)) {
+                return room;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks getRoom against a brute-force scan at random points in and around the
+     * given box, and at every corner of every room and the pixels next to them.
+     */
+    private static void assertGetRoomMatches(Maze maze, Rectangle box, Random rand) {
+        for (int i = 0; i < 5000; i++) {
+            Point point = new Point(
+                    box.x - 20 + rand.nextInt(box.width + 40),
+                    box.y - 20 + rand.nextInt(box.height + 40));
+            assertEquals(point.toString(), bruteForceRoom(maze.getRooms(), point), maze.getRoom(point));
+        }
+        for (Room room : maze.getRooms()) {
+            Polygon polygon = room.getPolygon();
+            for (int i = 0; i < polygon.npoints; i++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    for (int dy = -1; dy <= 1; dy++) {
+                        Point point = new Point(polygon.xpoints[i] + dx, polygon.ypoints[i] + dy);
+                        assertEquals(point.toString(), bruteForceRoom(maze.getRooms(), point), maze.getRoom(point));
+                    }
+                }
+            }
+            assertEquals(room, maze.getRoom(room.getCenter()));
+        }
+    }
+
+    /**
+     * Builds a maze out of triangles: each cell of a grid is split along one of its
+     * diagonals, picked at random, and some cells are left out entirely.
+     */
+    private static Maze buildTriangleMaze(Rectangle box, int cellSize, Random rand) {
+        ISet<Room> rooms = new ChainedHashSet<>();
+        for (int x = box.x; x + cellSize <= box.x + box.width; x += cellSize) {
+            for (int y = box.y; y + cellSize <= box.y + box.height; y += cellSize) {
+                if (rand.nextInt(10) == 0) {
+                    continue;
+                }
+                int x2 = x + cellSize;
+                int y2 = y + cellSize;
+                Polygon first;
+                Polygon second;
+                if (rand.nextBoolean()) {
+                    first = new Polygon(new int[] {x, x2, x}, new int[] {y, y, y2}, 3);
+                    second = new Polygon(new int[] {x2, x2, x}, new int[] {y, y2, y2}, 3);
+                } else {
+                    first = new Polygon(new int[] {x, x2, x2}, new int[] {y, y, y2}, 3);
+                    second = new Polygon(new int[] {x, x2, x}, new int[] {y, y2, y2}, 3);
+                }
+                rooms.add(new Room(centroid(first), first));
+                rooms.add(new Room(centroid(second), second));
+            }
+        }
+        return new Maze(rooms, new ChainedHashSet<>(), new ChainedHashSet<>());
+    }
+
+    private static Point centroid(Polygon polygon) {
+        int x = 0;
+        int y = 0;
+        for (int i = 0; i < polygon.npoints; i++) {
+            x += polygon.xpoints[i];
+            y += polygon.ypoints[i];
+        }
+        return new Point(x / polygon.npoints, y / polygon.npoints);
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testGetRoomMatchesBruteForceOnGrids() {
+        Random rand = new Random(373);
+        // Sizes that don't divide evenly give rooms whose edges are rounded.
+        Rectangle[] boxes = {new Rectangle(0, 0, 600, 400), new Rectangle(13, 7, 577, 391)};
+        int[][] shapes = {{1, 1}, {7, 3}, {30, 45}};
+        for (Rectangle box : boxes) {
+            for (int[] shape : shapes) {
+                Maze maze = new GridGenerator(shape[0], shape[1]).generateBaseMaze(box);
+                assertGetRoomMatches(maze, box, rand);
+            }
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testGetRoomMatchesBruteForceOnIrregularRooms() {
+        Random rand = new Random(373);
+        Rectangle box = new Rectangle(-50, 20, 480, 360);
+        for (int cellSize : new int[] {23, 40, 200}) {
+            Maze maze = buildTriangleMaze(box, cellSize, rand);
+            assertGetRoomMatches(maze, box, rand);
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testGetRoomOutsideEveryRoom() {
+        Rectangle box = new Rectangle(100, 100, 200, 200);
+        Maze maze = new GridGenerator(4, 4).generateBaseMaze(box);
+        assertNull(maze.getRoom(new Point(99, 150)));
+        assertNull(maze.getRoom(new Point(150, 99)));
+        assertNull(maze.getRoom(new Point(300, 150)));
+        assertNull(maze.getRoom(new Point(150, 300)));
+        assertNull(maze.getRoom(new Point(-100000, 100000)));
+        assertNotNull(maze.getRoom(new Point(100, 100)));
+        assertNotNull(maze.getRoom(new Point(299, 299)));
+
+        Maze empty = new Maze(new ChainedHashSet<>(), new ChainedHashSet<>(), new ChainedHashSet<>());
+        assertNull(empty.getRoom(new Point(0, 0)));
+    }
+
+    @Test(timeout=SECOND)
+    public void testGetRoomSeesAddedRooms() {
+        ISet<Room> rooms = new ChainedHashSet<>();
+        Polygon square = new Polygon(new int[] {0, 10, 10, 0}, new int[] {0, 0, 10, 10}, 4);
+        rooms.add(new Room(new Point(5, 5), square));
+        Maze maze = new Maze(rooms, new ChainedHashSet<>(), new ChainedHashSet<>());
+        assertNull(maze.getRoom(new Point(15, 5)));
+
+        // Adding a room changes the number of rooms, so the index has to be rebuilt.
+        Polygon next = new Polygon(new int[] {10, 20, 20, 10}, new int[] {0, 0, 10, 10}, 4);
+        Room added = new Room(new Point(15, 5), next);
+        rooms.add(added);
+        assertEquals(added, maze.getRoom(new Point(15, 5)));
+    }
+}
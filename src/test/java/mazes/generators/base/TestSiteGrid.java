@@ -0,0 +1,89 @@
+package mazes.generators.base;
+
+import misc.BaseTest;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.fail;
+
+/**
+ * SiteGrid is package-private, so this test lives in the same package.
+ */
+public class TestSiteGrid extends BaseTest {
+    private static double bruteForceDistance(List<Point> sites, Point target) {
+        double best = Double.MAX_VALUE;
+        for (Point site : sites) {
+            best = Math.min(best, site.distance(target));
+        }
+        return best;
+    }
+
+    /**
+     * Adds 'count' random sites inside the box, checking distanceToClosest against a
+     * brute-force scan after each one, at random points in and well outside the box.
+     */
+    private static void assertMatchesBruteForce(Rectangle box, int capacity, int count, Random rand) {
+        SiteGrid grid = new SiteGrid(box, capacity);
+        List<Point> sites = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < 20; j++) {
+                Point target = new Point(
+                        box.x - box.width + rand.nextInt(3 * box.width + 1),
+                        box.y - box.height + rand.nextInt(3 * box.height + 1));
+                assertEquals(bruteForceDistance(sites, target), grid.distanceToClosest(target), 0.0001);
+            }
+            Point site = new Point(box.x + rand.nextInt(box.width + 1), box.y + rand.nextInt(box.height + 1));
+            grid.add(site);
+            sites.add(site);
+            assertEquals(0.0, grid.distanceToClosest(site), 0.0001);
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testMatchesBruteForce() {
+        Random rand = new Random(373);
+        assertMatchesBruteForce(new Rectangle(0, 0, 600, 400), 500, 500, rand);
+        assertMatchesBruteForce(new Rectangle(-37, 11, 251, 97), 300, 150, rand);
+        // A grid sized for far more sites than it gets has mostly empty cells.
+        assertMatchesBruteForce(new Rectangle(0, 0, 1000, 1000), 10000, 30, rand);
+        // A thin box has far more columns than rows.
+        assertMatchesBruteForce(new Rectangle(5, 5, 2000, 3), 200, 200, rand);
+    }
+
+    @Test(timeout=SECOND)
+    public void testSitesOnTheEdges() {
+        Rectangle box = new Rectangle(10, 20, 100, 50);
+        SiteGrid grid = new SiteGrid(box, 4);
+        List<Point> sites = new ArrayList<>();
+        Point[] corners = {new Point(10, 20), new Point(110, 20), new Point(10, 70), new Point(110, 70)};
+        for (Point corner : corners) {
+            grid.add(corner);
+            sites.add(corner);
+        }
+        for (int x = 0; x <= 120; x += 3) {
+            for (int y = 10; y <= 80; y += 3) {
+                Point target = new Point(x, y);
+                assertEquals(bruteForceDistance(sites, target), grid.distanceToClosest(target), 0.0001);
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testEmptyAndFullGrids() {
+        SiteGrid grid = new SiteGrid(new Rectangle(0, 0, 10, 10), 1);
+        assertEquals(Double.MAX_VALUE, grid.distanceToClosest(new Point(5, 5)), 0.0);
+        grid.add(new Point(3, 4));
+        assertEquals(5.0, grid.distanceToClosest(new Point(0, 0)), 0.0001);
+        try {
+            grid.add(new Point(1, 1));
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // All ok -- expected result
+        }
+    }
+}
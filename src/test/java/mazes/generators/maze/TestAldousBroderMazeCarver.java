@@ -0,0 +1,115 @@
+package mazes.generators.maze;
+
+import datastructures.concrete.ArrayDisjointSet;
+import datastructures.concrete.ChainedHashSet;
+import datastructures.interfaces.IDisjointSet;
+import datastructures.interfaces.ISet;
+import mazes.entities.LineSegment;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import misc.BaseTest;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.awt.Polygon;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestAldousBroderMazeCarver extends BaseTest {
+    private static Room square(int x, int y) {
+        Polygon polygon = new Polygon(new int[] {x, x + 10, x + 10, x}, new int[] {y, y, y + 10, y + 10}, 4);
+        return new Room(new Point(x + 5, y + 5), polygon);
+    }
+
+    private static Wall wallBetween(Room room1, Room room2) {
+        return new Wall(room1, room2, new LineSegment(room1.getCenter(), room2.getCenter()));
+    }
+
+    /**
+     * Adds a ring of 'size' rooms in a row starting at the given height, each with a wall
+     * to the next and the last with a wall back to the first, and returns those walls in
+     * order.
+     */
+    private static Wall[] addRing(ISet<Room> rooms, ISet<Wall> walls, int size, int y) {
+        Room[] ring = new Room[size];
+        for (int i = 0; i < size; i++) {
+            ring[i] = square(10 * i, y);
+            rooms.add(ring[i]);
+        }
+        Wall[] output = new Wall[size];
+        for (int i = 0; i < size; i++) {
+            output[i] = wallBetween(ring[i], ring[(i + 1) % size]);
+            walls.add(output[i]);
+        }
+        return output;
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testRingKeepsEachWallEquallyOften() {
+        // A spanning tree of a ring removes every wall but one. For the tree to be
+        // uniformly random, the wall left standing has to be too.
+        ISet<Room> rooms = new ChainedHashSet<>();
+        ISet<Wall> walls = new ChainedHashSet<>();
+        Wall[] ring = addRing(rooms, walls, 12, 0);
+        Maze maze = new Maze(rooms, walls, new ChainedHashSet<>());
+
+        MazeCarver carver = new AldousBroderMazeCarver(new Random(373));
+        int[] kept = new int[ring.length];
+        for (int i = 0; i < 12000; i++) {
+            ISet<Wall> removed = carver.returnWallsToRemove(maze);
+            assertEquals(ring.length - 1, removed.size());
+            for (int j = 0; j < ring.length; j++) {
+                if (!removed.contains(ring[j])) {
+                    kept[j]++;
+                }
+            }
+        }
+        for (int count : kept) {
+            // Expect 1000 of each; this is about 6.5 standard deviations.
+            assertTrue("count was " + count, count > 800 && count < 1200);
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testSeparateRingsEachGetATree() {
+        // The random walk can't cross between the rings, so each gets its own tree.
+        ISet<Room> rooms = new ChainedHashSet<>();
+        ISet<Wall> walls = new ChainedHashSet<>();
+        Wall[] top = addRing(rooms, walls, 7, 0);
+        Wall[] bottom = addRing(rooms, walls, 40, 100);
+        Maze maze = new Maze(rooms, walls, new ChainedHashSet<>());
+
+        MazeCarver carver = new AldousBroderMazeCarver(new Random(373));
+        for (int i = 0; i < 100; i++) {
+            ISet<Wall> removed = carver.returnWallsToRemove(maze);
+            assertEquals(7 - 1 + 40 - 1, removed.size());
+            int topRemoved = 0;
+            for (Wall wall : top) {
+                topRemoved += removed.contains(wall) ? 1 : 0;
+            }
+            assertEquals(7 - 1, topRemoved);
+            IDisjointSet<Room> sets = new ArrayDisjointSet<>();
+            for (Room room : rooms) {
+                sets.makeSet(room);
+            }
+            for (Wall wall : removed) {
+                assertTrue(sets.findSet(wall.getRoom1()) != sets.findSet(wall.getRoom2()));
+                sets.union(wall.getRoom1(), wall.getRoom2());
+            }
+            assertTrue(sets.findSet(top[0].getRoom1()) != sets.findSet(bottom[0].getRoom1()));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testRejectsNullRandom() {
+        try {
+            new AldousBroderMazeCarver(null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package mazes.generators.maze;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.interfaces.ISet;
+import mazes.entities.GridMaze;
+import mazes.entities.LineSegment;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import mazes.generators.base.GridGenerator;
+import mazes.generators.base.VoronoiGenerator;
+import misc.BaseTest;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestEllerMazeCarver extends BaseTest {
+    private static final Rectangle BOUND = new Rectangle(0, 0, 800, 600);
+
+    /**
+     * GridMaze creates new Wall objects every time, and walls are compared by
+     * reference, so compare where they are instead.
+     */
+    private static String describe(Wall wall) {
+        return wall.getRoom1().getCenter() + " " + wall.getRoom2().getCenter() + " " + wall.getDividingLine();
+    }
+
+    /**
+     * Returns where each wall of the grid is, by its description: whether it's to the
+     * left of (0) or above (1) a room, and that room's row and column.
+     */
+    private static Map<String, int[]> locateWalls(GridMaze grid) {
+        Map<String, int[]> output = new HashMap<>();
+        for (int row = 0; row < grid.getNumRows(); row++) {
+            for (int column = 0; column < grid.getNumColumns(); column++) {
+                if (column > 0) {
+                    output.put(describe(grid.getWallToTheLeft(row, column)), new int[] {0, row, column});
+                }
+                if (row > 0) {
+                    output.put(describe(grid.getWallAbove(row, column)), new int[] {1, row, column});
+                }
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Returns the walls removed by carving the grid, as located by locateWalls, in the
+     * order they were handed over.
+     */
+    private static List<int[]> carveInOrder(GridMaze grid, Random rand) {
+        Map<String, int[]> locations = locateWalls(grid);
+        List<int[]> removed = new ArrayList<>();
+        new EllerMazeCarver(rand).carve(grid, wall -> {
+            int[] location = locations.get(describe(wall));
+            assertTrue(describe(wall), location != null);
+            removed.add(location);
+        });
+        return removed;
+    }
+
+    private static int find(int[] parents, int room) {
+        while (parents[room] != room) {
+            room = parents[room];
+        }
+        return room;
+    }
+
+    /**
+     * Eller's algorithm finishes the rooms in row 'r' once it has joined sets along row
+     * 'r' and picked the walls leading down into row 'r + 1'. This returns the row the
+     * wall belongs to in that sense.
+     */
+    private static int rowOf(int[] location) {
+        return location[0] == 0 ? location[1] : location[1] - 1;
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testEverySetReachesTheNextRow() {
+        // The invariant that makes Eller's algorithm work: once a row is done, every
+        // set of connected rooms so far continues into the next row, so no set can be
+        // cut off, and each removed wall joins two different sets, so there are no loops.
+        Random rand = new Random(373);
+        int[][] shapes = {{1, 1}, {1, 25}, {25, 1}, {2, 2}, {30, 20}};
+        for (int[] shape : shapes) {
+            int numRows = shape[0];
+            int numColumns = shape[1];
+            for (int trial = 0; trial < 5; trial++) {
+                List<int[]> removed = carveInOrder(new GridMaze(BOUND, numRows, numColumns), rand);
+                assertEquals(numRows * numColumns - 1, removed.size());
+
+                int[] parents = new int[numRows * numColumns];
+                for (int i = 0; i < parents.length; i++) {
+                    parents[i] = i;
+                }
+                int next = 0;
+                for (int row = 0; row < numRows; row++) {
+                    while (next < removed.size() && rowOf(removed.get(next)) == row) {
+                        int[] wall = removed.get(next);
+                        int room = wall[1] * numColumns + wall[2];
+                        int neighbor = wall[0] == 0 ? room - 1 : room - numColumns;
+                        assertTrue("loop", find(parents, room) != find(parents, neighbor));
+                        parents[find(parents, room)] = find(parents, neighbor);
+                        next++;
+                    }
+                    if (row == numRows - 1) {
+                        break;
+                    }
+                    Set<Integer> nextRowSets = new HashSet<>();
+                    for (int column = 0; column < numColumns; column++) {
+                        nextRowSets.add(find(parents, (row + 1) * numColumns + column));
+                    }
+                    for (int room = 0; room < (row + 1) * numColumns; room++) {
+                        assertTrue("cut off at row " + row, nextRowSets.contains(find(parents, room)));
+                    }
+                }
+                // Walls are handed over a row at a time, top to bottom.
+                assertEquals(removed.size(), next);
+
+                // The last row joins whatever sets are left, so everything is connected.
+                for (int room = 0; room < parents.length; room++) {
+                    assertEquals(find(parents, 0), find(parents, room));
+                }
+            }
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testStreamsVeryTallGrids() {
+        // Counting walls as they stream past never builds a Maze, however many rooms
+        // the grid has.
+        int numRows = 100000;
+        int numColumns = 3;
+        GridMaze grid = new GridMaze(new Rectangle(0, 0, 30, 1000000), numRows, numColumns);
+        long[] count = {0};
+        int[] lastRow = {0};
+        new EllerMazeCarver(new Random(373)).carve(grid, wall -> {
+            int row = Math.max(wall.getRoom1().getCenter().y, wall.getRoom2().getCenter().y) / 10;
+            assertTrue(row >= lastRow[0]);
+            lastRow[0] = row;
+            count[0]++;
+        });
+        assertEquals((long) numRows * numColumns - 1, count[0]);
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testStreamingCarveMatchesReturnWallsToRemove() {
+        // Both draw the same random numbers in the same order, so they should pick the
+        // same walls.
+        GridMaze grid = new GridMaze(BOUND, 21, 34);
+        Set<String> streamed = new HashSet<>();
+        new EllerMazeCarver(new Random(373)).carve(grid, wall -> streamed.add(describe(wall)));
+
+        Maze base = new GridGenerator(21, 34).generateBaseMaze(BOUND);
+        Set<String> returned = new HashSet<>();
+        for (Wall wall : new EllerMazeCarver(new Random(373)).returnWallsToRemove(base)) {
+            assertTrue(base.getWalls().contains(wall));
+            returned.add(describe(wall));
+        }
+        assertEquals(returned, streamed);
+    }
+
+    private static Room square(int x, int y, int size) {
+        Polygon polygon = new Polygon(
+                new int[] {x, x + size, x + size, x},
+                new int[] {y, y, y + size, y + size},
+                4);
+        return new Room(new Point(x + size / 2, y + size / 2), polygon);
+    }
+
+    private static Wall wallBetween(Room room1, Room room2) {
+        return new Wall(room1, room2, new LineSegment(room1.getCenter(), room2.getCenter()));
+    }
+
+    private static void assertRejected(Maze maze) {
+        try {
+            new EllerMazeCarver(new Random(373)).returnWallsToRemove(maze);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testRejectsNonGridMazes() {
+        // Three rooms of a 2x2 grid: the rows and columns don't multiply out.
+        Room topLeft = square(0, 0, 10);
+        Room topRight = square(10, 0, 10);
+        Room bottomLeft = square(0, 10, 10);
+        Room bottomRight = square(10, 10, 10);
+        ISet<Room> rooms = new ChainedHashSet<>();
+        rooms.add(topLeft);
+        rooms.add(topRight);
+        rooms.add(bottomLeft);
+        ISet<Wall> walls = new ChainedHashSet<>();
+        walls.add(wallBetween(topLeft, topRight));
+        walls.add(wallBetween(topLeft, bottomLeft));
+        assertRejected(new Maze(rooms, walls, new ChainedHashSet<>()));
+
+        // A full 2x2 grid, but with a wall between diagonally opposite rooms.
+        rooms.add(bottomRight);
+        walls.add(wallBetween(topRight, bottomRight));
+        walls.add(wallBetween(bottomLeft, bottomRight));
+        walls.add(wallBetween(topLeft, bottomRight));
+        assertRejected(new Maze(rooms, walls, new ChainedHashSet<>()));
+
+        // Rooms that don't line up in rows and columns at all.
+        ISet<Room> scattered = new ChainedHashSet<>();
+        scattered.add(square(0, 0, 10));
+        scattered.add(square(13, 4, 10));
+        scattered.add(square(5, 17, 10));
+        assertRejected(new Maze(scattered, new ChainedHashSet<>(), new ChainedHashSet<>()));
+
+        try {
+            new EllerMazeCarver(null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testCanCarveOnlyGridMazes() {
+        assertTrue(new EllerMazeCarver().canCarve(new GridGenerator(3, 4)));
+        assertFalse(new EllerMazeCarver().canCarve(new VoronoiGenerator(10, 10, 10, 5)));
+        // Other carvers take any base maze.
+        assertTrue(new KruskalMazeCarver().canCarve(new VoronoiGenerator(10, 10, 10, 5)));
+    }
+
+    @Test(timeout=SECOND)
+    public void testEmptyMaze() {
+        Maze empty = new Maze(new ChainedHashSet<>(), new ChainedHashSet<>(), new ChainedHashSet<>());
+        assertTrue(new EllerMazeCarver(new Random(373)).returnWallsToRemove(empty).isEmpty());
+    }
+}
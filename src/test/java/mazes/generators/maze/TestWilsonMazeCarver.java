@@ -0,0 +1,118 @@
+package mazes.generators.maze;
+
+import datastructures.concrete.ArrayDisjointSet;
+import datastructures.concrete.ChainedHashSet;
+import datastructures.interfaces.IDisjointSet;
+import datastructures.interfaces.ISet;
+import mazes.entities.LineSegment;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import mazes.generators.base.GridGenerator;
+import misc.BaseTest;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestWilsonMazeCarver extends BaseTest {
+    /**
+     * Carves the maze 'samples' times and counts how often each set of removed walls
+     * comes up. Each set is identified by a bitmask of the maze's walls, in the order
+     * they're iterated over.
+     */
+    private static Map<Integer, Integer> countCarvings(Maze maze, int samples, Random rand) {
+        List<Wall> walls = new ArrayList<>();
+        for (Wall wall : maze.getWalls()) {
+            walls.add(wall);
+        }
+        MazeCarver carver = new WilsonMazeCarver(rand);
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (int i = 0; i < samples; i++) {
+            int mask = 0;
+            for (Wall wall : carver.returnWallsToRemove(maze)) {
+                mask |= 1 << walls.indexOf(wall);
+            }
+            counts.merge(mask, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testCarvesEveryTinyGridMazeEquallyOften() {
+        // A 2x3 grid has 7 walls and 15 spanning trees, and Wilson's algorithm should
+        // pick each of them equally often.
+        Maze maze = new GridGenerator(2, 3).generateBaseMaze(new Rectangle(0, 0, 300, 200));
+        assertEquals(7, maze.getWalls().size());
+        Map<Integer, Integer> counts = countCarvings(maze, 15000, new Random(373));
+        assertEquals(15, counts.size());
+        for (Map.Entry<Integer, Integer> entry : counts.entrySet()) {
+            // Each tree removes 5 walls, one fewer than there are rooms.
+            assertEquals(5, Integer.bitCount(entry.getKey()));
+            // Expect 1000 of each; this is about 6.5 standard deviations.
+            int count = entry.getValue();
+            assertTrue("count was " + count, count > 800 && count < 1200);
+        }
+    }
+
+    private static Room square(int x, int y) {
+        Polygon polygon = new Polygon(new int[] {x, x + 10, x + 10, x}, new int[] {y, y, y + 10, y + 10}, 4);
+        return new Room(new Point(x + 5, y + 5), polygon);
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testCarvesEveryTinyNonGridMazeEquallyOften() {
+        // Four rooms with a wall between every pair, which no grid has: 16 spanning trees.
+        Room[] rooms = {square(0, 0), square(10, 0), square(0, 10), square(10, 10)};
+        ISet<Room> roomSet = new ChainedHashSet<>();
+        ISet<Wall> walls = new ChainedHashSet<>();
+        for (int i = 0; i < rooms.length; i++) {
+            roomSet.add(rooms[i]);
+            for (int j = i + 1; j < rooms.length; j++) {
+                walls.add(new Wall(rooms[i], rooms[j], new LineSegment(rooms[i].getCenter(), rooms[j].getCenter())));
+            }
+        }
+        Maze maze = new Maze(roomSet, walls, new ChainedHashSet<>());
+        Map<Integer, Integer> counts = countCarvings(maze, 16000, new Random(373));
+        assertEquals(16, counts.size());
+        for (int count : counts.values()) {
+            // Expect 1000 of each; this is about 6.5 standard deviations.
+            assertTrue("count was " + count, count > 800 && count < 1200);
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testCarvesLargeGridMazeIntoATree() {
+        Maze maze = new GridGenerator(60, 80).generateBaseMaze(new Rectangle(0, 0, 800, 600));
+        ISet<Wall> removed = new WilsonMazeCarver(new Random(373)).returnWallsToRemove(maze);
+        assertEquals(60 * 80 - 1, removed.size());
+        IDisjointSet<Room> sets = new ArrayDisjointSet<>();
+        for (Room room : maze.getRooms()) {
+            sets.makeSet(room);
+        }
+        for (Wall wall : removed) {
+            assertTrue(maze.getWalls().contains(wall));
+            assertTrue(sets.findSet(wall.getRoom1()) != sets.findSet(wall.getRoom2()));
+            sets.union(wall.getRoom1(), wall.getRoom2());
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testRejectsNullRandom() {
+        try {
+            new WilsonMazeCarver(null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package mazes.headless;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.CompactGraph;
+import datastructures.interfaces.ISet;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import mazes.io.BinaryMazeReader;
+import mazes.io.SavedMaze;
+import misc.BaseTest;
+import org.junit.Test;
+
+import java.awt.Polygon;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestBatchGenerator extends BaseTest {
+    private static final int SIZE = 8;
+
+    /**
+     * Runs the batch generator into a new temporary directory, and returns it.
+     */
+    private static File runBatch(String carver, long seed, int count, int threads, String format)
+            throws IOException, InterruptedException {
+        File output = Files.createTempDirectory("mazes").toFile();
+        output.deleteOnExit();
+        BatchGenerator.main(new String[] {
+            "--count", "" + count, "--generator", "grid", "--carver", carver, "--size", "" + SIZE,
+            "--threads", "" + threads, "--seed", "" + seed, "--format", format, "--output", output.getPath(),
+        });
+        File[] files = output.listFiles();
+        assertEquals(threads, files.length);
+        for (File file : files) {
+            file.deleteOnExit();
+        }
+        return output;
+    }
+
+    /**
+     * Rooms and walls are compared by reference, so compare where they are instead.
+     */
+    private static List<Set<String>> describe(Maze maze, ISet<Wall> passages) {
+        Set<String> rooms = new HashSet<>();
+        for (Room room : maze.getRooms()) {
+            Polygon polygon = room.getPolygon();
+            rooms.add(room.getCenter() + " "
+                    + Arrays.toString(Arrays.copyOf(polygon.xpoints, polygon.npoints))
+                    + Arrays.toString(Arrays.copyOf(polygon.ypoints, polygon.npoints)));
+        }
+        return Arrays.asList(rooms, describeWalls(maze.getWalls()), describeWalls(passages));
+    }
+
+    private static Set<String> describeWalls(ISet<Wall> walls) {
+        Set<String> output = new HashSet<>();
+        for (Wall wall : walls) {
+            output.add(wall.getRoom1().getCenter() + " " + wall.getRoom2().getCenter() + " " + wall.getDividingLine());
+        }
+        return output;
+    }
+
+    /**
+     * Reads back every maze in the directory's binary files, by id.
+     */
+    private static Map<Integer, SavedMaze> readAll(File output) throws IOException {
+        Map<Integer, SavedMaze> mazes = new HashMap<>();
+        for (File file : output.listFiles()) {
+            assertTrue(file.getName(), file.getName().matches("mazes-\\d+\\.bin"));
+            try (BinaryMazeReader reader = new BinaryMazeReader(file)) {
+                while (reader.hasNext()) {
+                    SavedMaze maze = reader.next();
+                    assertFalse("Duplicate id: " + maze.getId(), mazes.containsKey(maze.getId()));
+                    mazes.put(maze.getId(), maze);
+                }
+            }
+        }
+        return mazes;
+    }
+
+    private static Map<Integer, List<Set<String>>> describeAll(Map<Integer, SavedMaze> mazes) {
+        Map<Integer, List<Set<String>>> output = new HashMap<>();
+        for (Map.Entry<Integer, SavedMaze> entry : mazes.entrySet()) {
+            output.put(entry.getKey(), describe(entry.getValue().getMaze(), entry.getValue().getPassages()));
+        }
+        return output;
+    }
+
+    /**
+     * Builds maze 'id' of the batch the way a worker does, reseeding from the batch seed
+     * and the id alone.
+     */
+    private static List<Set<String>> buildExpected(String carver, long seed, int id) {
+        Random rand = new Random();
+        rand.setSeed(seed ^ (id * 0x9E3779B97F4A7C15L));
+        Maze original = MazePresets.generator("grid", SIZE, rand).generateBaseMaze(MazePresets.boundingBox(SIZE));
+        Maze carved = MazePresets.carver(carver, rand).generateMaze(original);
+        ISet<Wall> passages = new ChainedHashSet<>();
+        for (Wall wall : original.getWalls()) {
+            if (!carved.getWalls().contains(wall)) {
+                passages.add(wall);
+            }
+        }
+        return describe(carved, passages);
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testEachMazeDependsOnlyOnSeedAndId() throws Exception {
+        for (String carver : new String[] {"kruskal", "wilson"}) {
+            Map<Integer, List<Set<String>>> oneThread = describeAll(readAll(runBatch(carver, 373, 12, 1, "binary")));
+            Map<Integer, List<Set<String>>> threeThreads = describeAll(readAll(runBatch(carver, 373, 12, 3, "binary")));
+            assertEquals(12, oneThread.size());
+            for (int id = 0; id < 12; id++) {
+                assertEquals(buildExpected(carver, 373, id), oneThread.get(id));
+            }
+            // However the ids are shared out between the workers, each maze comes out the same.
+            assertEquals(oneThread, threeThreads);
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testDifferentSeedsGiveDifferentMazes() throws Exception {
+        Map<Integer, List<Set<String>>> first = describeAll(readAll(runBatch("kruskal", 373, 4, 1, "binary")));
+        Map<Integer, List<Set<String>>> second = describeAll(readAll(runBatch("kruskal", 374, 4, 1, "binary")));
+        for (int id = 0; id < 4; id++) {
+            assertFalse(first.get(id).equals(second.get(id)));
+        }
+        // Nor is maze 0 the same as maze 1 in one batch.
+        assertFalse(first.get(0).equals(first.get(1)));
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testSavedMazesReadBackAsPerfectMazes() throws Exception {
+        Map<Integer, SavedMaze> mazes = readAll(runBatch("kruskal", 373, 6, 2, "binary"));
+        assertEquals(6, mazes.size());
+        for (SavedMaze saved : mazes.values()) {
+            Maze maze = saved.getMaze();
+            assertEquals(SIZE * SIZE, maze.getRooms().size());
+            // A Kruskal maze is a spanning tree of the rooms.
+            assertEquals(SIZE * SIZE - 1, saved.getPassages().size());
+            for (Wall passage : saved.getPassages()) {
+                assertFalse(maze.getWalls().contains(passage));
+            }
+            CompactGraph<Room, Wall> graph = saved.toGraph();
+            assertEquals(SIZE * SIZE, graph.numVertices());
+            for (int i = 1; i < graph.numVertices(); i++) {
+                // Throws NoPathExistsException if the passages don't reach every room.
+                graph.findShortestPathBetween(graph.getVertex(0), graph.getVertex(i));
+            }
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testTextFormat() throws Exception {
+        File output = runBatch("kruskal", 373, 5, 2, "text");
+        Set<Integer> ids = new HashSet<>();
+        for (File file : output.listFiles()) {
+            assertTrue(file.getName(), file.getName().matches("mazes-\\d+\\.txt"));
+            List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+            int i = 0;
+            while (i < lines.size()) {
+                String[] header = lines.get(i).split(" ");
+                assertEquals("maze", header[0]);
+                assertTrue(ids.add(Integer.parseInt(header[1])));
+                assertEquals(SIZE * SIZE, Integer.parseInt(header[2]));
+                assertEquals(SIZE * SIZE - 1, Integer.parseInt(header[4]));
+                int records = 0;
+                for (int j = 2; j < header.length; j++) {
+                    records += Integer.parseInt(header[j]);
+                }
+                i += 1 + records;
+            }
+            assertEquals(lines.size(), i);
+        }
+        assertEquals(new HashSet<>(Arrays.asList(0, 1, 2, 3, 4)), ids);
+    }
+
+    @Test(timeout=SECOND)
+    public void testRejectsBadOptions() throws Exception {
+        String[][] bad = {
+            {"--generator", "hexagons"},
+            {"--carver", "depth-first"},
+            {"--format", "xml"},
+            {"--threads", "0"},
+            {"--generator", "voronoi", "--carver", "eller"},
+            {"--count"},
+        };
+        for (String[] args : bad) {
+            try {
+                BatchGenerator.main(args);
+                fail("Expected IllegalArgumentException for " + Arrays.toString(args));
+            } catch (IllegalArgumentException ex) {
+                // All ok -- expected result
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package mazes.headless;
+
+import datastructures.interfaces.IDictionary;
+import misc.BaseTest;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestPipelineBenchmark extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testParseOptions() {
+        IDictionary<String, String> options = PipelineBenchmark.parseOptions(
+                new String[] {"--sizes", "5,10", "--repetitions", "2"});
+        assertEquals(2, options.size());
+        assertEquals("5,10", options.get("sizes"));
+        assertEquals("2", options.get("repetitions"));
+        assertEquals(0, PipelineBenchmark.parseOptions(new String[0]).size());
+
+        String[][] bad = {{"sizes", "5"}, {"--sizes"}, {"--sizes", "5", "--warmup"}};
+        for (String[] args : bad) {
+            try {
+                PipelineBenchmark.parseOptions(args);
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException ex) {
+                // All ok -- expected result
+            }
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testWritesOneResultPerRun() throws Exception {
+        File output = Files.createTempDirectory("pipeline").toFile();
+        output.deleteOnExit();
+        PipelineBenchmark.main(new String[] {
+            "--generators", "grid", "--carvers", "kruskal,none", "--sizes", "4,9",
+            "--repetitions", "2", "--warmup", "0", "--output", output.getPath(),
+        });
+        File csv = new File(output, "results.csv");
+        File json = new File(output, "results.json");
+        csv.deleteOnExit();
+        json.deleteOnExit();
+
+        List<String> lines = Files.readAllLines(csv.toPath(), StandardCharsets.UTF_8);
+        String[] header = lines.get(0).split(",");
+        assertEquals("generator", header[0]);
+        assertEquals("pathLength", header[header.length - 2]);
+        // Two carvers, two sizes and two repetitions each.
+        assertEquals(1 + 8, lines.size());
+        for (String line : lines.subList(1, lines.size())) {
+            String[] fields = line.split(",");
+            assertEquals(header.length, fields.length);
+            assertEquals("grid", fields[0]);
+            int size = Integer.parseInt(fields[2]);
+            assertEquals(size * size, Integer.parseInt(fields[4]));
+            for (int i = 6; i < header.length - 2; i++) {
+                assertTrue(Double.parseDouble(fields[i]) >= 0);
+            }
+            // Going from one corner of a grid to the other takes at least this many steps,
+            // and a maze where no wall is removed can't be solved at all.
+            int pathLength = Integer.parseInt(fields[header.length - 2]);
+            if (fields[1].equals("none")) {
+                assertEquals(-1, pathLength);
+            } else {
+                assertTrue(pathLength >= 2 * (size - 1));
+            }
+        }
+
+        List<String> jsonLines = Files.readAllLines(json.toPath(), StandardCharsets.UTF_8);
+        assertEquals("[", jsonLines.get(0));
+        assertEquals("]", jsonLines.get(jsonLines.size() - 1));
+        assertEquals(8 + 2, jsonLines.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testRejectsUnknownNames() throws Exception {
+        String[][] bad = {{"--generators", "grid,hexagons"}, {"--carvers", "kruskal,depth-first"}};
+        for (String[] args : bad) {
+            try {
+                PipelineBenchmark.main(args);
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException ex) {
+                // All ok -- expected result
+            }
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package mazes.io;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.concrete.CompactGraph;
+import datastructures.concrete.Graph;
+import datastructures.interfaces.ISet;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import mazes.generators.base.BaseMazeGenerator;
+import mazes.generators.base.GridGenerator;
+import mazes.generators.base.VoronoiGenerator;
+import mazes.generators.maze.KruskalMazeCarver;
+import misc.BaseTest;
+import org.junit.Test;
+
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestBinaryMazeReader extends BaseTest {
+    private static final Rectangle BOUND = new Rectangle(0, 0, 600, 400);
+
+    /**
+     * A carved maze along with the walls carved out of it.
+     */
+    private static class Carved {
+        public final Maze maze;
+        public final ISet<Wall> passages;
+
+        public Carved(Maze maze, ISet<Wall> passages) {
+            this.maze = maze;
+            this.passages = passages;
+        }
+    }
+
+    /**
+     * Generates a base maze, marks every seventh wall as untouchable (so that section of
+     * the file isn't empty), and carves it.
+     */
+    private static Carved carve(BaseMazeGenerator generator, long seed) {
+        Maze base = generator.generateBaseMaze(BOUND);
+        ISet<Wall> walls = new ChainedHashSet<>();
+        ISet<Wall> untouchable = new ChainedHashSet<>();
+        int count = 0;
+        for (Wall wall : base.getWalls()) {
+            if (count % 7 == 3) {
+                untouchable.add(wall);
+            } else {
+                walls.add(wall);
+            }
+            count++;
+        }
+        for (Wall wall : base.getUntouchableWalls()) {
+            untouchable.add(wall);
+        }
+        Maze uncarved = new Maze(base.getRooms(), walls, untouchable);
+        Maze carved = new KruskalMazeCarver(Graph.MstAlgorithm.KRUSKAL, new Random(seed)).generateMaze(uncarved);
+        ISet<Wall> passages = new ChainedHashSet<>();
+        for (Wall wall : walls) {
+            if (!carved.getWalls().contains(wall)) {
+                passages.add(wall);
+            }
+        }
+        return new Carved(carved, passages);
+    }
+
+    private static File writeMazes(Carved... mazes) throws IOException {
+        File file = File.createTempFile("mazes", ".bin");
+        file.deleteOnExit();
+        try (MazeWriter writer = new BinaryMazeWriter(new BufferedOutputStream(new FileOutputStream(file)))) {
+            for (int i = 0; i < mazes.length; i++) {
+                writer.write(100 + i, mazes[i].maze, mazes[i].passages);
+            }
+        }
+        return file;
+    }
+
+    private static Set<String> describeRooms(ISet<Room> rooms) {
+        Set<String> output = new HashSet<>();
+        for (Room room : rooms) {
+            Polygon polygon = room.getPolygon();
+            output.add(room.getCenter() + " "
+                    + Arrays.toString(Arrays.copyOf(polygon.xpoints, polygon.npoints))
+                    + Arrays.toString(Arrays.copyOf(polygon.ypoints, polygon.npoints)));
+        }
+        return output;
+    }
+
+    /**
+     * Walls are compared by reference, so compare what they connect and where they are
+     * instead.
+     */
+    private static Set<String> describeWalls(ISet<Wall> walls) {
+        Set<String> output = new HashSet<>();
+        for (Wall wall : walls) {
+            output.add(wall.getRoom1().getCenter() + " " + wall.getRoom2().getCenter() + " "
+                    + wall.getDividingLine() + " " + wall.getDistance());
+        }
+        return output;
+    }
+
+    private static void assertSameMaze(Carved expected, SavedMaze actual) {
+        assertEquals(describeRooms(expected.maze.getRooms()), describeRooms(actual.getMaze().getRooms()));
+        assertEquals(describeWalls(expected.maze.getWalls()), describeWalls(actual.getMaze().getWalls()));
+        assertEquals(describeWalls(expected.passages), describeWalls(actual.getPassages()));
+        assertEquals(
+                describeWalls(expected.maze.getUntouchableWalls()),
+                describeWalls(actual.getMaze().getUntouchableWalls()));
+
+        CompactGraph<Room, Wall> graph = actual.toGraph();
+        assertEquals(expected.maze.getRooms().size(), graph.numVertices());
+        assertEquals(expected.passages.size(), graph.numEdges());
+        if (graph.numVertices() > 0) {
+            // The passages of a Kruskal maze connect every room, so the path between the
+            // first and last rooms must be as long as in the maze that was written.
+            Room first = graph.getVertex(0);
+            Room last = graph.getVertex(graph.numVertices() - 1);
+            Graph<Room, Wall> original = new Graph<>(expected.maze.getRooms(), expected.passages);
+            assertEquals(
+                    totalWeight(original.findShortestPathBetween(first, last)),
+                    totalWeight(graph.findShortestPathBetween(first, last)),
+                    0.0001);
+        }
+    }
+
+    private static double totalWeight(Iterable<Wall> walls) {
+        double total = 0;
+        for (Wall wall : walls) {
+            total += wall.getWeight();
+        }
+        return total;
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testGridMazeRoundTrip() throws IOException {
+        Carved expected = carve(new GridGenerator(15, 20), 373);
+        assertFalse(expected.maze.getUntouchableWalls().isEmpty());
+        File file = writeMazes(expected);
+        try (BinaryMazeReader reader = new BinaryMazeReader(file)) {
+            assertTrue(reader.hasNext());
+            SavedMaze actual = reader.next();
+            assertEquals(100, actual.getId());
+            assertSameMaze(expected, actual);
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testVoronoiMazeRoundTrip() throws IOException {
+        Carved expected = carve(new VoronoiGenerator(300, 10, 5, 5), 373);
+        File file = writeMazes(expected);
+        try (BinaryMazeReader reader = new BinaryMazeReader(file)) {
+            SavedMaze actual = reader.next();
+            assertEquals(100, actual.getId());
+            assertSameMaze(expected, actual);
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testSeveralMazesInOneFile() throws IOException {
+        Carved[] expected = {
+            carve(new GridGenerator(3, 4), 1),
+            carve(new GridGenerator(1, 1), 2),
+            carve(new GridGenerator(10, 7), 3),
+        };
+        File file = writeMazes(expected);
+        try (BinaryMazeReader reader = new BinaryMazeReader(file)) {
+            for (int i = 0; i < expected.length; i++) {
+                assertTrue(reader.hasNext());
+                SavedMaze actual = reader.next();
+                assertEquals(100 + i, actual.getId());
+                assertSameMaze(expected[i], actual);
+            }
+            assertFalse(reader.hasNext());
+            try {
+                reader.next();
+                fail("Expected NoSuchElementException");
+            } catch (NoSuchElementException ex) {
+                // All ok -- expected result
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testTruncatedFileIsRejected() throws IOException {
+        File file = writeMazes(carve(new GridGenerator(4, 4), 373));
+        long[] lengths = {file.length() - 4, file.length() / 2, 12};
+        for (long length : lengths) {
+            try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+                raw.setLength(length);
+            }
+            try (BinaryMazeReader reader = new BinaryMazeReader(file)) {
+                reader.next();
+                fail("Expected IOException");
+            } catch (IOException ex) {
+                // All ok -- expected result
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testBadHeaderIsRejected() throws IOException {
+        // The magic number, then the version.
+        for (int field = 0; field < 2; field++) {
+            File file = writeMazes(carve(new GridGenerator(4, 4), 373));
+            try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+                raw.seek(4 * field);
+                raw.writeInt(12345);
+            }
+            try (BinaryMazeReader reader = new BinaryMazeReader(file)) {
+                reader.next();
+                fail("Expected IOException");
+            } catch (IOException ex) {
+                // All ok -- expected result
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testWallBetweenUnknownRoomsIsRejected() throws IOException {
+        Carved maze = carve(new GridGenerator(4, 4), 373);
+        File file = writeMazes(maze);
+        int numRooms = maze.maze.getRooms().size();
+        int numCorners = 4 * numRooms;
+        // Point the first wall's first room past the last room.
+        long firstWall = 4 * (8 + 2L * numRooms + (numRooms + 1) + 2L * numCorners);
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            raw.seek(firstWall);
+            raw.writeInt(numRooms);
+        }
+        try (BinaryMazeReader reader = new BinaryMazeReader(file)) {
+            reader.next();
+            fail("Expected IOException");
+        } catch (IOException ex) {
+            // All ok -- expected result
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package mazes.io;
+
+import datastructures.concrete.ChainedHashSet;
+import datastructures.interfaces.ISet;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import mazes.generators.base.GridGenerator;
+import mazes.generators.maze.RandomMazeCarver;
+import misc.BaseTest;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class TestTextMazeWriter extends BaseTest {
+    private static Set<String> describeWalls(ISet<Wall> walls) {
+        Set<String> output = new HashSet<>();
+        for (Wall wall : walls) {
+            output.add(describeWall(wall.getRoom1().getCenter(), wall.getRoom2().getCenter(),
+                    wall.getDividingLine().start, wall.getDividingLine().end));
+        }
+        return output;
+    }
+
+    private static String describeWall(Point center1, Point center2, Point start, Point end) {
+        return center1 + " " + center2 + " " + start + " " + end;
+    }
+
+    private static int parse(String[] fields, int index) {
+        return Integer.parseInt(fields[index]);
+    }
+
+    @Test(timeout=SECOND)
+    public void testWritesEveryRoomAndWall() throws IOException {
+        Maze base = new GridGenerator(6, 8).generateBaseMaze(new Rectangle(10, 20, 400, 300));
+        ISet<Wall> walls = new ChainedHashSet<>();
+        ISet<Wall> untouchable = new ChainedHashSet<>();
+        int count = 0;
+        for (Wall wall : base.getWalls()) {
+            if (count % 5 == 0) {
+                untouchable.add(wall);
+            } else {
+                walls.add(wall);
+            }
+            count++;
+        }
+        Maze uncarved = new Maze(base.getRooms(), walls, untouchable);
+        Maze carved = new RandomMazeCarver(0.5, new Random(373)).generateMaze(uncarved);
+        ISet<Wall> passages = new ChainedHashSet<>();
+        for (Wall wall : walls) {
+            if (!carved.getWalls().contains(wall)) {
+                passages.add(wall);
+            }
+        }
+
+        StringWriter out = new StringWriter();
+        try (MazeWriter writer = new TextMazeWriter(out)) {
+            writer.write(42, carved, passages);
+        }
+        String[] lines = out.toString().split("\n");
+
+        int numRooms = carved.getRooms().size();
+        int numWalls = carved.getWalls().size();
+        int numPassages = passages.size();
+        int numUntouchable = untouchable.size();
+        assertEquals(1 + numRooms + numWalls + numPassages + numUntouchable, lines.length);
+        assertEquals(
+                "maze 42 " + numRooms + " " + numWalls + " " + numPassages + " " + numUntouchable,
+                lines[0]);
+
+        // Every room line has to describe one of the rooms, corners and all.
+        List<Point> centers = new ArrayList<>();
+        for (int i = 1; i <= numRooms; i++) {
+            String[] fields = lines[i].split(" ");
+            assertEquals("r", fields[0]);
+            Point center = new Point(parse(fields, 1), parse(fields, 2));
+            Room room = carved.getRoom(center);
+            assertEquals(center, room.getCenter());
+            int npoints = parse(fields, 3);
+            assertEquals(room.getPolygon().npoints, npoints);
+            assertEquals(4 + 2 * npoints, fields.length);
+            for (int j = 0; j < npoints; j++) {
+                assertEquals(room.getPolygon().xpoints[j], parse(fields, 4 + 2 * j));
+                assertEquals(room.getPolygon().ypoints[j], parse(fields, 5 + 2 * j));
+            }
+            centers.add(center);
+        }
+        assertEquals(numRooms, new HashSet<>(centers).size());
+
+        // Then the walls, passages and untouchable walls, referring to rooms by line.
+        String[] kinds = {"w", "p", "u"};
+        int[] sizes = {numWalls, numPassages, numUntouchable};
+        List<Set<String>> written = new ArrayList<>();
+        int line = 1 + numRooms;
+        for (int k = 0; k < kinds.length; k++) {
+            Set<String> described = new HashSet<>();
+            for (int i = 0; i < sizes[k]; i++) {
+                String[] fields = lines[line].split(" ");
+                assertEquals(kinds[k], fields[0]);
+                assertEquals(7, fields.length);
+                described.add(describeWall(
+                        centers.get(parse(fields, 1)), centers.get(parse(fields, 2)),
+                        new Point(parse(fields, 3), parse(fields, 4)),
+                        new Point(parse(fields, 5), parse(fields, 6))));
+                line++;
+            }
+            written.add(described);
+        }
+        assertEquals(describeWalls(carved.getWalls()), written.get(0));
+        assertEquals(describeWalls(passages), written.get(1));
+        assertEquals(describeWalls(untouchable), written.get(2));
+    }
+}